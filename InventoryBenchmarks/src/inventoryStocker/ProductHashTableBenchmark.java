@@ -0,0 +1,167 @@
+package inventoryStocker;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTextArea;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * -----------------------------------------------------------------------------
+ * JMH benchmarks for ProductHashTable (basic InventoryStocker project).
+ * -----------------------------------------------------------------------------
+ * Lives in package inventoryStocker because ProductHashTable is package-private.
+ * The benchmark project is a plain classpath project (no module-info), with the
+ * InventoryStocker project and jmh-core on its build path and
+ * jmh-generator-annprocess enabled as an annotation processor.
+ *
+ * Run: java -cp <benchmarks + InventoryStocker + jmh jars> org.openjdk.jmh.Main ProductHashTable
+ *
+ * The hash function sums SKU characters, so large catalogs pile into a few
+ * probe clusters; sizes stop at 10k to keep trial setup reasonable.
+ * Timings include the analysis logging to the JTextArea, since every public
+ * operation of ProductHashTable writes it; the log is cleared between
+ * iterations so it does not grow across the run.
+ *
+ * insertThenDelete is measured one operation at a time on a freshly built
+ * table (see DeleteState), because delete() does not leave the table as it
+ * found it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ProductHashTableBenchmark {
+
+    private static final int MOCK_ITEMS = 7;  // inserted by the constructor
+    private static final int KEY_COUNT = 1024; // power of two, cycled with a mask
+
+    private static final String[] NAMES = {
+        "Wireless Mouse", "Bluetooth Mouse", "Monitor 24in", "Gaming Keyboard",
+        "Acer Laptop 15in", "USB-C Mouse", "Dell Laptop 13in", "HDMI Cable"
+    };
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    @Param({"0.25", "0.5", "0.75"})
+    public double loadFactor;
+
+    @Param({"1.0", "0.5", "0.0"})
+    public double hitRatio;
+
+    private ProductHashTable table;
+    private JTextArea log;
+    private String[] skus;
+    private String[] names;
+    private String[][] ranges;
+    private int cursor;
+    private int fresh;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        log = new JTextArea();
+        table = build(log);
+
+        Random rnd = new Random(43);
+        skus = new String[KEY_COUNT];
+        names = new String[KEY_COUNT];
+        ranges = new String[KEY_COUNT][];
+        int span = Math.max(1, catalogSize / 100);
+
+        for (int k = 0; k < KEY_COUNT; k++) {
+            int i = rnd.nextInt(catalogSize);
+            boolean hit = rnd.nextDouble() < hitRatio;
+
+            skus[k] = hit ? sku(i) : String.format("Q-%06d", i);
+            names[k] = hit ? NAMES[i % NAMES.length] + " " + i : "Missing Item " + i;
+            ranges[k] = hit
+                ? new String[]{sku(i), sku(Math.min(i + span, catalogSize - 1))}
+                : new String[]{String.format("Q-%06d", i), String.format("Q-%06d", i + span)};
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearLog() {
+        log.setText("");
+    }
+
+    /** The catalog every benchmark starts from (same products for the same params). */
+    ProductHashTable build(JTextArea logger) {
+        int capacity = (int) Math.ceil((catalogSize + MOCK_ITEMS) / loadFactor);
+        ProductHashTable t = new ProductHashTable(capacity, logger);
+        Random rnd = new Random(42);
+        for (int i = 0; i < catalogSize; i++) {
+            t.insert(sku(i), NAMES[i % NAMES.length] + " " + i, rnd.nextInt(500), true);
+        }
+        return t;
+    }
+
+    /*
+     * delete() re-inserts the rest of the probe cluster, and each re-insert
+     * appends to the linear list again; with the char-sum hash the cluster is
+     * most of the table. Repeating insert+delete on one table therefore grows
+     * the list by about catalogSize entries per op and slows every later
+     * delete. Each measured op gets its own freshly built table instead.
+     */
+    @State(Scope.Thread)
+    public static class DeleteState {
+        ProductHashTable table;
+
+        @Setup(Level.Iteration)
+        public void rebuild(ProductHashTableBenchmark params) {
+            table = params.build(new JTextArea());
+        }
+    }
+
+    private static String sku(int i) {
+        return String.format("B-%06d", i);
+    }
+
+    private int next() {
+        return cursor++ & (KEY_COUNT - 1);
+    }
+
+    @Benchmark
+    public Object findHash() {
+        return table.findHash(skus[next()]);
+    }
+
+    @Benchmark
+    public Object findLinearByName() {
+        return table.findLinearByName(names[next()]);
+    }
+
+    @Benchmark
+    public Object findSkuRange() {
+        String[] r = ranges[next()];
+        return table.findSkuRange(r[0], r[1]);
+    }
+
+    // Insert a SKU that is not in the table, then delete it again: one op
+    // per iteration on a fresh table, so every sample sees the same state.
+    // Includes the log appends both calls make, as in the app.
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = 1)
+    @Measurement(iterations = 30, batchSize = 1)   // a 10k rebuild takes ~1 s
+    public boolean insertThenDelete(DeleteState state) {
+        String sku = String.format("N-%06d", fresh++ & (KEY_COUNT - 1));
+        state.table.insert(sku, "Bench Item", 1, true);
+        return state.table.delete(sku);
+    }
+}
@@ -0,0 +1,206 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ ============================================================================
+ JMH: ADVANCED INVENTORY STRUCTURES
+ The HashMap / TreeMap / ArrayList paths of the advanced InventoryStocker,
+ plus the encoded-key structures (IntProductMap, IntSortedProductIndex)
+ and binary search over a SKU-sorted array.
+
+ Same package as the advanced project (its types are package-private);
+ build path: InventoryStocker_ADS_Advanced + jmh-core, with
+ jmh-generator-annprocess as annotation processor.
+
+ Catalogs use SKU_PATTERN SKUs, so catalogSize tops out at 26,000.
+ Misses use SKUs that were not loaded; at 26,000 every conformant SKU
+ is loaded, so misses fall back to lower-case SKUs that do not encode.
+ ============================================================================
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class InventoryMapsBenchmark {
+
+    private static final int KEY_COUNT = 1024; // power of two, cycled with a mask
+
+    private static final String[] NAMES = {
+        "Wireless Mouse", "Bluetooth Mouse", "Monitor 24in",
+        "Mechanical Keyboard", "Laptop 15in", "USB-C Hub"
+    };
+
+    @Param({"1000", "10000", "26000"})
+    public int catalogSize;
+
+    @Param({"0.5", "0.75"})
+    public float loadFactor;
+
+    @Param({"1.0", "0.5", "0.0"})
+    public double hitRatio;
+
+    private Map<String, Product> hashMap;
+    private TreeMap<String, Product> treeMap;
+    private List<Product> linearList;
+    private Product[] sortedBySku;
+    private IntProductMap intHashMap;
+    private IntSortedProductIndex intTreeMap;
+
+    private String[] skus;
+    private Product[] probes;   // binary-search keys
+    private String[] names;
+    private int[] rangeFrom;    // ~1% of the SKU space (so ~1% of the catalog)
+    private int[] rangeTo;
+    private String[] rangeFromSku;
+    private String[] rangeToSku;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+
+        int[] codes = new int[SkuCodec.CARDINALITY];
+        for (int i = 0; i < codes.length; i++) codes[i] = i;
+        for (int i = codes.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = codes[i];
+            codes[i] = codes[j];
+            codes[j] = t;
+        }
+
+        hashMap = new HashMap<>(16, loadFactor);
+        treeMap = new TreeMap<>();
+        linearList = new ArrayList<>();
+        intHashMap = new IntProductMap();
+        intTreeMap = new IntSortedProductIndex();
+
+        for (int i = 0; i < catalogSize; i++) {
+            String sku = SkuCodec.decode(codes[i]);
+            Product p = new Product(sku, NAMES[i % NAMES.length] + " " + i, rnd.nextInt(500));
+            hashMap.put(sku, p);
+            treeMap.put(sku, p);
+            linearList.add(p);
+            intHashMap.put(codes[i], p);
+            intTreeMap.put(codes[i], p);
+        }
+        sortedBySku = linearList.toArray(new Product[0]);
+        Arrays.sort(sortedBySku, SortKernels.BY_SKU);
+
+        skus = new String[KEY_COUNT];
+        probes = new Product[KEY_COUNT];
+        names = new String[KEY_COUNT];
+        rangeFrom = new int[KEY_COUNT];
+        rangeTo = new int[KEY_COUNT];
+        rangeFromSku = new String[KEY_COUNT];
+        rangeToSku = new String[KEY_COUNT];
+        for (int k = 0; k < KEY_COUNT; k++) {
+            int i = rnd.nextInt(catalogSize);
+            boolean hit = rnd.nextDouble() < hitRatio;
+
+            if (hit) {
+                skus[k] = SkuCodec.decode(codes[i]);
+            } else if (catalogSize < SkuCodec.CARDINALITY) {
+                skus[k] = SkuCodec.decode(codes[catalogSize + rnd.nextInt(SkuCodec.CARDINALITY - catalogSize)]);
+            } else {
+                skus[k] = SkuCodec.decode(codes[i]).toLowerCase();
+            }
+            probes[k] = new Product(skus[k], "", 0);
+            names[k] = (hit ? NAMES[i % NAMES.length] + " " + i : "Missing Item " + i).toLowerCase();
+            rangeFrom[k] = rnd.nextInt(SkuCodec.CARDINALITY);
+            rangeTo[k] = Math.min(rangeFrom[k] + SkuCodec.CARDINALITY / 100, SkuCodec.CARDINALITY - 1);
+            rangeFromSku[k] = SkuCodec.decode(rangeFrom[k]);
+            rangeToSku[k] = SkuCodec.decode(rangeTo[k]);
+        }
+    }
+
+    private int next() {
+        return cursor++ & (KEY_COUNT - 1);
+    }
+
+    /* ============================================================
+       POINT LOOKUPS
+       ============================================================ */
+
+    @Benchmark
+    public Product hashMapGet() {
+        return hashMap.get(skus[next()]);
+    }
+
+    @Benchmark
+    public Product treeMapGet() {
+        return treeMap.get(skus[next()]);
+    }
+
+    @Benchmark
+    public int binarySearchSorted() {
+        return Arrays.binarySearch(sortedBySku, probes[next()], SortKernels.BY_SKU);
+    }
+
+    @Benchmark
+    public Product linearScanBySku() {
+        String sku = skus[next()];
+        for (Product p : linearList) if (p.sku.equals(sku)) return p;
+        return null;
+    }
+
+    @Benchmark
+    public Product intHashMapGet() {
+        int code = SkuCodec.encode(skus[next()]);
+        return code == SkuCodec.NO_CODE ? null : intHashMap.get(code);
+    }
+
+    @Benchmark
+    public Product intSortedGet() {
+        int code = SkuCodec.encode(skus[next()]);
+        return code == SkuCodec.NO_CODE ? null : intTreeMap.get(code);
+    }
+
+    /* ============================================================
+       NAME SEARCH / RANGE QUERIES
+       ============================================================ */
+
+    @Benchmark
+    public int linearNameSearch() {
+        String name = names[next()];
+        int found = 0;
+        for (Product p : linearList) if (p.name.toLowerCase().contains(name)) found++;
+        return found;
+    }
+
+    @Benchmark
+    public int treeMapRange() {
+        int k = next();
+        return treeMap.subMap(rangeFromSku[k], true, rangeToSku[k], true).size();
+    }
+
+    @Benchmark
+    public int intSortedRange() {
+        int k = next();
+        return intTreeMap.range(rangeFrom[k], rangeTo[k]).size();
+    }
+}
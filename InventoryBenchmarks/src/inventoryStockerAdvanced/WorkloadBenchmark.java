@@ -0,0 +1,103 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ ============================================================================
+ JMH: MIXED WORKLOAD ON A SYNTHETIC CATALOG
+ Replays a WorkloadGenerator stream (Zipfian key popularity, 90% reads /
+ 9% writes / 1% deletes, 10% read misses) against HashMap and TreeMap.
+ Catalogs mix SKU_PATTERN and free-form SKUs, so sizes go past 26,000.
+
+ Deleted keys are re-inserted at the next write or at the start of the
+ next iteration, so the catalog size stays roughly constant.
+ ============================================================================
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class WorkloadBenchmark {
+
+    private static final int OP_COUNT = 1 << 16; // power of two, cycled with a mask
+
+    @Param({"10000", "1000000"})
+    public int catalogSize;
+
+    @Param({"0", "0.99"})
+    public double zipfExponent;
+
+    private WorkloadGenerator.Catalog catalog;
+    private WorkloadGenerator.Workload workload;
+    private Map<String, Product> hashMap;
+    private TreeMap<String, Product> treeMap;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = WorkloadGenerator.catalog(catalogSize, 0.5, 42);
+        workload = WorkloadGenerator.workload(catalog, OP_COUNT, zipfExponent, 90, 9, 1, 0.1, 7);
+    }
+
+    @Setup(Level.Iteration)
+    public void load() {
+        hashMap = new HashMap<>();
+        treeMap = new TreeMap<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            Product p = new Product(catalog.skus[i], catalog.names[i], catalog.quantities[i]);
+            hashMap.put(p.sku, p);
+            treeMap.put(p.sku, p);
+        }
+    }
+
+    @Benchmark
+    public int hashMapMixed() {
+        return apply(hashMap, cursor++ & (OP_COUNT - 1));
+    }
+
+    @Benchmark
+    public int treeMapMixed() {
+        return apply(treeMap, cursor++ & (OP_COUNT - 1));
+    }
+
+    private int apply(Map<String, Product> map, int i) {
+        String sku = workload.keys[i];
+        switch (workload.ops[i]) {
+            case WorkloadGenerator.READ: {
+                Product p = map.get(sku);
+                return p == null ? -1 : p.quantity;
+            }
+            case WorkloadGenerator.WRITE: {
+                Product p = map.get(sku);
+                if (p == null) {
+                    map.put(sku, new Product(sku, "Restocked", workload.quantities[i]));
+                } else {
+                    p.quantity = workload.quantities[i];
+                }
+                return workload.quantities[i];
+            }
+            default:
+                return map.remove(sku) == null ? 0 : 1;
+        }
+    }
+}
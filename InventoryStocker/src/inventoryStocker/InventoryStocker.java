@@ -7,7 +7,7 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
-import java.util.Collections; 
+import java.util.Arrays;
 import java.util.List;
 
 // We will build our own Hash Table class, as per the ADS syllabus
@@ -259,6 +259,48 @@ class ProductHashTable {
         return false;
     }
 
+    /**
+     * Pairs a product with its case-folded name, computed once per product.
+     */
+    private static class NameKey {
+        final String key;
+        final Product product;
+
+        NameKey(Product product) {
+            this.key = fold(product.name);
+            this.product = product;
+        }
+
+        /**
+         * Folds each char the way compareToIgnoreCase does (upper, then lower),
+         * so comparing keys orders names exactly like Product.compareTo.
+         */
+        static String fold(String name) {
+            char[] chars = name.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+            }
+            return new String(chars);
+        }
+    }
+
+    /**
+     * Sorts a list by name (decorate-sort-undecorate): every name is case-folded
+     * once, then the sort compares the ready-made keys.
+     */
+    private static void sortByNameKeys(List<Product> list) {
+        NameKey[] keys = new NameKey[list.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new NameKey(list.get(i));
+        }
+
+        Arrays.sort(keys, (a, b) -> a.key.compareTo(b.key));
+
+        for (int i = 0; i < keys.length; i++) {
+            list.set(i, keys[i].product);
+        }
+    }
+
     /**
      * Uses Java's built-in sort (O(n log n)) on the linear list BY NAME.
      */
@@ -266,8 +308,8 @@ class ProductHashTable {
         analysisLogger.setText("--- ANALYSIS: SORT (O(n log n)) ---\n");
         analysisLogger.append("Sorting all items by name...\n");
         
-        // This sorts using the default "compareTo" method in the Product class
-        Collections.sort(allProductsList);
+        // Names are case-folded once up front instead of on every comparison
+        sortByNameKeys(allProductsList);
         
         analysisLogger.append("Sort complete. Displaying " + allProductsList.size() + " items.\n");
         return allProductsList;
@@ -310,7 +352,7 @@ class ProductHashTable {
             }
         }
         
-        Collections.sort(results); // Sort the small results list by name
+        sortByNameKeys(results); // Sort the small results list by name
 
         long endTime = System.nanoTime();
         if (results.isEmpty()) {
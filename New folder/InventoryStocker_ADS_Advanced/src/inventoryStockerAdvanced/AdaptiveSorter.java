@@ -0,0 +1,193 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/*
+ ============================================================================
+ ADAPTIVE SORTER (BY SKU)
+ Samples the input before sorting and picks the algorithm that suits
+ its measured presortedness:
+
+   run count      – sampled adjacent descents, scaled to n
+   inversions     – sampled random pairs (i < j) that are out of order
+   key shape      – sampled SKUs that SkuCodec can pack into an int
+
+   INSERTION       n tiny, or small n with ~one inversion per element
+   TIMSORT         few runs, or (nearly) reversed – TimSort eats runs
+   RADIX           keys encode to ints – 2-pass LSD radix, O(n)
+   PARALLEL_MERGE  large random input on a multi-core machine
+   TIMSORT         otherwise
+
+ Each decision carries a cost-model prediction, and sort() records the
+ actual time so the model can be checked against reality.
+ ============================================================================
+*/
+final class AdaptiveSorter {
+
+    enum Strategy { INSERTION, TIMSORT, RADIX, PARALLEL_MERGE }
+
+    private static final int SAMPLES = 1024;
+    private static final int TINY = 32;
+    // 1024 samples cannot see ~n^2/2048 inversions; keep that cost bounded
+    private static final int INSERTION_MAX = 4096;
+    private static final int RADIX_MIN = 10_000;
+    private static final int PARALLEL_MIN = 1 << 16;
+
+    // Rough per-operation costs (ns) for the prediction model
+    private static final double NS_PER_COMPARE = 8.0;
+    private static final double NS_PER_MOVE = 1.5;
+    private static final double NS_PER_RADIX_ELEMENT = 12.0;
+
+    /** What the sampler saw, and what was done about it. */
+    static final class Decision {
+        final int n;
+        final double estimatedRuns;
+        final double inversionRatio;   // sampled fraction of out-of-order pairs
+        final double encodableRatio;   // sampled fraction of int-encodable SKUs
+        final Strategy strategy;
+        final String reason;
+        final long predictedNs;
+        long actualNs;
+
+        Decision(int n, double estimatedRuns, double inversionRatio, double encodableRatio,
+                 Strategy strategy, String reason, long predictedNs) {
+            this.n = n;
+            this.estimatedRuns = estimatedRuns;
+            this.inversionRatio = inversionRatio;
+            this.encodableRatio = encodableRatio;
+            this.strategy = strategy;
+            this.reason = reason;
+            this.predictedNs = predictedNs;
+        }
+
+        @Override
+        public String toString() {
+            return "Chosen: " + strategy + " (" + reason + ")\n" +
+                   String.format("Sampled: runs≈%.0f, inversions≈%.1f%%, int-encodable SKUs %.0f%%%n",
+                                 estimatedRuns, inversionRatio * 100, encodableRatio * 100) +
+                   "Predicted: " + predictedNs + " ns | Actual: " + actualNs + " ns";
+        }
+    }
+
+    private AdaptiveSorter() {}
+
+    /** Sorts a by SKU with the chosen strategy and returns the decision. */
+    static Decision sort(Product[] a) {
+        Decision d = decide(a);
+
+        long s = System.nanoTime();
+        switch (d.strategy) {
+            case INSERTION:
+                SortKernels.insertionSort(a);
+                break;
+            case RADIX:
+                if (!radixSort(a)) Arrays.sort(a, SortKernels.BY_SKU);
+                break;
+            case PARALLEL_MERGE:
+                Arrays.parallelSort(a, SortKernels.BY_SKU);
+                break;
+            default:
+                Arrays.sort(a, SortKernels.BY_SKU);
+        }
+        d.actualNs = System.nanoTime() - s;
+        return d;
+    }
+
+    static Decision decide(Product[] a) {
+        int n = a.length;
+        if (n <= TINY) {
+            return new Decision(n, 1, 0, 0, Strategy.INSERTION, "n <= " + TINY,
+                                predictInsertion(n, n * (double) n / 4));
+        }
+
+        SplittableRandom rnd = new SplittableRandom(n);
+        int samples = Math.min(SAMPLES, n - 1);
+
+        int descents = 0;
+        int inverted = 0;
+        int encodable = 0;
+        for (int k = 0; k < samples; k++) {
+            int i = rnd.nextInt(n - 1);
+            if (a[i].sku.compareTo(a[i + 1].sku) > 0) descents++;
+
+            int x = rnd.nextInt(n);
+            int y = rnd.nextInt(n);
+            if (x != y && a[Math.min(x, y)].sku.compareTo(a[Math.max(x, y)].sku) > 0) inverted++;
+
+            if (SkuCodec.encode(a[rnd.nextInt(n)].sku) != SkuCodec.NO_CODE) encodable++;
+        }
+
+        double descentRatio = descents / (double) samples;
+        double runs = 1 + descentRatio * (n - 1);
+        double inversionRatio = inverted / (double) samples;
+        double inversions = inversionRatio * n * (double) (n - 1) / 2;
+        double encodableRatio = encodable / (double) samples;
+
+        if (inversions <= n && n <= INSERTION_MAX) {
+            return new Decision(n, runs, inversionRatio, encodableRatio, Strategy.INSERTION,
+                                "≈ sorted, O(n + inversions)", predictInsertion(n, inversions));
+        }
+        if (inversions <= n || runs <= n / 64.0 || inversionRatio >= 0.95) {
+            String why = inversionRatio >= 0.95 ? "≈ reversed"
+                       : inversions <= n ? "≈ sorted" : "few long runs";
+            return new Decision(n, runs, inversionRatio, encodableRatio, Strategy.TIMSORT,
+                                why + ", run merging", predictTimSort(n, runs));
+        }
+        if (encodableRatio == 1.0 && n >= RADIX_MIN) {
+            return new Decision(n, runs, inversionRatio, encodableRatio, Strategy.RADIX,
+                                "SKUs pack to ints, O(n)", (long) (n * NS_PER_RADIX_ELEMENT));
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (n >= PARALLEL_MIN && cores > 1) {
+            return new Decision(n, runs, inversionRatio, encodableRatio, Strategy.PARALLEL_MERGE,
+                                "large random input, " + cores + " cores",
+                                predictTimSort(n, n) / Math.min(cores, 8) * 2);
+        }
+        return new Decision(n, runs, inversionRatio, encodableRatio, Strategy.TIMSORT,
+                            "random input", predictTimSort(n, runs));
+    }
+
+    private static long predictInsertion(int n, double inversions) {
+        return (long) (n * NS_PER_COMPARE + inversions * (NS_PER_COMPARE + NS_PER_MOVE));
+    }
+
+    private static long predictTimSort(int n, double runs) {
+        double merges = Math.log(Math.max(runs, 2)) / Math.log(2);
+        return (long) (n * NS_PER_COMPARE + n * merges * (NS_PER_COMPARE + NS_PER_MOVE));
+    }
+
+    /* ============================================================
+       LSD RADIX ON SkuCodec INTS (2 x 8-bit passes, stable)
+       ============================================================ */
+
+    // Returns false (a untouched) if any SKU does not encode.
+    static boolean radixSort(Product[] a) {
+        int n = a.length;
+        int[] codes = new int[n];
+        for (int i = 0; i < n; i++) {
+            codes[i] = SkuCodec.encode(a[i].sku);
+            if (codes[i] == SkuCodec.NO_CODE) return false;
+        }
+
+        Product[] auxP = new Product[n];
+        int[] auxC = new int[n];
+        int[] count = new int[257];
+
+        for (int shift = 0; shift < 16; shift += 8) { // codes < 26000 < 2^16
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) count[((codes[i] >>> shift) & 0xFF) + 1]++;
+            for (int r = 0; r < 256; r++) count[r + 1] += count[r];
+            for (int i = 0; i < n; i++) {
+                int at = count[(codes[i] >>> shift) & 0xFF]++;
+                auxP[at] = a[i];
+                auxC[at] = codes[i];
+            }
+            System.arraycopy(auxP, 0, a, 0, n);
+            System.arraycopy(auxC, 0, codes, 0, n);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package inventoryStockerAdvanced;
+
+import javax.swing.SwingWorker;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/*
+ ============================================================================
+ BACKGROUND TASK
+ Runs benchmarks, large sorts and bulk loads off the Swing event thread.
+
+ - progress(status, done, total) may be called at any rate from the
+   worker; updates are throttled and reach the EDT as "progress" and
+   STATUS property changes
+ - cancellation is cooperative: cancelWork() sets a flag and interrupts
+   the worker, long loops call checkCancelled() (the benchmark harness
+   checks the interrupt flag between samples)
+ - onSuccess / onFailure run on the EDT only after the worker has
+   actually stopped, so the caller can safely unlock the UI there
+   (SwingWorker.cancel would call done() while the worker still runs)
+ ============================================================================
+*/
+final class BackgroundTask<T> extends SwingWorker<T, Void> {
+
+    static final String STATUS = "status";
+
+    private static final long REPORT_INTERVAL_NS = 50_000_000; // 20 updates/s
+
+    interface Work<T> {
+        T run(BackgroundTask<T> task) throws Exception;
+    }
+
+    private final Work<T> work;
+    private final Consumer<T> onSuccess;
+    private final Consumer<Throwable> onFailure;   // CancellationException when cancelled
+
+    private volatile boolean cancelRequested;
+    private Thread worker;          // guarded by this
+    private long lastReport;        // worker thread only
+
+    BackgroundTask(Work<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        this.work = work;
+        this.onSuccess = onSuccess;
+        this.onFailure = onFailure;
+    }
+
+    /* ============================================================
+       WORKER SIDE
+       ============================================================ */
+
+    @Override
+    protected T doInBackground() throws Exception {
+        synchronized (this) {
+            if (cancelRequested) throw new CancellationException("Cancelled before start");
+            worker = Thread.currentThread();
+        }
+        try {
+            return work.run(this);
+        } finally {
+            synchronized (this) {
+                worker = null;
+            }
+            Thread.interrupted(); // pooled thread: do not leak the flag
+        }
+    }
+
+    /** Reports "status done/total"; total <= 0 means unknown. */
+    void progress(String status, int done, int total) {
+        long now = System.nanoTime();
+        if (done < total && now - lastReport < REPORT_INTERVAL_NS) return;
+        lastReport = now;
+
+        if (total > 0) {
+            setProgress((int) Math.min(100, 100L * done / total));
+            firePropertyChange(STATUS, null, status + " " + done + "/" + total);
+        } else {
+            firePropertyChange(STATUS, null, status);
+        }
+    }
+
+    void checkCancelled() {
+        if (cancelRequested || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Cancelled");
+        }
+    }
+
+    /* ============================================================
+       EDT SIDE
+       ============================================================ */
+
+    synchronized void cancelWork() {
+        cancelRequested = true;
+        if (worker != null) worker.interrupt();
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    @Override
+    protected void done() {
+        try {
+            T result = get();
+            onSuccess.accept(result);
+        } catch (ExecutionException e) {
+            // an interrupted I/O call surfaces as an IOException, not a cancel
+            onFailure.accept(cancelRequested ? new CancellationException("Cancelled") : e.getCause());
+        } catch (CancellationException e) {
+            onFailure.accept(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/*
+ ============================================================================
+ HEADLESS BENCHMARK RUNNER
+ Runs the search / sort / name-sort suites on a seeded synthetic catalog
+ without Swing or JFreeChart, for servers and CI:
+
+   java -cp <classes> inventoryStockerAdvanced.BenchmarkCli \
+        --suite search,sort --size 100000 --iterations 50 --json - --csv out.csv
+
+ Options (defaults in brackets):
+   --suite s1,s2        search, sort, name-sort or all [search,sort]
+   --size n             catalog size [10000]
+   --conformant share   share of SKU_PATTERN SKUs, 0..1 [0.5]
+   --algorithms a,b     only these algorithms, e.g. HashMap,TreeMap [all]
+   --warmup w           warm-up samples [10]
+   --iterations i       measured samples [100]
+   --ops k              lookups per search sample [1000]
+   --seed s             catalog and key seed [42]
+   --json file|-        JSON report [-, stdout]
+   --csv file|-         CSV, one row per result, suite column first
+   --history file       append to a benchmark history and compare
+   --threshold pct      regression threshold for --history [10]
+   --fail-on-regression exit 3 when --history flags a regression
+   --jfr file           record the whole run with JFR
+
+ Progress goes to stderr. Run it from the class path: module mode would
+ resolve org.jfree.jfreechart, which this class never touches.
+ ============================================================================
+*/
+public final class BenchmarkCli {
+
+    static final String[] SUITES = { "search", "sort", "name-sort" };
+
+    private static final int EXIT_USAGE = 2;
+    private static final int EXIT_REGRESSION = 3;
+
+    private BenchmarkCli() {}
+
+    /** Parsed command line. */
+    static final class Options {
+        final Set<String> suites = new LinkedHashSet<>(Arrays.asList("search", "sort"));
+        int size = 10_000;
+        double conformant = 0.5;
+        Set<String> algorithms;   // null: all
+        int warmup = BenchmarkHarness.Config.DEFAULT.warmupIterations;
+        int iterations = BenchmarkHarness.Config.DEFAULT.measuredIterations;
+        int ops = BenchmarkHarness.Config.DEFAULT.opsPerSample;
+        long seed = BenchmarkHarness.Config.DEFAULT.seed;
+        String json = "-";
+        String csv;
+        String history;
+        String jfr;
+        double threshold = 10;
+        boolean failOnRegression;
+
+        static Options parse(String[] args) {
+            Options o = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String flag = args[i];
+                if (flag.equals("--fail-on-regression")) {
+                    o.failOnRegression = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) throw new IllegalArgumentException(flag + " needs a value");
+                String v = args[++i];
+                switch (flag) {
+                    case "--suite":
+                        o.suites.clear();
+                        for (String s : v.split(",")) {
+                            if (s.equals("all")) o.suites.addAll(Arrays.asList(SUITES));
+                            else if (Arrays.asList(SUITES).contains(s)) o.suites.add(s);
+                            else throw new IllegalArgumentException("Unknown suite: " + s);
+                        }
+                        break;
+                    case "--size":       o.size = positive(flag, v); break;
+                    case "--conformant": o.conformant = Double.parseDouble(v); break;
+                    case "--algorithms": o.algorithms = new LinkedHashSet<>(Arrays.asList(v.split(","))); break;
+                    case "--warmup":     o.warmup = Integer.parseInt(v); break;
+                    case "--iterations": o.iterations = positive(flag, v); break;
+                    case "--ops":        o.ops = positive(flag, v); break;
+                    case "--seed":       o.seed = Long.parseLong(v); break;
+                    case "--json":       o.json = v; break;
+                    case "--csv":        o.csv = v; break;
+                    case "--history":    o.history = v; break;
+                    case "--jfr":        o.jfr = v; break;
+                    case "--threshold":  o.threshold = Double.parseDouble(v); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + flag);
+                }
+            }
+            if (o.conformant < 0 || o.conformant > 1) {
+                throw new IllegalArgumentException("--conformant must be between 0 and 1");
+            }
+            return o;
+        }
+
+        Predicate<String> selected() {
+            return algorithms == null ? BenchmarkSuite.ALL : algorithms::contains;
+        }
+
+        BenchmarkHarness.Config config() {
+            return new BenchmarkHarness.Config(warmup, iterations, ops, seed);
+        }
+
+        private static int positive(String flag, String v) {
+            int n = Integer.parseInt(v);
+            if (n < 1) throw new IllegalArgumentException(flag + " must be at least 1");
+            return n;
+        }
+    }
+
+    /* ============================================================
+       ENTRY POINT
+       ============================================================ */
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        Options o;
+        try {
+            o = Options.parse(args);
+        } catch (IllegalArgumentException e) {   // NumberFormatException included
+            System.err.println("error: " + e.getMessage());
+            System.err.println("usage: BenchmarkCli [--suite search,sort,name-sort|all] [--size n]"
+                + " [--algorithms a,b] [--warmup w] [--iterations i] [--json file|-] [--csv file|-]"
+                + " [--history file [--threshold pct] [--fail-on-regression]] [--jfr file]");
+            System.exit(EXIT_USAGE);
+            return;
+        }
+
+        Options opts = o;
+        Map<String, Map<String, BenchmarkResult>> results = o.jfr == null
+            ? run(o)
+            : JvmActivity.record(Paths.get(o.jfr), () -> run(opts));
+
+        List<BenchmarkHistory.Finding> findings = new ArrayList<>();
+        if (o.history != null) {
+            BenchmarkHistory history = new BenchmarkHistory(Paths.get(o.history));
+            for (Map.Entry<String, Map<String, BenchmarkResult>> e : results.entrySet()) {
+                BenchmarkHistory.Run run = new BenchmarkHistory.Run(e.getKey())
+                    .addAll(o.size, e.getValue().values());
+                List<BenchmarkHistory.Finding> f = history.compare(run, o.threshold);
+                history.append(run);
+                System.err.print(e.getKey() + ": " + BenchmarkHistory.describe(f, o.threshold));
+                findings.addAll(f);
+            }
+        }
+
+        if (o.json != null) {
+            try (Writer w = open(o.json)) {
+                w.write(toJson(o, results, findings));
+            }
+        }
+        if (o.csv != null) {
+            try (Writer w = open(o.csv)) {
+                w.write(toCsv(results));
+            }
+        }
+
+        if (o.failOnRegression && findings.stream().anyMatch(f -> f.regression)) {
+            System.exit(EXIT_REGRESSION);
+        }
+    }
+
+    static Map<String, Map<String, BenchmarkResult>> run(Options o) {
+        List<Product> products = catalog(o.size, o.conformant, o.seed);
+        BenchmarkHarness h = new BenchmarkHarness(o.config(), BenchmarkCli::progress);
+
+        Map<String, Map<String, BenchmarkResult>> results = new LinkedHashMap<>();
+        for (String suite : o.suites) {
+            System.err.println("== " + suite + " (n=" + o.size + ")");
+            switch (suite) {
+                case "search": {
+                    Map<String, Product> hashMap = new HashMap<>();
+                    TreeMap<String, Product> treeMap = new TreeMap<>();
+                    for (Product p : products) {
+                        hashMap.put(p.sku, p);
+                        treeMap.put(p.sku, p);
+                    }
+                    results.put(suite, BenchmarkSuite.search(h, products, hashMap::get, treeMap::get, o.selected()));
+                    break;
+                }
+                case "sort":
+                    results.put(suite, BenchmarkSuite.sort(h, products, SortKernels.QUADRATIC_LIMIT, o.selected()));
+                    break;
+                default:
+                    results.put(suite, BenchmarkSuite.nameSort(h, products, o.selected()));
+                    break;
+            }
+            for (BenchmarkResult r : results.get(suite).values()) System.err.println(r.summary());
+        }
+        return results;
+    }
+
+    private static List<Product> catalog(int n, double conformant, long seed) {
+        WorkloadGenerator.Catalog c = WorkloadGenerator.catalog(n, conformant, seed);
+        List<Product> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) list.add(new Product(c.skus[i], c.names[i], c.quantities[i]));
+        return list;
+    }
+
+    private static void progress(String name, int done, int total) {
+        if (done == total) System.err.println("  " + name + " " + done + "/" + total);
+    }
+
+    private static Writer open(String target) throws IOException {
+        if (target.equals("-")) {
+            // stdout stays open for whatever the caller prints next
+            return new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) {
+                @Override
+                public void close() {
+                    flush();
+                }
+            };
+        }
+        return new BufferedWriter(Files.newBufferedWriter(Paths.get(target), StandardCharsets.UTF_8));
+    }
+
+    /* ============================================================
+       OUTPUT
+       ============================================================ */
+
+    static String toCsv(Map<String, Map<String, BenchmarkResult>> results) {
+        StringBuilder sb = new StringBuilder("Suite,").append(BenchmarkResult.CSV_HEADER).append('\n');
+        for (Map.Entry<String, Map<String, BenchmarkResult>> e : results.entrySet()) {
+            for (BenchmarkResult r : e.getValue().values()) {
+                sb.append(e.getKey()).append(',').append(r.toCsvRow()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    static String toJson(Options o, Map<String, Map<String, BenchmarkResult>> results,
+                         List<BenchmarkHistory.Finding> findings) {
+        StringBuilder sb = new StringBuilder("{\n");
+        sb.append("  \"meta\": {")
+          .append("\"timestamp\": ").append(str(Instant.now().toString()))
+          .append(", \"jvm\": ").append(str(System.getProperty("java.vm.name") + " " + System.getProperty("java.version")))
+          .append(", \"os\": ").append(str(System.getProperty("os.name") + " " + System.getProperty("os.arch")))
+          .append(", \"cpus\": ").append(Runtime.getRuntime().availableProcessors())
+          .append(", \"commit\": ").append(str(BenchmarkHistory.commit()))
+          .append(", \"n\": ").append(o.size)
+          .append(", \"conformant\": ").append(num(o.conformant))
+          .append(", \"seed\": ").append(o.seed)
+          .append(", \"warmup\": ").append(o.warmup)
+          .append(", \"iterations\": ").append(o.iterations)
+          .append(", \"opsPerSample\": ").append(o.ops)
+          .append("},\n");
+
+        sb.append("  \"suites\": {");
+        String sep = "\n";
+        for (Map.Entry<String, Map<String, BenchmarkResult>> e : results.entrySet()) {
+            sb.append(sep).append("    ").append(str(e.getKey())).append(": [");
+            String rsep = "\n";
+            for (BenchmarkResult r : e.getValue().values()) {
+                sb.append(rsep).append("      {\"algorithm\": ").append(str(r.name))
+                  .append(", \"samples\": ").append(r.samples)
+                  .append(", \"meanNs\": ").append(num(r.mean))
+                  .append(", \"stdDevNs\": ").append(num(r.stdDev))
+                  .append(", \"p50Ns\": ").append(num(r.p50))
+                  .append(", \"p90Ns\": ").append(num(r.p90))
+                  .append(", \"p99Ns\": ").append(num(r.p99))
+                  .append(", \"minNs\": ").append(num(r.min))
+                  .append(", \"maxNs\": ").append(num(r.max))
+                  .append(", \"ci95Ns\": ").append(num(r.ci95))
+                  .append(", \"gcCount\": ").append(r.activity.gcCount)
+                  .append(", \"gcMs\": ").append(r.activity.gcMillis)
+                  .append(", \"gcSamples\": ").append(r.activity.gcSamples)
+                  .append(", \"jitMs\": ").append(r.activity.jitMillis)
+                  .append(", \"jitSamples\": ").append(r.activity.jitSamples)
+                  .append(", \"cleanMeanNs\": ").append(num(r.activity.cleanMean))
+                  .append(", \"note\": ").append(str(r.note))
+                  .append('}');
+                rsep = ",\n";
+            }
+            sb.append("\n    ]");
+            sep = ",\n";
+        }
+        sb.append("\n  },\n");
+
+        sb.append("  \"regressions\": [");
+        sep = "\n";
+        for (BenchmarkHistory.Finding f : findings) {
+            if (!f.regression) continue;
+            sb.append(sep).append("    {\"suite\": ").append(str(f.current.suite))
+              .append(", \"algorithm\": ").append(str(f.current.kase))
+              .append(", \"metric\": ").append(str(f.current.metric))
+              .append(", \"baseline\": ").append(num(f.baseline.value))
+              .append(", \"current\": ").append(num(f.current.value))
+              .append(", \"changePct\": ").append(num(f.changePct))
+              .append(", \"baselineRun\": ").append(str(f.baseline.runId))
+              .append('}');
+            sep = ",\n";
+        }
+        sb.append(sep.equals("\n") ? "]\n" : "\n  ]\n");
+        return sb.append("}\n").toString();
+    }
+
+    private static String num(double v) {
+        return Double.isFinite(v) ? String.format(Locale.ROOT, "%.3f", v) : "null";
+    }
+
+    private static String str(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':  sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,133 @@
+package inventoryStockerAdvanced;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.IntToLongFunction;
+
+/*
+ ============================================================================
+ BENCHMARK HARNESS
+ Replaces single-shot System.nanoTime() timings:
+
+ - warm-up iterations run (and are discarded) so the JIT compiles the
+   measured code before any sample is kept
+ - each sample times a batch of operations, so one sample is far above
+   timer resolution; the sample is reported as ns per operation
+ - prepare() runs untimed before every sample (array copies, key
+   offsets), keeping setup and allocation out of the numbers
+ - every operation returns a long that is folded into a sink and
+   published through a volatile field, so the JIT cannot drop the work
+ - between samples it reports progress and stops with a
+   CancellationException if its thread has been interrupted
+ - around every measured sample it reads the GC and JIT counters
+   (JvmActivity), so results that overlapped either are flagged
+ ============================================================================
+*/
+final class BenchmarkHarness {
+
+    static final class Config {
+        final int warmupIterations;
+        final int measuredIterations;
+        final int opsPerSample;
+        final long seed;
+
+        Config(int warmupIterations, int measuredIterations, int opsPerSample, long seed) {
+            if (warmupIterations < 0 || measuredIterations < 1 || opsPerSample < 1) {
+                throw new IllegalArgumentException(
+                    "Invalid benchmark config: warm-up " + warmupIterations +
+                    ", iterations " + measuredIterations + ", ops/sample " + opsPerSample);
+            }
+            this.warmupIterations = warmupIterations;
+            this.measuredIterations = measuredIterations;
+            this.opsPerSample = opsPerSample;
+            this.seed = seed;
+        }
+
+        static final Config DEFAULT = new Config(10, 100, 1000, 42);
+    }
+
+    /** Called after every warm-up and measured sample. */
+    interface Progress {
+        void sample(String name, int done, int total);
+    }
+
+    private static volatile long blackhole;
+
+    private final Config config;
+    private final Progress progress;
+    private long sink;
+
+    BenchmarkHarness(Config config) {
+        this(config, (name, done, total) -> {});
+    }
+
+    BenchmarkHarness(Config config, Progress progress) {
+        this.config = config;
+        this.progress = progress;
+    }
+
+    Config config() {
+        return config;
+    }
+
+    /**
+     * Runs warm-up + measured samples. Each sample calls prepare (untimed),
+     * then body(0 .. ops-1) under the timer.
+     */
+    BenchmarkResult run(String name, int ops, Runnable prepare, IntToLongFunction body) {
+        double[] samples = new double[config.measuredIterations];
+        boolean[] gcHit = new boolean[config.measuredIterations];
+        boolean[] jitHit = new boolean[config.measuredIterations];
+        long[] before = new long[3];
+        long[] after = new long[3];
+        long[] first = null;
+        int total = config.warmupIterations + config.measuredIterations;
+
+        for (int i = -config.warmupIterations; i < config.measuredIterations; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Benchmark cancelled: " + name);
+            }
+            prepare.run();
+            if (i >= 0) {
+                JvmActivity.read(before);
+                if (first == null) first = before.clone();
+            }
+
+            long acc = 0;
+            long s = System.nanoTime();
+            for (int k = 0; k < ops; k++) acc += body.applyAsLong(k);
+            long t = System.nanoTime() - s;
+
+            sink += acc;
+            if (i >= 0) {
+                JvmActivity.read(after);
+                samples[i] = t / (double) ops;
+                gcHit[i] = after[0] != before[0];
+                jitHit[i] = after[2] != before[2];
+            }
+            progress.sample(name, i + config.warmupIterations + 1, total);
+        }
+
+        blackhole = sink;
+        BenchmarkResult result = BenchmarkResult.of(name, samples);
+        result.activity = activity(samples, gcHit, jitHit, first, after);
+        return result;
+    }
+
+    private static JvmActivity activity(double[] samples, boolean[] gcHit, boolean[] jitHit,
+                                        long[] first, long[] last) {
+        int gc = 0;
+        int jit = 0;
+        int clean = 0;
+        double cleanSum = 0;
+        for (int i = 0; i < samples.length; i++) {
+            if (gcHit[i]) gc++;
+            if (jitHit[i]) jit++;
+            if (!gcHit[i] && !jitHit[i]) {
+                clean++;
+                cleanSum += samples[i];
+            }
+        }
+        return new JvmActivity(last[0] - first[0], last[1] - first[1], last[2] - first[2],
+            gc, jit, samples.length, clean == 0 ? Double.NaN : cleanSum / clean);
+    }
+}
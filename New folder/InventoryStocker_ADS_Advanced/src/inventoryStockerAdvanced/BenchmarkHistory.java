@@ -0,0 +1,326 @@
+package inventoryStockerAdvanced;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ ============================================================================
+ BENCHMARK HISTORY + REGRESSION DETECTION
+ Every benchmark run is appended (never overwritten) to one CSV in long
+ format, one metric per row:
+
+   RunId,Timestamp,Suite,Case,N,Metric,Value,JVM,Commit
+
+ so search/sort timings, memory footprints and throughput points share
+ one file that spreadsheets and scripts can pivot.
+
+ compare() checks a new run against its baseline: for each primary
+ metric (mean_ns, retained_bytes, ops_per_sec) the most recent earlier
+ run of the same suite with the same case and n. A case is flagged
+ when it is worse than the baseline by more than the threshold;
+ ops_per_sec is higher-is-better, everything else lower-is-better.
+
+ The commit comes from -Dinventory.commit, else $GIT_COMMIT, else
+ "git rev-parse --short HEAD", else "unknown".
+ ============================================================================
+*/
+final class BenchmarkHistory {
+
+    static final String DEFAULT_FILE = "benchmark_history.csv";
+    static final String HEADER = "RunId,Timestamp,Suite,Case,N,Metric,Value,JVM,Commit";
+
+    static final String MEAN_NS = "mean_ns";
+    static final String RETAINED_BYTES = "retained_bytes";
+    static final String OPS_PER_SEC = "ops_per_sec";
+    private static final String[] PRIMARY = { MEAN_NS, RETAINED_BYTES, OPS_PER_SEC };
+
+    private static String commit;   // resolved once
+
+    private final Path file;
+
+    BenchmarkHistory(Path file) {
+        this.file = file;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    /* ============================================================
+       RECORDS
+       ============================================================ */
+
+    static final class Record {
+        final String runId;
+        final String timestamp;
+        final String suite;
+        final String kase;
+        final int n;
+        final String metric;
+        final double value;
+        final String jvm;
+        final String commit;
+
+        Record(String runId, String timestamp, String suite, String kase, int n,
+               String metric, double value, String jvm, String commit) {
+            this.runId = runId;
+            this.timestamp = timestamp;
+            this.suite = suite;
+            this.kase = kase;
+            this.n = n;
+            this.metric = metric;
+            this.value = value;
+            this.jvm = jvm;
+            this.commit = commit;
+        }
+
+        String key() {
+            return kase + "|" + n + "|" + metric;
+        }
+
+        String toCsvRow() {
+            return String.join(",", csv(runId), csv(timestamp), csv(suite), csv(kase),
+                Integer.toString(n), csv(metric), String.format(Locale.ROOT, "%.3f", value),
+                csv(jvm), csv(commit));
+        }
+    }
+
+    /** One run's metrics, stamped with time, JVM and commit when created. */
+    static final class Run {
+        final String runId;
+        final String timestamp;
+        final String suite;
+        final String jvm;
+        final String commit;
+        final List<Record> records = new ArrayList<>();
+
+        Run(String suite) {
+            Instant now = Instant.now();
+            this.runId = Long.toString(now.toEpochMilli(), 36);
+            this.timestamp = now.toString();
+            this.suite = suite;
+            this.jvm = System.getProperty("java.vm.name") + " " + System.getProperty("java.version");
+            this.commit = commit();
+        }
+
+        Run add(String kase, int n, String metric, double value) {
+            if (!Double.isNaN(value)) {
+                records.add(new Record(runId, timestamp, suite, kase, n, metric, value, jvm, commit));
+            }
+            return this;
+        }
+
+        /** mean/p50/p99 of each result; all at catalog size n. */
+        Run addAll(int n, Iterable<BenchmarkResult> results) {
+            for (BenchmarkResult r : results) addResult(r.name, n, r);
+            return this;
+        }
+
+        Run addResult(String kase, int n, BenchmarkResult r) {
+            return add(kase, n, MEAN_NS, r.mean)
+                .add(kase, n, "p50_ns", r.p50)
+                .add(kase, n, "p99_ns", r.p99);
+        }
+    }
+
+    /* ============================================================
+       APPEND / LOAD
+       ============================================================ */
+
+    void append(Run run) throws IOException {
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (fresh) {
+                w.write(HEADER);
+                w.newLine();
+            }
+            for (Record r : run.records) {
+                w.write(r.toCsvRow());
+                w.newLine();
+            }
+        }
+    }
+
+    List<Record> load() throws IOException {
+        List<Record> out = new ArrayList<>();
+        if (!Files.exists(file)) return out;
+
+        try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = r.readLine()) != null) {
+                lineNo++;
+                if (lineNo == 1 || line.isEmpty()) continue;   // header
+                List<String> f = parseCsv(line);
+                if (f.size() != 9) {
+                    throw new IOException(file + ":" + lineNo + ": expected 9 fields, got " + f.size());
+                }
+                try {
+                    out.add(new Record(f.get(0), f.get(1), f.get(2), f.get(3), Integer.parseInt(f.get(4)),
+                        f.get(5), Double.parseDouble(f.get(6)), f.get(7), f.get(8)));
+                } catch (NumberFormatException e) {
+                    throw new IOException(file + ":" + lineNo + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return out;
+    }
+
+    /* ============================================================
+       REGRESSION CHECK
+       ============================================================ */
+
+    static final class Finding {
+        final Record current;
+        final Record baseline;   // null: no earlier run of this case
+        final double changePct;  // positive = worse
+        final boolean regression;
+
+        Finding(Record current, Record baseline, double changePct, boolean regression) {
+            this.current = current;
+            this.baseline = baseline;
+            this.changePct = changePct;
+            this.regression = regression;
+        }
+
+        @Override
+        public String toString() {
+            String name = current.kase + " (n=" + current.n + ", " + current.metric + ")";
+            if (baseline == null) return "  new      " + name;
+            return String.format(Locale.ROOT, "  %-8s %s: %.1f -> %.1f (%.1f%% %s) vs run %s [%s]",
+                regression ? "REGRESS" : changePct < 0 ? "better" : "ok", name,
+                baseline.value, current.value, Math.abs(changePct),
+                changePct > 0 ? "worse" : "better", baseline.runId, baseline.commit);
+        }
+    }
+
+    /** Compares run with the history on disk (call before append). */
+    List<Finding> compare(Run run, double thresholdPct) throws IOException {
+        // latest earlier value per key, for this suite only
+        Map<String, Record> baseline = new HashMap<>();
+        for (Record r : load()) {
+            if (r.suite.equals(run.suite) && !r.runId.equals(run.runId)) baseline.put(r.key(), r);
+        }
+
+        List<Finding> out = new ArrayList<>();
+        for (Record cur : run.records) {
+            if (!isPrimary(cur.metric)) continue;
+            Record base = baseline.get(cur.key());
+            if (base == null || base.value == 0) {
+                out.add(new Finding(cur, null, 0, false));
+                continue;
+            }
+            double change = (cur.value - base.value) / base.value * 100;
+            if (cur.metric.equals(OPS_PER_SEC)) change = -change;
+            out.add(new Finding(cur, base, change, change > thresholdPct));
+        }
+        return out;
+    }
+
+    /** Report block for the analysis panel / console. */
+    static String describe(List<Finding> findings, double thresholdPct) {
+        int regressions = 0;
+        int compared = 0;
+        for (Finding f : findings) {
+            if (f.baseline != null) compared++;
+            if (f.regression) regressions++;
+        }
+        StringBuilder sb = new StringBuilder();
+        if (compared == 0) {
+            sb.append("Baseline: none yet (first run of this suite at this size)\n");
+            return sb.toString();
+        }
+        sb.append(String.format(Locale.ROOT, "Baseline check (threshold %.0f%%): %d regression(s) in %d case(s)%n",
+            thresholdPct, regressions, compared));
+        for (Finding f : findings) if (f.baseline != null) sb.append(f).append("\n");
+        return sb.toString();
+    }
+
+    private static boolean isPrimary(String metric) {
+        for (String m : PRIMARY) if (m.equals(metric)) return true;
+        return false;
+    }
+
+    /* ============================================================
+       METADATA + CSV HELPERS
+       ============================================================ */
+
+    static synchronized String commit() {
+        if (commit != null) return commit;
+
+        String c = System.getProperty("inventory.commit");
+        if (c == null || c.isEmpty()) c = System.getenv("GIT_COMMIT");
+        if (c == null || c.isEmpty()) c = gitHead();
+        commit = c == null || c.isEmpty() ? "unknown" : c.trim();
+        return commit;
+    }
+
+    private static String gitHead() {
+        try {
+            Process p = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                .redirectErrorStream(true).start();
+            String out;
+            try (BufferedReader r = new BufferedReader(
+                     new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+                out = r.readLine();
+            }
+            if (!p.waitFor(2, TimeUnit.SECONDS)) {
+                p.destroyForcibly();
+                return null;
+            }
+            return p.exitValue() == 0 ? out : null;
+        } catch (IOException e) {
+            return null;   // no git on PATH
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String csv(String s) {
+        return s.contains(",") || s.contains("\"") ? "\"" + s.replace("\"", "\"\"") + "\"" : s;
+    }
+
+    // RFC 4180 fields on one line (history rows never contain newlines).
+    static List<String> parseCsv(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    sb.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        out.add(sb.toString());
+        return out;
+    }
+}
@@ -0,0 +1,104 @@
+package inventoryStockerAdvanced;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/*
+ ============================================================================
+ BENCHMARK RESULT
+ Summary statistics over the measured samples (ns per operation):
+ mean, standard deviation, p50/p90/p99 (nearest rank), min/max and a
+ 95% confidence interval for the mean (normal approximation), plus the
+ GC / JIT activity that overlapped the samples.
+ ============================================================================
+*/
+final class BenchmarkResult {
+
+    static final String CSV_HEADER =
+        "Algorithm,Samples,Mean(ns),StdDev(ns),P50(ns),P90(ns),P99(ns)," +
+        "Min(ns),Max(ns),CI95Low(ns),CI95High(ns)," +
+        "GcCount,GcTime(ms),GcSamples,JitTime(ms),JitSamples,CleanMean(ns),Note";
+
+    final String name;
+    final int samples;
+    final double mean;
+    final double stdDev;
+    final double p50;
+    final double p90;
+    final double p99;
+    final double min;
+    final double max;
+    final double ci95;   // half width
+
+    String note = "";
+    JvmActivity activity = JvmActivity.NONE;
+
+    private BenchmarkResult(String name, int samples, double mean, double stdDev,
+                            double p50, double p90, double p99,
+                            double min, double max, double ci95) {
+        this.name = name;
+        this.samples = samples;
+        this.mean = mean;
+        this.stdDev = stdDev;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.min = min;
+        this.max = max;
+        this.ci95 = ci95;
+    }
+
+    static BenchmarkResult of(String name, double[] samples) {
+        int n = samples.length;
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+
+        double sum = 0;
+        for (double v : sorted) sum += v;
+        double mean = sum / n;
+
+        double sq = 0;
+        for (double v : sorted) sq += (v - mean) * (v - mean);
+        double sd = n > 1 ? Math.sqrt(sq / (n - 1)) : 0;
+
+        return new BenchmarkResult(
+            name, n, mean, sd,
+            percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+            sorted[0], sorted[n - 1],
+            1.96 * sd / Math.sqrt(n)
+        );
+    }
+
+    // nearest-rank percentile on sorted samples
+    private static double percentile(double[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    double ciLow() {
+        return mean - ci95;
+    }
+
+    double ciHigh() {
+        return mean + ci95;
+    }
+
+    String toCsvRow() {
+        JvmActivity a = activity;
+        return String.format(Locale.ROOT, "%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%d,%d,%d,%d,%d,%.2f,%s",
+            csv(name), samples, mean, stdDev, p50, p90, p99, min, max, ciLow(), ciHigh(),
+            a.gcCount, a.gcMillis, a.gcSamples, a.jitMillis, a.jitSamples, a.cleanMean, csv(note));
+    }
+
+    private static String csv(String s) {
+        return s.contains(",") || s.contains("\"") ? "\"" + s.replace("\"", "\"\"") + "\"" : s;
+    }
+
+    /** One line for the analysis panel; a second, flagged one if GC/JIT overlapped. */
+    String summary() {
+        String line = String.format(Locale.ROOT,
+            "%s: mean %.1f ns ±%.1f (p50 %.1f, p90 %.1f, p99 %.1f, sd %.1f)",
+            name, mean, ci95, p50, p90, p99, stdDev);
+        return activity.flagged() ? line + "\n  ! " + activity : line;
+    }
+}
@@ -0,0 +1,191 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/*
+ ============================================================================
+ BENCHMARK SUITES (SEARCH / SORT / NAME SORT)
+ Headless: no Swing, no JFreeChart. Each suite returns its results in
+ display order, keyed by algorithm name.
+
+ Search targets are drawn at random (seeded) from the catalog, and each
+ sample starts at a random offset into that key table. The overloads
+ taking a Predicate run only the algorithms it accepts.
+ ============================================================================
+*/
+final class BenchmarkSuite {
+
+    private static final int KEY_COUNT = 4096; // power of two
+    private static final long LINEAR_BUDGET = 1_000_000; // element visits per sample
+
+    static final Predicate<String> ALL = name -> true;
+
+    private BenchmarkSuite() {}
+
+    /* ============================================================
+       SEARCH
+       ============================================================ */
+
+    static Map<String, BenchmarkResult> search(BenchmarkHarness h, List<Product> list,
+                                               Function<String, Product> hashLookup,
+                                               Function<String, Product> treeLookup) {
+        return search(h, list, hashLookup, treeLookup, ALL);
+    }
+
+    static Map<String, BenchmarkResult> search(BenchmarkHarness h, List<Product> list,
+                                               Function<String, Product> hashLookup,
+                                               Function<String, Product> treeLookup,
+                                               Predicate<String> selected) {
+        BenchmarkHarness.Config c = h.config();
+        Random rnd = new Random(c.seed);
+
+        String[] keys = new String[KEY_COUNT];
+        Product[] probes = new Product[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            probes[i] = list.get(rnd.nextInt(list.size()));
+            keys[i] = probes[i].sku;
+        }
+
+        Product[] sorted = list.toArray(new Product[0]);
+        Arrays.sort(sorted, SortKernels.BY_SKU);
+
+        int[] offset = new int[1];
+        Runnable nextOffset = () -> offset[0] = rnd.nextInt(KEY_COUNT);
+        int mask = KEY_COUNT - 1;
+        int ops = c.opsPerSample;
+        int linearOps = (int) Math.max(1, Math.min(ops, LINEAR_BUDGET / list.size()));
+
+        Map<String, BenchmarkResult> results = new LinkedHashMap<>();
+        if (selected.test("Linear")) {
+            results.put("Linear", h.run("Linear", linearOps, nextOffset, k -> {
+                String sku = keys[(offset[0] + k) & mask];
+                for (Product p : list) if (p.sku.equals(sku)) return p.quantity;
+                return -1;
+            }));
+        }
+        if (selected.test("HashMap")) {
+            results.put("HashMap", h.run("HashMap", ops, nextOffset,
+                k -> quantity(hashLookup.apply(keys[(offset[0] + k) & mask]))));
+        }
+        if (selected.test("Binary")) {
+            results.put("Binary", h.run("Binary", ops, nextOffset,
+                k -> Arrays.binarySearch(sorted, probes[(offset[0] + k) & mask], SortKernels.BY_SKU)));
+        }
+        if (selected.test("TreeMap")) {
+            results.put("TreeMap", h.run("TreeMap", ops, nextOffset,
+                k -> quantity(treeLookup.apply(keys[(offset[0] + k) & mask]))));
+        }
+        return results;
+    }
+
+    private static long quantity(Product p) {
+        return p == null ? -1 : p.quantity;
+    }
+
+    /* ============================================================
+       SORT (BY SKU)
+       ============================================================ */
+
+    /** Quadratic sorts are left out above SortKernels.QUADRATIC_LIMIT. */
+    static Map<String, BenchmarkResult> sort(BenchmarkHarness h, List<Product> list) {
+        return sort(h, list, SortKernels.QUADRATIC_LIMIT, ALL);
+    }
+
+    static Map<String, BenchmarkResult> sort(BenchmarkHarness h, List<Product> list, int quadraticLimit) {
+        return sort(h, list, quadraticLimit, ALL);
+    }
+
+    static Map<String, BenchmarkResult> sort(BenchmarkHarness h, List<Product> list, int quadraticLimit,
+                                             Predicate<String> selected) {
+        Product[] original = list.toArray(new Product[0]);
+        int n = original.length;
+        Product[] work = new Product[n];
+        Product[] aux = new Product[n];
+        Runnable reset = () -> System.arraycopy(original, 0, work, 0, n);
+
+        Map<String, BenchmarkResult> results = new LinkedHashMap<>();
+        if (n <= quadraticLimit) {
+            sortRun(results, selected, h, "Bubble", reset, work, SortKernels::bubbleSort);
+            sortRun(results, selected, h, "Insertion", reset, work, SortKernels::insertionSort);
+            sortRun(results, selected, h, "Selection", reset, work, SortKernels::selectionSort);
+        }
+        sortRun(results, selected, h, "Merge", reset, work, a -> SortKernels.mergeSort(a, aux));
+        sortRun(results, selected, h, "Quick", reset, work, SortKernels::quickSort);
+        sortRun(results, selected, h, "TimSort", reset, work, a -> Arrays.sort(a, SortKernels.BY_SKU));
+
+        if (selected.test("Adaptive")) {
+            AdaptiveSorter.Decision d = AdaptiveSorter.decide(original);
+            BenchmarkResult adaptive = sortRun(h, "Adaptive", reset, work, AdaptiveSorter::sort);
+            d.actualNs = Math.round(adaptive.mean);
+            adaptive.note = "strategy=" + d.strategy + " predicted=" + d.predictedNs;
+            results.put("Adaptive", adaptive);
+        }
+        return results;
+    }
+
+    private static void sortRun(Map<String, BenchmarkResult> results, Predicate<String> selected,
+                                BenchmarkHarness h, String name, Runnable reset,
+                                Product[] work, Consumer<Product[]> sorter) {
+        if (selected.test(name)) results.put(name, sortRun(h, name, reset, work, sorter));
+    }
+
+    private static BenchmarkResult sortRun(BenchmarkHarness h, String name, Runnable reset,
+                                           Product[] work, Consumer<Product[]> sorter) {
+        return h.run(name, 1, reset, k -> {
+            sorter.accept(work);
+            return work.length == 0 ? 0 : work[0].quantity;
+        });
+    }
+
+    /* ============================================================
+       NAME SORT (COMPARATOR vs SORT KEYS)
+       ============================================================ */
+
+    static Map<String, BenchmarkResult> nameSort(BenchmarkHarness h, List<Product> list) {
+        return nameSort(h, list, ALL);
+    }
+
+    static Map<String, BenchmarkResult> nameSort(BenchmarkHarness h, List<Product> list,
+                                                 Predicate<String> selected) {
+        List<Product> work = new ArrayList<>(list);
+        Runnable reset = () -> {
+            for (int i = 0; i < work.size(); i++) work.set(i, list.get(i));
+        };
+        Comparator<Product> folding = Comparator.comparing(p -> p.name.toLowerCase());
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.SECONDARY);   // ignore case, like the other variants
+
+        Map<String, BenchmarkResult> results = new LinkedHashMap<>();
+        if (selected.test("Comparator(toLowerCase)")) {
+            results.put("Comparator(toLowerCase)", h.run("Comparator(toLowerCase)", 1, reset, k -> {
+                work.sort(folding);
+                return work.get(0).quantity;
+            }));
+        }
+        if (selected.test("SortKeys(byte[])")) {
+            results.put("SortKeys(byte[])", h.run("SortKeys(byte[])", 1, reset, k -> {
+                NameSortKeys.sortByName(work);
+                return work.get(0).quantity;
+            }));
+        }
+        if (selected.test("SortKeys(CollationKey)")) {
+            results.put("SortKeys(CollationKey)", h.run("SortKeys(CollationKey)", 1, reset, k -> {
+                NameSortKeys.sortByName(work, collator);
+                return work.get(0).quantity;
+            }));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,421 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/*
+ ============================================================================
+ COLUMNAR COMPRESSED CATALOG (BACKUP / EXCHANGE FORMAT)
+ The catalog sorted by SKU, stored column by column in blocks of
+ BLOCK_ROWS products:
+
+ - SKU:      front coding; each SKU is (shared prefix with the previous
+             SKU, suffix) as varint, varint, UTF-8 bytes. Sorted SKUs
+             share most of their bytes
+ - name:     dictionary encoding; distinct names are stored once (in
+             first-use order, in their own blocks), rows hold their
+             dictionary id bit-packed at ceil(log2(distinct)) bits
+ - quantity: frame of reference + bit packing; per block the minimum,
+             then (q - min) at the width of the block's largest value.
+             Rows are in SKU order, so quantities are unrelated from row
+             to row and deltas would not be smaller
+
+ Every block is then deflated on its own (zlib, adler32-checked), so a
+ reader never holds more than one block of compressed input.
+
+ File: magic "INVCOL01", int rows, int names, int blockRows, byte
+ nameBits, then the name-dictionary frames and the row frames, each
+ as int rawLength, int compressedLength, bytes. Written to a temporary
+ sibling and renamed into place, so a failed nightly backup never
+ replaces the last good one.
+ ============================================================================
+*/
+final class ColumnarCatalog {
+
+    static final String EXTENSION = ".invcol";
+    static final int BLOCK_ROWS = 1 << 16;
+
+    private static final long MAGIC = 0x494E56434F4C3031L;   // "INVCOL01"
+
+    private ColumnarCatalog() {}
+
+    static final class Stats {
+        final int rows;
+        final int distinctNames;
+        final long fileBytes;
+        final long csvBytes;    // the same catalog as SKU,Name,Quantity lines
+        final long nanos;
+
+        Stats(int rows, int distinctNames, long fileBytes, long csvBytes, long nanos) {
+            this.rows = rows;
+            this.distinctNames = distinctNames;
+            this.fileBytes = fileBytes;
+            this.csvBytes = csvBytes;
+            this.nanos = nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "Products: %,d | distinct names: %,d%n" +
+                "File: %,d KB vs CSV %,d KB (%.1fx smaller)%n" +
+                "%d ms | %.0f MB/s of CSV-equivalent data",
+                rows, distinctNames, fileBytes >> 10, csvBytes >> 10,
+                fileBytes == 0 ? 0 : (double) csvBytes / fileBytes,
+                nanos / 1_000_000, nanos == 0 ? 0 : csvBytes * 1e3 / nanos);
+        }
+    }
+
+    /* ============================================================
+       WRITE
+       ============================================================ */
+
+    /** Writes products (unique SKUs); level is a Deflater level (1 = fastest). */
+    static Stats write(Path file, List<Product> products, int level,
+                       BenchmarkHarness.Progress progress) throws IOException {
+        long start = System.nanoTime();
+        Product[] sorted = products.toArray(new Product[0]);
+        AdaptiveSorter.sort(sorted);   // catalogs exported from the TreeMap arrive presorted
+        int n = sorted.length;
+
+        Map<String, Integer> ids = new HashMap<>();
+        String[] dictionary = new String[n];
+        int[] nameIds = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (i > 0 && sorted[i].sku.equals(sorted[i - 1].sku)) throw new IOException("Duplicate SKU " + sorted[i].sku);
+            Integer id = ids.putIfAbsent(sorted[i].name, ids.size());
+            if (id == null) {
+                id = ids.size() - 1;
+                dictionary[id] = sorted[i].name;
+            }
+            nameIds[i] = id;
+        }
+        int names = ids.size();
+        ids = null;
+        int nameBits = bits(names - 1);
+
+        long csvBytes = 0;
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Deflater deflater = new Deflater(level);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeLong(MAGIC);
+            out.writeInt(n);
+            out.writeInt(names);
+            out.writeInt(BLOCK_ROWS);
+            out.writeByte(nameBits);
+
+            Block block = new Block();
+            byte[][] frame = { new byte[1 << 16] };
+            for (int from = 0; from < names; from += BLOCK_ROWS) {
+                block.reset();
+                for (int i = from, to = Math.min(names, from + BLOCK_ROWS); i < to; i++) {
+                    block.putBytes(dictionary[i].getBytes(StandardCharsets.UTF_8));
+                }
+                frame(out, block, deflater, frame);
+            }
+            dictionary = null;
+
+            for (int from = 0; from < n; from += BLOCK_ROWS) {
+                if (Thread.currentThread().isInterrupted()) throw new CancellationException("Export cancelled");
+                int to = Math.min(n, from + BLOCK_ROWS);
+                block.reset();
+
+                byte[] prev = new byte[0];   // blocks decode independently
+                for (int i = from; i < to; i++) {
+                    byte[] sku = sorted[i].sku.getBytes(StandardCharsets.UTF_8);
+                    int shared = 0;
+                    int max = Math.min(sku.length, prev.length);
+                    while (shared < max && sku[shared] == prev[shared]) shared++;
+                    block.putVarInt(shared);
+                    block.putVarInt(sku.length - shared);
+                    block.put(sku, shared, sku.length - shared);
+                    prev = sku;
+                    csvBytes += sku.length + 3 + digits(sorted[i].quantity);
+                }
+                for (int i = from; i < to; i++) {
+                    block.putBits(nameIds[i], nameBits);
+                    csvBytes += sorted[i].name.length();   // ASCII-exact, close enough otherwise
+                }
+                block.flushBits();
+
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int i = from; i < to; i++) {
+                    min = Math.min(min, sorted[i].quantity);
+                    max = Math.max(max, sorted[i].quantity);
+                }
+                int width = bits((long) max - min);
+                block.putVarInt(zigZag(min));
+                block.putByte(width);
+                for (int i = from; i < to; i++) block.putBits((long) sorted[i].quantity - min, width);
+                block.flushBits();
+
+                frame(out, block, deflater, frame);
+                progress.sample("Exporting", to, n);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        } finally {
+            deflater.end();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Stats(n, names, Files.size(file), csvBytes, System.nanoTime() - start);
+    }
+
+    private static void frame(DataOutputStream out, Block block, Deflater deflater, byte[][] frame) throws IOException {
+        deflater.reset();
+        deflater.setInput(block.bytes, 0, block.size);
+        deflater.finish();
+        int len = 0;
+        while (!deflater.finished()) {
+            if (len == frame[0].length) frame[0] = Arrays.copyOf(frame[0], len * 2);
+            len += deflater.deflate(frame[0], len, frame[0].length - len);
+        }
+        out.writeInt(block.size);
+        out.writeInt(len);
+        out.write(frame[0], 0, len);
+    }
+
+    /* ============================================================
+       READ
+       ============================================================ */
+
+    static WorkloadGenerator.Catalog read(Path file, BenchmarkHarness.Progress progress) throws IOException {
+        Inflater inflater = new Inflater();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readLong() != MAGIC) throw new IOException("Not a columnar catalog: " + file);
+            int n = in.readInt();
+            int names = in.readInt();
+            int blockRows = in.readInt();
+            int nameBits = in.readByte();
+            if (n < 0 || names < 0 || names > n || blockRows <= 0 || nameBits < 0 || nameBits > 31) {
+                throw new IOException("Corrupt columnar catalog header: " + file);
+            }
+
+            Block block = new Block();
+            byte[][] compressed = { new byte[1 << 16] };
+            String[] dictionary = new String[names];
+            for (int from = 0; from < names; from += blockRows) {
+                frame(in, block, inflater, compressed);
+                for (int i = from, to = Math.min(names, from + blockRows); i < to; i++) dictionary[i] = block.getString();
+            }
+
+            WorkloadGenerator.Catalog c = new WorkloadGenerator.Catalog(n);
+            byte[] sku = new byte[64];
+            for (int from = 0; from < n; from += blockRows) {
+                if (Thread.currentThread().isInterrupted()) throw new CancellationException("Import cancelled");
+                int to = Math.min(n, from + blockRows);
+                frame(in, block, inflater, compressed);
+
+                for (int i = from; i < to; i++) {
+                    int shared = block.getVarInt();
+                    int suffix = block.getVarInt();
+                    if (shared + suffix > sku.length) sku = Arrays.copyOf(sku, Math.max(shared + suffix, sku.length * 2));
+                    block.get(sku, shared, suffix);
+                    c.skus[i] = new String(sku, 0, shared + suffix, StandardCharsets.UTF_8);
+                }
+                for (int i = from; i < to; i++) {
+                    int id = (int) block.getBits(nameBits);
+                    if (id >= names) throw new IOException("Corrupt name id " + id + " in " + file);
+                    c.names[i] = dictionary[id];
+                }
+                block.alignBits();
+
+                int min = unZigZag(block.getVarInt());
+                int width = block.getByte();
+                for (int i = from; i < to; i++) c.quantities[i] = (int) (min + block.getBits(width));
+                block.alignBits();
+                progress.sample("Reading", to, n);
+            }
+            return c;
+        } catch (EOFException e) {
+            throw new IOException("Truncated columnar catalog: " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void frame(DataInputStream in, Block block, Inflater inflater, byte[][] compressed) throws IOException {
+        int raw = in.readInt();
+        int len = in.readInt();
+        if (raw < 0 || len < 0) throw new IOException("Corrupt columnar catalog frame");
+        if (len > compressed[0].length) compressed[0] = new byte[len];
+        in.readFully(compressed[0], 0, len);
+
+        block.resetFor(raw);
+        inflater.reset();
+        inflater.setInput(compressed[0], 0, len);
+        try {
+            while (block.size < raw && !inflater.finished()) {
+                int r = inflater.inflate(block.bytes, block.size, raw - block.size);
+                if (r == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                block.size += r;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt columnar catalog block", e);
+        }
+        if (block.size != raw) throw new IOException("Columnar catalog block shorter than recorded");
+    }
+
+    /* ============================================================
+       BLOCK BUFFER (VARINTS, BIT PACKING)
+       ============================================================ */
+
+    private static final class Block {
+        byte[] bytes = new byte[1 << 16];
+        int size;       // write: bytes used; read: bytes available
+        int pos;        // read position
+        private long bitBuf;
+        private int bitCount;
+
+        void reset() {
+            size = 0;
+            bitBuf = 0;
+            bitCount = 0;
+        }
+
+        void resetFor(int raw) {
+            if (bytes.length < raw) bytes = new byte[raw];
+            reset();
+            pos = 0;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(size + extra, bytes.length * 2));
+        }
+
+        void put(byte[] b, int off, int len) {
+            ensure(len);
+            System.arraycopy(b, off, bytes, size, len);
+            size += len;
+        }
+
+        void putByte(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void putBytes(byte[] b) {
+            putVarInt(b.length);
+            put(b, 0, b.length);
+        }
+
+        void putVarInt(int v) {
+            ensure(5);
+            while ((v & ~0x7F) != 0) {
+                bytes[size++] = (byte) (v & 0x7F | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+
+        /** Appends the low `width` bits of v (width <= 32), LSB first. */
+        void putBits(long v, int width) {
+            if (width == 0) return;
+            bitBuf |= (v & ((1L << width) - 1)) << bitCount;
+            bitCount += width;
+            ensure(4);
+            while (bitCount >= 8) {
+                bytes[size++] = (byte) bitBuf;
+                bitBuf >>>= 8;
+                bitCount -= 8;
+            }
+        }
+
+        void flushBits() {
+            if (bitCount > 0) {
+                ensure(1);
+                bytes[size++] = (byte) bitBuf;
+            }
+            bitBuf = 0;
+            bitCount = 0;
+        }
+
+        int getByte() throws IOException {
+            if (pos >= size) throw new IOException("Columnar catalog block overrun");
+            return bytes[pos++] & 0xFF;
+        }
+
+        void get(byte[] dst, int off, int len) throws IOException {
+            if (len < 0 || pos + len > size) throw new IOException("Columnar catalog block overrun");
+            System.arraycopy(bytes, pos, dst, off, len);
+            pos += len;
+        }
+
+        int getVarInt() throws IOException {
+            int v = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = getByte();
+                v |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IOException("Corrupt varint in columnar catalog");
+        }
+
+        String getString() throws IOException {
+            int len = getVarInt();
+            if (len < 0 || pos + len > size) throw new IOException("Columnar catalog block overrun");
+            String s = new String(bytes, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+
+        long getBits(int width) throws IOException {
+            if (width == 0) return 0;
+            while (bitCount < width) {
+                bitBuf |= (long) getByte() << bitCount;
+                bitCount += 8;
+            }
+            long v = bitBuf & ((1L << width) - 1);
+            bitBuf >>>= width;
+            bitCount -= width;
+            return v;
+        }
+
+        void alignBits() {
+            bitBuf = 0;
+            bitCount = 0;
+        }
+    }
+
+    /* ============================================================
+       HELPERS
+       ============================================================ */
+
+    /** Bits needed for values 0..max (0 when max <= 0). */
+    private static int bits(long max) {
+        return max <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(max);
+    }
+
+    private static int zigZag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static int unZigZag(int v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static int digits(int q) {
+        return q < 0 ? 1 + digits(-(q + 1)) : q < 10 ? 1 : 1 + digits(q / 10);
+    }
+}
@@ -0,0 +1,335 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/*
+ ============================================================================
+ CONCURRENT THROUGHPUT BENCHMARK
+ Several threads replay a mixed workload (Zipfian SKU lookups, stock
+ updates, deletes, range queries) against a hash index + sorted index
+ pair, the same pair the app keeps (hashMap + treeMap), made
+ thread-safe three ways:
+
+ - Synchronized   one monitor around HashMap + TreeMap
+ - ReadWriteLock  ReentrantReadWriteLock: reads share, writes exclude
+ - Concurrent     ConcurrentHashMap + ConcurrentSkipListMap, no lock
+                  (an update is not atomic across the two maps)
+
+ Per thread count: a warm-up period, then a measured period in which
+ every operation is timed into a per-thread LatencyHistogram. Reported:
+ ops/sec over the measured period and merged latency percentiles.
+ Per-op timing costs ~20-30 ns of System.nanoTime(), included in the
+ latencies and the throughput alike.
+
+ Stock updates replace the Product (copy-on-write) instead of mutating
+ the shared object; a write to a deleted SKU re-inserts it, so the
+ catalog does not drain.
+ ============================================================================
+*/
+final class ConcurrencyBenchmark {
+
+    static final String CSV_HEADER =
+        "Strategy,Threads,OpsPerSec,P50(ns),P90(ns),P99(ns),P999(ns),Ops";
+
+    private static final int WORKLOAD_SIZE = 1 << 20;   // power of two, cycled with a mask
+    private static final int MAX_RANGE_SPAN = 100;
+
+    private ConcurrencyBenchmark() {}
+
+    /** Operation mix, normalised like WorkloadGenerator's. */
+    static final class Mix {
+        final double reads, writes, deletes, ranges;
+
+        Mix(double reads, double writes, double deletes, double ranges) {
+            this.reads = reads;
+            this.writes = writes;
+            this.deletes = deletes;
+            this.ranges = ranges;
+        }
+
+        /** "90/8/1/1" = reads/writes/deletes/ranges. */
+        static Mix parse(String s) {
+            String[] parts = s.trim().split("\\s*/\\s*");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Mix must be reads/writes/deletes/ranges, e.g. 90/8/1/1");
+            }
+            double[] v = new double[4];
+            for (int i = 0; i < 4; i++) {
+                v[i] = Double.parseDouble(parts[i]);
+                if (v[i] < 0) throw new IllegalArgumentException("Negative share in mix: " + s);
+            }
+            return new Mix(v[0], v[1], v[2], v[3]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.0f/%.0f/%.0f/%.0f", reads, writes, deletes, ranges);
+        }
+    }
+
+    static final class Point {
+        final String strategy;
+        final int threads;
+        final double opsPerSec;
+        final long p50, p90, p99, p999;
+        final long ops;
+
+        Point(String strategy, int threads, double opsPerSec, LatencyHistogram h) {
+            this.strategy = strategy;
+            this.threads = threads;
+            this.opsPerSec = opsPerSec;
+            this.p50 = h.percentile(50);
+            this.p90 = h.percentile(90);
+            this.p99 = h.percentile(99);
+            this.p999 = h.percentile(99.9);
+            this.ops = h.count();
+        }
+
+        String toCsvRow() {
+            return String.format(Locale.ROOT, "%s,%d,%.0f,%d,%d,%d,%d,%d",
+                strategy, threads, opsPerSec, p50, p90, p99, p999, ops);
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT, "%-14s %2d threads: %,12.0f ops/s | p50 %,6d p90 %,6d p99 %,7d p99.9 %,8d ns",
+                strategy, threads, opsPerSec, p50, p90, p99, p999);
+        }
+    }
+
+    /* ============================================================
+       STORES
+       ============================================================ */
+
+    interface Store {
+        Product get(String sku);
+        void put(Product p);
+        Product remove(String sku);
+        int range(String from, String to);
+    }
+
+    static final class SynchronizedStore implements Store {
+        private final Map<String, Product> hash = new HashMap<>();
+        private final TreeMap<String, Product> tree = new TreeMap<>();
+
+        public synchronized Product get(String sku) { return hash.get(sku); }
+        public synchronized void put(Product p) { hash.put(p.sku, p); tree.put(p.sku, p); }
+        public synchronized Product remove(String sku) { tree.remove(sku); return hash.remove(sku); }
+        public synchronized int range(String from, String to) {
+            return tree.subMap(from, true, to, true).size();
+        }
+    }
+
+    static final class ReadWriteLockStore implements Store {
+        private final Map<String, Product> hash = new HashMap<>();
+        private final TreeMap<String, Product> tree = new TreeMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        public Product get(String sku) {
+            lock.readLock().lock();
+            try { return hash.get(sku); } finally { lock.readLock().unlock(); }
+        }
+        public void put(Product p) {
+            lock.writeLock().lock();
+            try { hash.put(p.sku, p); tree.put(p.sku, p); } finally { lock.writeLock().unlock(); }
+        }
+        public Product remove(String sku) {
+            lock.writeLock().lock();
+            try { tree.remove(sku); return hash.remove(sku); } finally { lock.writeLock().unlock(); }
+        }
+        public int range(String from, String to) {
+            lock.readLock().lock();
+            try { return tree.subMap(from, true, to, true).size(); } finally { lock.readLock().unlock(); }
+        }
+    }
+
+    static final class ConcurrentStore implements Store {
+        private final ConcurrentHashMap<String, Product> hash = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Product> tree = new ConcurrentSkipListMap<>();
+
+        public Product get(String sku) { return hash.get(sku); }
+        public void put(Product p) { hash.put(p.sku, p); tree.put(p.sku, p); }
+        public Product remove(String sku) { tree.remove(sku); return hash.remove(sku); }
+        public int range(String from, String to) {
+            // skip-list submaps count by walking, like TreeMap's
+            return tree.subMap(from, true, to, true).size();
+        }
+    }
+
+    static Map<String, Supplier<Store>> strategies() {
+        Map<String, Supplier<Store>> m = new LinkedHashMap<>();
+        m.put("Synchronized", SynchronizedStore::new);
+        m.put("ReadWriteLock", ReadWriteLockStore::new);
+        m.put("Concurrent", ConcurrentStore::new);
+        return m;
+    }
+
+    /** 1, 2, 4, ... up to max (max itself is always included). */
+    static int[] threadCounts(int max) {
+        List<Integer> out = new ArrayList<>();
+        for (int t = 1; t < max; t *= 2) out.add(t);
+        out.add(max);
+        return out.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /* ============================================================
+       RUN
+       ============================================================ */
+
+    static List<Point> run(List<Product> products, Mix mix, int[] threadCounts,
+                           long warmupMs, long measureMs, long seed,
+                           BenchmarkHarness.Progress progress) throws InterruptedException {
+        if (products.isEmpty()) throw new IllegalArgumentException("No products to benchmark");
+
+        WorkloadGenerator.Catalog catalog = new WorkloadGenerator.Catalog(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            Product p = products.get(i);
+            catalog.skus[i] = p.sku;
+            catalog.names[i] = p.name;
+            catalog.quantities[i] = p.quantity;
+        }
+        WorkloadGenerator.Workload w = WorkloadGenerator.workload(
+            catalog, WORKLOAD_SIZE, 0.99,
+            mix.reads, mix.writes, mix.deletes, mix.ranges, MAX_RANGE_SPAN, 0.05, seed);
+
+        // RANGE upper bounds: 'span' products further along in SKU order
+        String[] sorted = catalog.skus.clone();
+        Arrays.sort(sorted);
+        String[] rangeTo = new String[WORKLOAD_SIZE];
+        for (int i = 0; i < WORKLOAD_SIZE; i++) {
+            if (w.ops[i] == WorkloadGenerator.RANGE) {
+                int from = Arrays.binarySearch(sorted, w.keys[i]);
+                rangeTo[i] = sorted[Math.min(sorted.length - 1, from + w.quantities[i])];
+            }
+        }
+
+        Map<String, Supplier<Store>> strategies = strategies();
+        List<Point> points = new ArrayList<>();
+        int step = 0;
+        int steps = strategies.size() * threadCounts.length;
+
+        for (Map.Entry<String, Supplier<Store>> e : strategies.entrySet()) {
+            for (int threads : threadCounts) {
+                Store store = e.getValue().get();
+                for (Product p : products) store.put(p);
+
+                points.add(measure(e.getKey(), store, w, rangeTo, threads, warmupMs, measureMs));
+                progress.sample(e.getKey() + " x" + threads, ++step, steps);
+            }
+        }
+        return points;
+    }
+
+    private static Point measure(String name, Store store, WorkloadGenerator.Workload w, String[] rangeTo,
+                                 int threads, long warmupMs, long measureMs) throws InterruptedException {
+        Driver driver = new Driver(store, w, rangeTo, threads);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            int offset = (int) ((long) t * WORKLOAD_SIZE / threads);   // threads start apart
+            workers[t] = new Thread(() -> driver.loop(id, offset), "bench-" + name + "-" + t);
+            workers[t].setDaemon(true);
+            workers[t].start();
+        }
+
+        long measured;
+        try {
+            driver.ready.await();
+            Thread.sleep(warmupMs);
+            driver.phase = Driver.MEASURE;
+            long start = System.nanoTime();
+            Thread.sleep(measureMs);
+            driver.phase = Driver.STOP;
+            measured = System.nanoTime() - start;
+            for (Thread t : workers) t.join();
+        } catch (InterruptedException ex) {
+            driver.phase = Driver.STOP;
+            throw new CancellationException("Concurrency benchmark cancelled");
+        }
+
+        LatencyHistogram all = new LatencyHistogram();
+        for (LatencyHistogram h : driver.histograms) all.merge(h);
+        driver.publish();
+        return new Point(name, threads, all.count() / (measured / 1e9), all);
+    }
+
+    /** Shared run state; each worker records into its own histogram. */
+    private static final class Driver {
+        static final int WARMUP = 0, MEASURE = 1, STOP = 2;
+
+        private static volatile long blackhole;
+
+        final Store store;
+        final WorkloadGenerator.Workload w;
+        final String[] rangeTo;
+        final LatencyHistogram[] histograms;
+        final CountDownLatch ready;
+        final long[] sinks;
+        volatile int phase = WARMUP;
+
+        Driver(Store store, WorkloadGenerator.Workload w, String[] rangeTo, int threads) {
+            this.store = store;
+            this.w = w;
+            this.rangeTo = rangeTo;
+            this.histograms = new LatencyHistogram[threads];
+            for (int i = 0; i < threads; i++) histograms[i] = new LatencyHistogram();
+            this.ready = new CountDownLatch(threads);
+            this.sinks = new long[threads];
+        }
+
+        void loop(int id, int offset) {
+            LatencyHistogram h = histograms[id];
+            ready.countDown();
+            int mask = WORKLOAD_SIZE - 1;
+            long sink = 0;
+            int p;
+            for (int i = offset; (p = phase) != STOP; i++) {
+                int k = i & mask;
+                long s = System.nanoTime();
+                sink += apply(k);
+                long t = System.nanoTime() - s;
+                if (p == MEASURE) h.record(t);
+            }
+            sinks[id] = sink;
+        }
+
+        private int apply(int k) {
+            String sku = w.keys[k];
+            switch (w.ops[k]) {
+                case WorkloadGenerator.READ: {
+                    Product p = store.get(sku);
+                    return p == null ? 0 : p.quantity;
+                }
+                case WorkloadGenerator.WRITE: {
+                    Product old = store.get(sku);
+                    store.put(new Product(sku, old == null ? "Restocked" : old.name, w.quantities[k]));
+                    return 1;
+                }
+                case WorkloadGenerator.DELETE:
+                    return store.remove(sku) == null ? 0 : 1;
+                default:
+                    return store.range(sku, rangeTo[k]);
+            }
+        }
+
+        void publish() {
+            long s = 0;
+            for (long v : sinks) s += v;
+            blackhole = s;
+        }
+    }
+}
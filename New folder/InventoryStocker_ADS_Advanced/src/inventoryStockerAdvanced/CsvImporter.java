@@ -0,0 +1,396 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/*
+ ============================================================================
+ STREAMING PARALLEL CSV IMPORT
+ Supplier stock feeds (SKU,Name,Quantity) of any size, never held whole:
+
+ - the file is cut into byte ranges of chunkBytes; a chunk owns every
+   line that STARTS inside its range (a line crossing the end is read
+   to its newline, the next chunk skips it), so no boundary coordination
+ - worker threads claim chunks in order and parse them with positional
+   FileChannel reads into a private buffer; rows are validated (SKU
+   predicate, non-empty name, integer quantity) and deduplicated per
+   chunk, last row wins
+ - the caller's Sink receives the parsed chunks in FILE order on the
+   calling thread, so "last row wins" holds across chunks too and the
+   sink needs no locking. At most 2 x threads chunks are parsed ahead
+   of the sink, which bounds memory for any file size
+
+ An optional header row (first field "sku", any case) maps columns by
+ name (sku / name / quantity|qty|stock); without one the first three
+ columns are used. Fields may be "quoted" with "" escapes, but a quoted
+ field must not contain a line break (byte-range splitting cannot tell
+ it from a row boundary); such rows are rejected as malformed.
+ ============================================================================
+*/
+final class CsvImporter {
+
+    static final int DEFAULT_CHUNK_BYTES = 16 << 20;
+
+    static final String[] REASONS = {
+        "invalid SKU", "empty name", "bad quantity", "missing fields", "malformed quotes", "line too long"
+    };
+    private static final int BAD_SKU = 0, NO_NAME = 1, BAD_QTY = 2, SHORT = 3, QUOTES = 4, TOO_LONG = 5;
+
+    private static final int READ_BUFFER = 1 << 20;   // also the longest accepted line
+    private static final int MAX_SAMPLES = 10;
+
+    private CsvImporter() {}
+
+    interface Sink {
+        void accept(Chunk chunk) throws IOException;
+    }
+
+    /** The valid rows of one byte range, deduplicated, in row order. */
+    static final class Chunk {
+        final int index;
+        final Map<String, Product> products = new LinkedHashMap<>();
+        long rows;
+        final long[] rejected = new long[REASONS.length];
+        final List<String> samples = new ArrayList<>();
+
+        Chunk(int index) {
+            this.index = index;
+        }
+
+        private void reject(int reason, long offset) {
+            rejected[reason]++;
+            if (samples.size() < MAX_SAMPLES) samples.add("byte " + offset + ": " + REASONS[reason]);
+        }
+    }
+
+    static final class Result {
+        long rows;
+        long upserts;   // products handed to the sink, after per-chunk dedup
+        final long[] rejected = new long[REASONS.length];
+        final List<String> samples = new ArrayList<>();
+        long bytes;
+        long nanos;
+        int chunks;
+        int threads;
+
+        long rejectedTotal() {
+            long n = 0;
+            for (long r : rejected) n += r;
+            return n;
+        }
+
+        double rowsPerSec() {
+            return nanos == 0 ? 0 : rows * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+                "Rows: %,d | valid %,d | rejected %,d | upserts %,d%n" +
+                "%,.0f rows/s | %.1f MB/s | %d chunks on %d threads | %d ms",
+                rows, rows - rejectedTotal(), rejectedTotal(), upserts, rowsPerSec(),
+                nanos == 0 ? 0 : bytes * 1e3 / nanos, chunks, threads, nanos / 1_000_000));
+            for (int i = 0; i < REASONS.length; i++) {
+                if (rejected[i] > 0) sb.append(String.format(Locale.ROOT, "%n  %-16s %,d", REASONS[i], rejected[i]));
+            }
+            for (String s : samples) sb.append("\n  e.g. ").append(s);
+            return sb.toString();
+        }
+    }
+
+    /* ============================================================
+       DRIVER
+       ============================================================ */
+
+    static Result run(Path file, Predicate<String> validSku, int threads, int chunkBytes,
+                      Sink sink, BenchmarkHarness.Progress progress) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            Columns columns = Columns.read(ch);
+            int n = (int) Math.max(1, (size - columns.dataStart + chunkBytes - 1) / chunkBytes);
+
+            Result result = new Result();
+            result.bytes = size;
+            result.chunks = n;
+            result.threads = threads = Math.max(1, Math.min(threads, n));
+
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            CompletableFuture<Chunk>[] done = new CompletableFuture[n];
+            for (int i = 0; i < n; i++) done[i] = new CompletableFuture<>();
+            AtomicInteger next = new AtomicInteger();
+            Semaphore ahead = new Semaphore(2 * threads);
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    Parser parser = new Parser(ch, columns, validSku);
+                    try {
+                        for (;;) {
+                            ahead.acquire();
+                            int i = next.getAndIncrement();
+                            if (i >= n) return;
+                            long from = columns.dataStart + (long) i * chunkBytes;
+                            try {
+                                done[i].complete(parser.parse(i, from, Math.min(size, from + chunkBytes)));
+                            } catch (IOException | RuntimeException e) {
+                                done[i].completeExceptionally(e);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        // cancelled by the driver
+                    }
+                }, "csv-import-" + t);
+                workers[t].start();
+            }
+
+            try {
+                for (int i = 0; i < n; i++) {
+                    Chunk c = done[i].get();
+                    done[i] = null;
+                    sink.accept(c);
+                    ahead.release();
+
+                    result.rows += c.rows;
+                    result.upserts += c.products.size();
+                    for (int r = 0; r < REASONS.length; r++) result.rejected[r] += c.rejected[r];
+                    for (String s : c.samples) if (result.samples.size() < MAX_SAMPLES) result.samples.add(s);
+                    progress.sample("Importing", i + 1, n);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("CSV import cancelled");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) throw (IOException) cause;
+                throw (RuntimeException) cause;
+            } finally {
+                for (Thread w : workers) w.interrupt();
+                ahead.release(threads);   // workers blocked on the window see next >= n or the interrupt
+                next.set(n);
+                for (Thread w : workers) {
+                    try {
+                        w.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+            result.nanos = System.nanoTime() - start;
+            return result;
+        }
+    }
+
+    /* ============================================================
+       HEADER / COLUMN MAPPING
+       ============================================================ */
+
+    private static final class Columns {
+        final int sku, name, quantity, needed;
+        final long dataStart;
+
+        Columns(int sku, int name, int quantity, long dataStart) {
+            this.sku = sku;
+            this.name = name;
+            this.quantity = quantity;
+            this.needed = Math.max(sku, Math.max(name, quantity)) + 1;
+            this.dataStart = dataStart;
+        }
+
+        static Columns read(FileChannel ch) throws IOException {
+            ByteBuffer buf = ByteBuffer.allocate((int) Math.min(ch.size(), 64 << 10));
+            while (buf.hasRemaining() && ch.read(buf, buf.position()) > 0) { }
+            byte[] b = buf.array();
+            int len = buf.position();
+            int end = 0;
+            while (end < len && b[end] != '\n') end++;
+            int skip = len >= 3 && (b[0] & 0xFF) == 0xEF && (b[1] & 0xFF) == 0xBB && (b[2] & 0xFF) == 0xBF ? 3 : 0;
+
+            List<String> fields = new ArrayList<>();
+            if (Parser.split(b, skip, end, fields) < 0 || fields.isEmpty()
+                    || !fields.get(0).trim().equalsIgnoreCase("sku")) {
+                return new Columns(0, 1, 2, skip);
+            }
+            int sku = -1, name = -1, qty = -1;
+            for (int i = 0; i < fields.size(); i++) {
+                String f = fields.get(i).trim().toLowerCase(Locale.ROOT);
+                if (f.equals("sku") && sku < 0) sku = i;
+                else if ((f.equals("name") || f.equals("product name")) && name < 0) name = i;
+                else if ((f.equals("quantity") || f.equals("qty") || f.equals("stock")) && qty < 0) qty = i;
+            }
+            if (name < 0 || qty < 0) {
+                throw new IOException("CSV header needs name and quantity columns: " + fields);
+            }
+            return new Columns(sku, name, qty, Math.min(len, end + 1L));
+        }
+    }
+
+    /* ============================================================
+       CHUNK PARSER (ONE PER WORKER)
+       ============================================================ */
+
+    private static final class Parser {
+        private final FileChannel ch;
+        private final Columns columns;
+        private final Predicate<String> validSku;
+        private final ByteBuffer buf = ByteBuffer.allocate(READ_BUFFER);
+        private final List<String> fields = new ArrayList<>();
+
+        Parser(FileChannel ch, Columns columns, Predicate<String> validSku) {
+            this.ch = ch;
+            this.columns = columns;
+            this.validSku = validSku;
+        }
+
+        Chunk parse(int index, long from, long to) throws IOException {
+            Chunk chunk = new Chunk(index);
+            byte[] b = buf.array();
+            long base = from;          // file offset of b[0]
+            int len = 0;
+            int pos = 0;
+            boolean skipping = from > columns.dataStart && !startsLine(from);   // partial first line is the previous chunk's
+            boolean eof = false;
+
+            while (true) {
+                int nl = pos;
+                while (nl < len && b[nl] != '\n') nl++;
+                if (nl == len && !eof) {
+                    if (pos == 0 && len == b.length) {           // no newline in a full buffer
+                        if (base >= to) break;
+                        if (!skipping) {
+                            chunk.rows++;
+                            chunk.reject(TOO_LONG, base);
+                        }
+                        skipping = true;
+                        len = 0;
+                        base += b.length;
+                    } else {
+                        System.arraycopy(b, pos, b, 0, len - pos);
+                        base += pos;
+                        len -= pos;
+                        pos = 0;
+                    }
+                    buf.clear().position(len);
+                    int r = ch.read(buf, base + len);
+                    if (r < 0) eof = true;
+                    else len += r;
+                    continue;
+                }
+                if (nl == len && pos == len) break;              // eof, nothing left
+
+                long lineStart = base + pos;
+                if (lineStart >= to) break;
+                if (skipping) {
+                    skipping = false;
+                } else {
+                    int end = nl > pos && b[nl - 1] == '\r' ? nl - 1 : nl;
+                    if (end > pos) row(chunk, b, pos, end, lineStart);
+                }
+                pos = Math.min(nl + 1, len);
+                if (nl == len) break;                            // last line without newline
+                if ((chunk.rows & 0x3FFF) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("CSV import cancelled");
+                }
+            }
+            return chunk;
+        }
+
+        private boolean startsLine(long offset) throws IOException {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            ch.read(one, offset - 1);
+            return one.get(0) == '\n';
+        }
+
+        private void row(Chunk chunk, byte[] b, int from, int to, long offset) {
+            chunk.rows++;
+            if (split(b, from, to, fields) < 0) {
+                chunk.reject(QUOTES, offset);
+                return;
+            }
+            if (fields.size() < columns.needed) {
+                chunk.reject(SHORT, offset);
+                return;
+            }
+            String sku = fields.get(columns.sku).trim();
+            if (!validSku.test(sku)) {
+                chunk.reject(BAD_SKU, offset);
+                return;
+            }
+            String name = fields.get(columns.name).trim();
+            if (name.isEmpty()) {
+                chunk.reject(NO_NAME, offset);
+                return;
+            }
+            int qty;
+            try {
+                qty = Integer.parseInt(fields.get(columns.quantity).trim());
+            } catch (NumberFormatException e) {
+                chunk.reject(BAD_QTY, offset);
+                return;
+            }
+            chunk.products.remove(sku);   // re-insert: keeps the chunk in last-occurrence order
+            chunk.products.put(sku, new Product(sku, name, qty));
+        }
+
+        /** Splits b[from, to) into UTF-8 fields; -1 on an unbalanced quote. */
+        static int split(byte[] b, int from, int to, List<String> out) {
+            out.clear();
+            int i = from;
+            while (true) {
+                if (i < to && b[i] == '"') {
+                    byte[] f = null;
+                    int n = 0;
+                    int seg = ++i;
+                    while (true) {
+                        if (i >= to) return -1;
+                        if (b[i] == '"') {
+                            if (i + 1 < to && b[i + 1] == '"') {     // "" escape: flush segment + one quote
+                                if (f == null) f = new byte[to - seg];
+                                System.arraycopy(b, seg, f, n, i + 1 - seg);
+                                n += i + 1 - seg;
+                                i += 2;
+                                seg = i;
+                                continue;
+                            }
+                            break;
+                        }
+                        i++;
+                    }
+                    if (f == null) {
+                        out.add(new String(b, seg, i - seg, StandardCharsets.UTF_8));
+                    } else {
+                        System.arraycopy(b, seg, f, n, i - seg);
+                        out.add(new String(f, 0, n + i - seg, StandardCharsets.UTF_8));
+                    }
+                    i++;                                          // closing quote
+                    while (i < to && b[i] != ',') {
+                        if (b[i] != ' ' && b[i] != '\t') return -1;   // text after the closing quote
+                        i++;
+                    }
+                } else {
+                    int s = i;
+                    while (i < to && b[i] != ',') i++;
+                    out.add(new String(b, s, i - s, StandardCharsets.UTF_8));
+                }
+                if (i >= to) return out.size();
+                i++;                                              // comma
+            }
+        }
+    }
+}
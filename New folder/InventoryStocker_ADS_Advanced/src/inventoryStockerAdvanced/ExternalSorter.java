@@ -0,0 +1,355 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/*
+ ============================================================================
+ EXTERNAL MERGE SORT
+ For catalogs that do not fit in the heap. Products are streamed from
+ any Iterator; whenever the in-memory run reaches the memory budget it
+ is sorted and spilled to a temp file. The runs are then k-way merged
+ through a PriorityQueue (min-heap) keyed on each run's head product.
+
+ Memory: one run buffer (<= budget) during spilling, then one read
+ buffer per run during the merge. If there are more than MAX_FAN_IN
+ runs they are pre-merged in groups, so the merge never opens more
+ files than that at once. A catalog that fits in one run never
+ touches the disk.
+
+ Run file format: int count, then per product sku and name (each an
+ int byte length and that many UTF-8 bytes, so any length fits), then
+ int quantity.
+ ============================================================================
+*/
+final class ExternalSorter {
+
+    static final long DEFAULT_MEMORY_BYTES = 64L << 20;
+
+    private static final int MAX_FAN_IN = 64;
+    private static final int MIN_IO_BUFFER = 8 << 10;
+    private static final int MAX_IO_BUFFER = 1 << 20;
+
+    // Product + 2 Strings + their arrays + list slot, excluding characters
+    private static final int PRODUCT_OVERHEAD_BYTES = 108;
+
+    private final long memoryBytes;
+    private final Comparator<Product> order;
+    private final Path tempDir;
+    private final boolean ownsTempDir;
+
+    private int runsWritten;
+
+    ExternalSorter(long memoryBytes, Comparator<Product> order) throws IOException {
+        this(memoryBytes, order, Files.createTempDirectory("inventory-sort"), true);
+    }
+
+    /** Runs are written to tempDir, which is left in place afterwards. */
+    ExternalSorter(long memoryBytes, Comparator<Product> order, Path tempDir) {
+        this(memoryBytes, order, tempDir, false);
+    }
+
+    private ExternalSorter(long memoryBytes, Comparator<Product> order,
+                           Path tempDir, boolean ownsTempDir) {
+        if (memoryBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive: " + memoryBytes);
+        }
+        this.memoryBytes = memoryBytes;
+        this.order = order;
+        this.tempDir = tempDir;
+        this.ownsTempDir = ownsTempDir;
+    }
+
+    static long estimateBytes(Product p) {
+        return PRODUCT_OVERHEAD_BYTES + p.sku.length() + p.name.length();
+    }
+
+    /**
+     * Consumes source and returns the products in sorted order. The
+     * result must be closed to release (and delete) the run files.
+     */
+    Result sort(Iterator<Product> source) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        List<Product> buffer = new ArrayList<>();
+        long buffered = 0;
+        long count = 0;
+
+        try {
+            while (source.hasNext()) {
+                Product p = source.next();
+                buffer.add(p);
+                buffered += estimateBytes(p);
+                count++;
+
+                if (buffered >= memoryBytes) {
+                    runs.add(spill(buffer));
+                    buffer.clear();
+                    buffered = 0;
+                }
+            }
+
+            if (runs.isEmpty()) {
+                buffer.sort(order);
+                deleteAll(runs, ownedDir());
+                return new Result(buffer.iterator(), List.of(), null, 0, count);
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(spill(buffer));
+                buffer.clear();
+            }
+
+            int totalRuns = runs.size();
+            while (runs.size() > MAX_FAN_IN) {
+                runs = premerge(runs);
+            }
+            return new Result(new Merger(runs, ioBufferSize(runs.size())), runs, ownedDir(),
+                              totalRuns, count);
+        } catch (IOException | RuntimeException e) {
+            deleteAll(runs, ownedDir());
+            throw e;
+        }
+    }
+
+    private Path spill(List<Product> buffer) throws IOException {
+        Product[] run = buffer.toArray(new Product[0]);
+        Arrays.sort(run, order);
+
+        Path file = tempDir.resolve("run-" + (runsWritten++) + ".bin");
+        try (DataOutputStream out = openWrite(file, ioBufferSize(1))) {
+            out.writeInt(run.length);
+            for (Product p : run) write(out, p);
+        }
+        return file;
+    }
+
+    // Merges groups of MAX_FAN_IN runs into single runs.
+    private List<Path> premerge(List<Path> runs) throws IOException {
+        List<Path> next = new ArrayList<>();
+        for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+            List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+            if (group.size() == 1) {
+                next.add(group.get(0));
+                continue;
+            }
+
+            Path file = tempDir.resolve("run-" + (runsWritten++) + ".bin");
+            int bufferSize = ioBufferSize(group.size() + 1);
+            try (Merger merger = new Merger(group, bufferSize);
+                 DataOutputStream out = openWrite(file, bufferSize)) {
+                out.writeInt(merger.remaining());
+                while (merger.hasNext()) write(out, merger.next());
+            }
+            for (Path p : group) Files.deleteIfExists(p);
+            next.add(file);
+        }
+        return next;
+    }
+
+    private Path ownedDir() {
+        return ownsTempDir ? tempDir : null;
+    }
+
+    private int ioBufferSize(int streams) {
+        long perStream = memoryBytes / (streams + 1);
+        return (int) Math.max(MIN_IO_BUFFER, Math.min(MAX_IO_BUFFER, perStream));
+    }
+
+    private static DataOutputStream openWrite(Path file, int bufferSize) throws IOException {
+        return new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file), bufferSize));
+    }
+
+    private static void write(DataOutputStream out, Product p) throws IOException {
+        writeString(out, p.sku);
+        writeString(out, p.name);
+        out.writeInt(p.quantity);
+    }
+
+    // not writeUTF: its 2-byte length caps a string at 65,535 bytes
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // dir is only removed when the sorter created it (null otherwise)
+    private static void deleteAll(List<Path> runs, Path dir) {
+        for (Path p : runs) {
+            try {
+                Files.deleteIfExists(p);
+            } catch (IOException ignored) {
+                // best effort; the temp dir is left for the OS to reclaim
+            }
+        }
+        if (dir == null) return;
+        try {
+            Files.deleteIfExists(dir);
+        } catch (IOException ignored) {
+            // not empty or already gone
+        }
+    }
+
+    /* ============================================================
+       SORTED RESULT
+       ============================================================ */
+    static final class Result implements Iterator<Product>, Closeable {
+
+        private final Iterator<Product> products;
+        private final List<Path> runs;
+        private final Path tempDir;
+        private final int runCount;
+        private final long count;
+
+        private Result(Iterator<Product> products, List<Path> runs, Path tempDir,
+                       int runCount, long count) {
+            this.products = products;
+            this.runs = runs;
+            this.tempDir = tempDir;
+            this.runCount = runCount;
+            this.count = count;
+        }
+
+        /** Runs spilled to disk (0 if the input fit in memory). */
+        int runCount() {
+            return runCount;
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return products.hasNext();
+        }
+
+        @Override
+        public Product next() {
+            return products.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (products instanceof Merger) ((Merger) products).close();
+            deleteAll(runs, tempDir);
+        }
+    }
+
+    /* ============================================================
+       K-WAY MERGE
+       ============================================================ */
+    private final class Merger implements Iterator<Product>, Closeable {
+
+        private final PriorityQueue<RunCursor> heap;
+        private final List<RunCursor> cursors = new ArrayList<>();
+        private int remaining;
+
+        Merger(List<Path> runs, int bufferSize) throws IOException {
+            heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                (a, b) -> order.compare(a.head, b.head));
+            try {
+                for (Path run : runs) {
+                    RunCursor c = new RunCursor(run, bufferSize);
+                    cursors.add(c);
+                    remaining += c.remaining + (c.head != null ? 1 : 0);
+                    if (c.head != null) heap.add(c);
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        int remaining() {
+            return remaining;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public Product next() {
+            RunCursor c = heap.poll();
+            if (c == null) throw new NoSuchElementException();
+
+            Product p = c.head;
+            try {
+                if (c.advance()) heap.add(c);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            remaining--;
+            return p;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException first = null;
+            for (RunCursor c : cursors) {
+                try {
+                    c.in.close();
+                } catch (IOException e) {
+                    if (first == null) first = e;
+                }
+            }
+            if (first != null) throw first;
+        }
+    }
+
+    private static final class RunCursor {
+        final DataInputStream in;
+        int remaining;
+        Product head;
+        private byte[] buf = new byte[64];
+
+        RunCursor(Path run, int bufferSize) throws IOException {
+            in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(run), bufferSize));
+            remaining = in.readInt();
+            advance();
+        }
+
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                head = null;
+                return false;
+            }
+            try {
+                String sku = readString();
+                head = new Product(sku, readString(), in.readInt());
+            } catch (EOFException e) {
+                throw new IOException("Truncated sort run (" + remaining + " records missing)", e);
+            }
+            remaining--;
+            return true;
+        }
+
+        private String readString() throws IOException {
+            int n = in.readInt();
+            if (n < 0) throw new IOException("Corrupt sort run (string length " + n + ")");
+            if (n > buf.length) buf = new byte[Math.max(n, buf.length * 2)];
+            in.readFully(buf, 0, n);
+            return new String(buf, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+}
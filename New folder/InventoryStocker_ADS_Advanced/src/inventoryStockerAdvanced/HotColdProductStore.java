@@ -0,0 +1,531 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/*
+ ============================================================================
+ HOT/COLD SPLIT PRODUCT STORE
+ SKU lookups and stock updates only need the SKU and the quantity, so
+ those stay resident; names live in a file and are paged in through a
+ bounded LRU cache.
+
+   hot    1 MB heap pages of records: ushort skuLength (bit 15 set =
+          UTF-16, else Latin-1), SKU chars, int quantity, int nameRef;
+          an int[] open-addressing index of record address + 1 (load
+          <= 0.75, linear probing, backward-shift deletion)
+   cold   a temporary file of name records, ushort utf8Length + bytes;
+          nameRef is the record's file offset. Recently written names
+          are looked up before appending, so a catalog's repeated
+          names are stored once and share one cache entry
+   cache  LRU (access-ordered LinkedHashMap) nameRef -> name; a miss
+          is one positional read
+
+ find / quantityAt / setQuantityAt never touch the cold side, nor does
+ put() on an existing SKU: the name is compared through the cache and
+ recentRefs, and a rename rewrites nameRef in place. forEach() maps the cold file for
+ the scan instead of going through the cache, so a full scan does not
+ evict the working set. The file is scratch space, deleted on close:
+ durability stays with the write-ahead log and snapshots. Replaced
+ names are not reclaimed while the store lives. Not thread-safe;
+ copy() is a read-only view sharing the cold file.
+ ============================================================================
+*/
+final class HotColdProductStore implements ProductStore {
+
+    static final int DEFAULT_CACHE_NAMES = 1 << 14;
+    private static final int PAGE_SHIFT = 20;
+    private static final int PAGE_BYTES = 1 << PAGE_SHIFT;
+    private static final int MAX_PAGES = (Integer.MAX_VALUE >> PAGE_SHIFT) - 1;
+    private static final int UTF16 = 0x8000;
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int DEDUP_NAMES = 1 << 14;
+    private static final int READ_AHEAD = 256;
+
+    // hot side
+    private ByteBuffer[] pages = new ByteBuffer[4];
+    private int pageCount;
+    private int tail;        // write offset in the last page
+    private int[] table;
+    private int mask;
+    private int size;
+    private long liveBytes;
+    private long deadBytes;
+
+    // cold side
+    private final FileChannel cold;
+    private final boolean owner;
+    private final ByteBuffer pending = ByteBuffer.allocate(1 << 16);   // appended, not yet written
+    private final ByteBuffer readBuf = ByteBuffer.allocate(READ_AHEAD);
+    private long flushed;    // bytes written to the file
+    private final Lru<String, Integer> recentRefs = new Lru<>(DEDUP_NAMES);
+    private final Lru<Integer, String> cache;
+    private long hits, misses, coldReads;
+
+    HotColdProductStore(int expectedSize) throws IOException {
+        this(expectedSize, DEFAULT_CACHE_NAMES);
+    }
+
+    HotColdProductStore(int expectedSize, int cacheNames) throws IOException {
+        if (cacheNames < 1) throw new IllegalArgumentException("Name cache must hold at least one name");
+        Path file = Files.createTempFile("inventory-names", ".cold");
+        cold = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+        owner = true;
+        cache = new Lru<>(cacheNames);
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity * 3L / 4 < expectedSize) capacity <<= 1;
+        table = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private HotColdProductStore(HotColdProductStore from) {
+        cold = from.cold;
+        owner = false;
+        cache = new Lru<>(1);
+        pages = new ByteBuffer[from.pages.length];
+        for (int p = 0; p < from.pageCount; p++) {
+            pages[p] = ByteBuffer.allocate(PAGE_BYTES);
+            pages[p].put(0, from.pages[p], 0, PAGE_BYTES);
+        }
+        pageCount = from.pageCount;
+        tail = from.tail;
+        table = from.table.clone();
+        mask = from.mask;
+        size = from.size;
+        liveBytes = from.liveBytes;
+        deadBytes = from.deadBytes;
+        flushed = from.flushed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Heap held by the hot pages and index (the cache is reported separately). */
+    long residentBytes() {
+        return (long) pageCount * PAGE_BYTES + 4L * table.length;
+    }
+
+    long coldBytes() {
+        return flushed + pending.position();
+    }
+
+    double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? Double.NaN : hits / (double) lookups;
+    }
+
+    long hits() {
+        return hits;
+    }
+
+    long misses() {
+        return misses;
+    }
+
+    @Override
+    public String describe() {
+        return String.format("Hot/cold: %,d products | resident %,d KB (%.1f B/product) | cold names %,d KB%n" +
+                "Name cache: %,d / %,d names | hit rate %.1f%% (%,d hits, %,d misses, %,d file reads)",
+            size, residentBytes() >> 10, size == 0 ? 0.0 : residentBytes() / (double) size, coldBytes() >> 10,
+            cache.size(), cache.capacity, 100 * hitRate(), hits, misses, coldReads);
+    }
+
+    /* ============================================================
+       HOT ACCESS (SKU + QUANTITY ONLY)
+       ============================================================ */
+
+    /** Address of the record for sku, or -1. */
+    int find(String sku) {
+        for (int i = spread(sku.hashCode()) & mask; ; i = (i + 1) & mask) {
+            int ref = table[i];
+            if (ref == 0) return -1;
+            if (skuEquals(ref - 1, sku)) return ref - 1;
+        }
+    }
+
+    int quantityAt(int addr) {
+        return page(addr).getInt(quantityOffset(addr));
+    }
+
+    void setQuantityAt(int addr, int quantity) {
+        page(addr).putInt(quantityOffset(addr), quantity);
+    }
+
+    private int nameRefAt(int addr) {
+        return page(addr).getInt(quantityOffset(addr) + 4);
+    }
+
+    /* ============================================================
+       COLD ACCESS (NAMES THROUGH THE CACHE)
+       ============================================================ */
+
+    String nameAt(int addr) {
+        int ref = nameRefAt(addr);
+        String name = cache.get(ref);
+        if (name != null) {
+            hits++;
+            return name;
+        }
+        misses++;
+        name = readName(ref);
+        cache.put(ref, name);
+        return name;
+    }
+
+    @Override
+    public Product get(String sku) {
+        int addr = find(sku);
+        return addr < 0 ? null : new Product(sku, nameAt(addr), quantityAt(addr));
+    }
+
+    /* ============================================================
+       MUTATION
+       ============================================================ */
+
+    @Override
+    public boolean put(String sku, String name, int quantity) {
+        writable();
+        int i = spread(sku.hashCode()) & mask;
+        for (int ref; (ref = table[i]) != 0; i = (i + 1) & mask) {
+            int addr = ref - 1;
+            if (!skuEquals(addr, sku)) continue;
+            setQuantityAt(addr, quantity);
+            int stored = nameRefAt(addr);
+            // no cold read: an unchanged name that is neither cached nor recent is appended again
+            if (!name.equals(cache.get(stored))) {
+                int renamed = nameRef(name);
+                if (renamed != stored) page(addr).putInt(quantityOffset(addr) + 4, renamed);
+            }
+            return true;
+        }
+        table[i] = append(sku, nameRef(name), quantity) + 1;
+        if (++size > threshold()) rehash((mask + 1) << 1);
+        return false;
+    }
+
+    @Override
+    public boolean remove(String sku) {
+        writable();
+        int i = spread(sku.hashCode()) & mask;
+        for (int ref; ; i = (i + 1) & mask) {
+            ref = table[i];
+            if (ref == 0) return false;
+            if (skuEquals(ref - 1, sku)) {
+                deadBytes += recordBytes(ref - 1);
+                liveBytes -= recordBytes(ref - 1);
+                break;
+            }
+        }
+        // backward-shift: pull later entries of the probe chain into the gap
+        int gap = i;
+        for (int j = (gap + 1) & mask; ; j = (j + 1) & mask) {
+            int ref = table[j];
+            if (ref == 0) break;
+            int home = spread(hashAt(ref - 1)) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table[gap] = ref;
+                gap = j;
+            }
+        }
+        table[gap] = 0;
+        size--;
+        if (deadBytes > liveBytes && deadBytes > 4L * PAGE_BYTES) compact();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        writable();
+        Arrays.fill(pages, null);
+        pageCount = 0;
+        tail = 0;
+        table = new int[MIN_CAPACITY];
+        mask = MIN_CAPACITY - 1;
+        size = 0;
+        liveBytes = 0;
+        deadBytes = 0;
+        recentRefs.clear();
+        cache.clear();   // the file is kept: a copy may still be scanning its mapping
+    }
+
+    /** Visits every product; names are decoded from a mapping of the file, bypassing the cache. */
+    @Override
+    public void forEach(Consumer<Product> action) {
+        MappedByteBuffer names;
+        try {
+            if (owner) flush();
+            names = cold.map(FileChannel.MapMode.READ_ONLY, 0, flushed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (int ref : table) {
+            if (ref == 0) continue;
+            int addr = ref - 1;
+            ByteBuffer b = page(addr);
+            int q = quantityOffset(addr);
+            int nameRef = b.getInt(q + 4);
+            byte[] utf8 = new byte[names.getShort(nameRef) & 0xFFFF];
+            names.get(nameRef + 2, utf8);
+            action.accept(new Product(sku(addr), new String(utf8, StandardCharsets.UTF_8), b.getInt(q)));
+        }
+    }
+
+    /** Copies the hot side; the view reads names from this store's file, written up to now. */
+    @Override
+    public HotColdProductStore copy() {
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new HotColdProductStore(this);
+    }
+
+    @Override
+    public void close() {
+        if (!owner) return;
+        try {
+            cold.close();
+        } catch (IOException e) {
+            System.err.println("Closing cold name file: " + e);
+        }
+    }
+
+    private void writable() {
+        if (!owner) throw new UnsupportedOperationException("Read-only copy");
+    }
+
+    /* ============================================================
+       HOT RECORDS
+       ============================================================ */
+
+    private int append(String sku, int nameRef, int quantity) {
+        if (sku.length() >= UTF16) throw new IllegalArgumentException("SKU over 32767 chars: " + sku);
+        boolean latin1 = latin1(sku);
+        int bytes = 2 + sku.length() * (latin1 ? 1 : 2) + 8;
+        if (pageCount == 0 || tail + bytes > PAGE_BYTES) newPage();
+
+        ByteBuffer b = pages[pageCount - 1];
+        int p = tail;
+        b.putShort(p, (short) (sku.length() | (latin1 ? 0 : UTF16)));
+        p += 2;
+        for (int i = 0; i < sku.length(); i++) {
+            if (latin1) b.put(p++, (byte) sku.charAt(i));
+            else {
+                b.putChar(p, sku.charAt(i));
+                p += 2;
+            }
+        }
+        b.putInt(p, quantity).putInt(p + 4, nameRef);
+        int addr = ((pageCount - 1) << PAGE_SHIFT) + tail;
+        tail += bytes;
+        liveBytes += bytes;
+        return addr;
+    }
+
+    private boolean skuEquals(int addr, String sku) {
+        ByteBuffer b = page(addr);
+        int off = offset(addr);
+        int header = b.getShort(off) & 0xFFFF;
+        int len = header & ~UTF16;
+        if (len != sku.length()) return false;
+        boolean latin1 = (header & UTF16) == 0;
+        int p = off + 2;
+        for (int i = 0; i < len; i++) {
+            char c = latin1 ? (char) (b.get(p + i) & 0xFF) : b.getChar(p + 2 * i);
+            if (c != sku.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private String sku(int addr) {
+        ByteBuffer b = page(addr);
+        int off = offset(addr);
+        int header = b.getShort(off) & 0xFFFF;
+        char[] c = new char[header & ~UTF16];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = (header & UTF16) == 0 ? (char) (b.get(off + 2 + i) & 0xFF) : b.getChar(off + 2 + 2 * i);
+        }
+        return new String(c);
+    }
+
+    /** String.hashCode of the stored SKU, recomputed for rehash and deletion. */
+    private int hashAt(int addr) {
+        ByteBuffer b = page(addr);
+        int off = offset(addr);
+        int header = b.getShort(off) & 0xFFFF;
+        int len = header & ~UTF16;
+        int h = 0;
+        for (int i = 0; i < len; i++) {
+            h = 31 * h + ((header & UTF16) == 0 ? (b.get(off + 2 + i) & 0xFF) : b.getChar(off + 2 + 2 * i));
+        }
+        return h;
+    }
+
+    private int quantityOffset(int addr) {
+        int off = offset(addr);
+        int header = page(addr).getShort(off) & 0xFFFF;
+        return off + 2 + (header & ~UTF16) * ((header & UTF16) == 0 ? 1 : 2);
+    }
+
+    private int recordBytes(int addr) {
+        return quantityOffset(addr) + 8 - offset(addr);
+    }
+
+    /* ============================================================
+       COLD RECORDS
+       ============================================================ */
+
+    /** The file offset of a record holding name, appending one unless it was written recently. */
+    private int nameRef(String name) {
+        Integer known = recentRefs.get(name);
+        if (known != null) return known;
+        byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > 0xFFFF) throw new IllegalArgumentException("Name over 65535 bytes");
+        long ref = coldBytes();
+        if (ref + 2 + utf8.length > Integer.MAX_VALUE) throw new IllegalStateException("Cold name file over 2 GB");
+        try {
+            if (pending.remaining() < 2 + utf8.length) flush();
+            pending.putShort((short) utf8.length).put(utf8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        recentRefs.put(name, (int) ref);
+        return (int) ref;
+    }
+
+    private String readName(int ref) {
+        try {
+            if (ref >= flushed) flush();
+            coldReads++;
+            readBuf.clear().limit((int) Math.min(READ_AHEAD, flushed - ref));
+            readFully(readBuf, ref);
+            int len = readBuf.getShort(0) & 0xFFFF;
+            if (2 + len <= readBuf.limit()) return new String(readBuf.array(), 2, len, StandardCharsets.UTF_8);
+            ByteBuffer big = ByteBuffer.allocate(len);
+            coldReads++;
+            readFully(big, ref + 2);
+            return new String(big.array(), 0, len, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readFully(ByteBuffer b, long position) throws IOException {
+        while (b.hasRemaining()) {
+            int n = cold.read(b, position + b.position());
+            if (n < 0) throw new IOException("Cold name file truncated at " + position);
+        }
+    }
+
+    private void flush() throws IOException {
+        pending.flip();
+        while (pending.hasRemaining()) flushed += cold.write(pending, flushed);
+        pending.clear();
+    }
+
+    /* ============================================================
+       GROWTH + COMPACTION
+       ============================================================ */
+
+    private int threshold() {
+        return (int) ((mask + 1L) * 3 / 4);
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAX_CAPACITY) throw new IllegalStateException("Hot index full at " + size + " products");
+        int[] old = table;
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int ref : old) {
+            if (ref == 0) continue;
+            int j = spread(hashAt(ref - 1)) & mask;
+            while (table[j] != 0) j = (j + 1) & mask;
+            table[j] = ref;
+        }
+    }
+
+    /** Copies the live hot records into fresh pages and repoints the index. */
+    private void compact() {
+        ByteBuffer[] oldPages = pages;
+        pages = new ByteBuffer[4];
+        pageCount = 0;
+        tail = 0;
+        for (int i = 0; i <= mask; i++) {
+            int ref = table[i];
+            if (ref == 0) continue;
+            int addr = ref - 1;
+            ByteBuffer from = oldPages[addr >>> PAGE_SHIFT];
+            int off = offset(addr);
+            int header = from.getShort(off) & 0xFFFF;
+            int bytes = 2 + (header & ~UTF16) * ((header & UTF16) == 0 ? 1 : 2) + 8;
+            if (pageCount == 0 || tail + bytes > PAGE_BYTES) newPage();
+            pages[pageCount - 1].put(tail, from, off, bytes);
+            table[i] = ((pageCount - 1) << PAGE_SHIFT) + tail + 1;
+            tail += bytes;
+        }
+        deadBytes = 0;
+    }
+
+    private void newPage() {
+        if (pageCount == MAX_PAGES) throw new IllegalStateException("Hot pages full at " + size + " products");
+        if (pageCount == pages.length) pages = Arrays.copyOf(pages, pageCount * 2);
+        pages[pageCount++] = ByteBuffer.allocate(PAGE_BYTES);
+        tail = 0;
+    }
+
+    /* ============================================================
+       HELPERS
+       ============================================================ */
+
+    private ByteBuffer page(int addr) {
+        return pages[addr >>> PAGE_SHIFT];
+    }
+
+    private static int offset(int addr) {
+        return addr & (PAGE_BYTES - 1);
+    }
+
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) * 0x9E3779B1;
+    }
+
+    private static boolean latin1(String s) {
+        for (int i = 0; i < s.length(); i++) if (s.charAt(i) > 0xFF) return false;
+        return true;
+    }
+
+    /** Bounded, access-ordered map: the least recently used entry goes first. */
+    private static final class Lru<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        final int capacity;
+
+        Lru(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.Arrays;
+
+/*
+ ============================================================================
+ INT -> PRODUCT HASH MAP (OPEN ADDRESSING, LINEAR PROBING)
+ Backs the HashMap role in encoded-key mode. Keys live in a flat int[],
+ so there is no Node object, no boxed key and no String hash/equals
+ on the lookup path. Deletion uses backward-shift, so no tombstones.
+ ============================================================================
+*/
+final class IntProductMap {
+
+    private static final int FREE = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Product[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    IntProductMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    IntProductMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    Product get(int key) {
+        int i = slot(key);
+        while (true) {
+            int k = keys[i];
+            if (k == key) return values[i];
+            if (k == FREE) return null;
+            i = (i + 1) & mask;
+        }
+    }
+
+    /** Inserts or replaces; returns the previous product or null. */
+    Product put(int key, Product value) {
+        if (key < 0) throw new IllegalArgumentException("Negative key: " + key);
+
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                Product old = values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) rehash(keys.length << 1);
+        return null;
+    }
+
+    Product remove(int key) {
+        int i = slot(key);
+        while (keys[i] != key) {
+            if (keys[i] == FREE) return null;
+            i = (i + 1) & mask;
+        }
+
+        Product removed = values[i];
+        size--;
+
+        // Backward-shift: pull later cluster members into the gap when
+        // their home slot does not lie cyclically in (gap, j].
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int k = keys[j];
+            if (k == FREE) break;
+            int home = slot(k);
+            boolean movable = (j > gap)
+                ? (home <= gap || home > j)
+                : (home <= gap && home > j);
+            if (movable) {
+                keys[gap] = k;
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = FREE;
+        values[gap] = null;
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Product[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == FREE) continue;
+            int s = slot(oldKeys[i]);
+            while (keys[s] != FREE) s = (s + 1) & mask;
+            keys[s] = oldKeys[i];
+            values[s] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        values = new Product[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 2; // load factor 0.5
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int cap = MIN_CAPACITY;
+        while (cap / 2 < expectedSize) cap <<= 1;
+        return cap;
+    }
+}
@@ -0,0 +1,92 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ ============================================================================
+ SORTED INT INDEX
+ Backs the TreeMap role in encoded-key mode: two parallel arrays kept
+ in key order. Lookups are a binary search over a contiguous int[]
+ (O(log n), cache friendly); inserts/deletes shift with arraycopy.
+ Conformant SKUs number at most 26,000, so the shift cost stays small.
+ ============================================================================
+*/
+final class IntSortedProductIndex {
+
+    private int[] keys = new int[16];
+    private Product[] values = new Product[16];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    Product get(int key) {
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        return i >= 0 ? values[i] : null;
+    }
+
+    Product put(int key, Product value) {
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i >= 0) {
+            Product old = values[i];
+            values[i] = value;
+            return old;
+        }
+
+        int at = -(i + 1);
+        if (size == keys.length) {
+            int newCap = keys.length + (keys.length >> 1);
+            keys = Arrays.copyOf(keys, newCap);
+            values = Arrays.copyOf(values, newCap);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(values, at, values, at + 1, size - at);
+        keys[at] = key;
+        values[at] = value;
+        size++;
+        return null;
+    }
+
+    Product remove(int key) {
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i < 0) return null;
+
+        Product removed = values[i];
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        values[--size] = null;
+        return removed;
+    }
+
+    /** The i-th product in key order (0 <= i < size). */
+    Product valueAt(int i) {
+        return values[i];
+    }
+
+    /** Products with lo <= key <= hi, in key order. */
+    List<Product> range(int lo, int hi) {
+        List<Product> out = new ArrayList<>();
+        int from = lowerBound(lo);
+        for (int i = from; i < size && keys[i] <= hi; i++) out.add(values[i]);
+        return out;
+    }
+
+    void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    private int lowerBound(int key) {
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        return i >= 0 ? i : -(i + 1);
+    }
+}
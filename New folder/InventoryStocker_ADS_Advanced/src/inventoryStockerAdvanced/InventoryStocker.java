@@ -4,17 +4,31 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.FileWriter;
-import java.io.PrintWriter;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.axis.LogAxis;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 
 
 /*
@@ -56,6 +70,51 @@ public class InventoryStocker extends JFrame implements ActionListener {
     private final Map<String, Product> hashMap = new HashMap<>();
     private final TreeMap<String, Product> treeMap = new TreeMap<>();
 
+    // Names of indexed products are shared through this pool, so a
+    // catalog's repeated names cost one String each, not one per product.
+    private final NameInterner names = new NameInterner();
+
+    // Encoded-key mode: SKU_PATTERN SKUs are packed to ints (SkuCodec) and
+    // held in the int structures; hashMap/treeMap keep only fallback SKUs.
+    private boolean encodedKeyMode = false;
+    private final IntProductMap intHashMap = new IntProductMap();
+    private final IntSortedProductIndex intTreeMap = new IntSortedProductIndex();
+
+    // Every mutation is logged (and committed) before it is applied;
+    // null until recovery has replayed the log.
+    private static final String WAL_FILE = "inventory.wal";
+    private WriteAheadLog wal;
+
+    // Mapped base catalog (newest inventory.snapshot.<lsn>). The structures above hold
+    // what was touched since: lookups fall through to the snapshot and
+    // promote hits; the overlay tracks which entries the structures own.
+    // null once hydrated (every product copied into the structures).
+    private SnapshotOverlay snapshot;
+
+    // Compact storage modes: the whole catalog lives in an off-heap or a
+    // hot/cold store and the structures above stay empty; null when the
+    // catalog is on-heap. Only the storage boxes move it back; catalog-wide
+    // operations refuse meanwhile (requireOnHeap).
+    private ProductStore store;
+
+    // Log replay leaves replaced and deleted products in linearList and
+    // counts them here; recovery drops them in one pass (dropReplaced).
+    private int replayStale;
+
+    // Background checkpoints: a new snapshot every CHECKPOINT_RECORDS log
+    // records, after which the covered WAL segments are deleted.
+    private static final long CHECKPOINT_RECORDS = 100_000;
+    private long checkpointLsn;     // LSN the newest snapshot covers
+    private Thread checkpointer;    // EDT only; null when idle
+
+    // Change stream: every insert / update / delete / adjust / clear is
+    // published here once logged; the thread that owns the structures is
+    // the single producer. Two built-in consumers feed the stats view.
+    private static final int REORDER_LEVEL = 5;
+    private final StockEventStream events = new StockEventStream(StockEventStream.DEFAULT_CAPACITY);
+    private final StockEventStream.Dashboard dashboard = new StockEventStream.Dashboard();
+    private final StockEventStream.ReorderWatch reorderWatch = new StockEventStream.ReorderWatch(REORDER_LEVEL);
+
     /* ============================================================
        UI COMPONENTS
        ============================================================ */
@@ -65,6 +124,7 @@ public class InventoryStocker extends JFrame implements ActionListener {
 
     private JButton addButton;
     private JButton updateButton;
+    private JButton adjustButton;
 
     private JButton findHashButton;
     private JButton deleteButton;
@@ -73,16 +133,74 @@ public class InventoryStocker extends JFrame implements ActionListener {
 
     private JButton sortByNameButton;
     private JButton sortBySkuButton;
+    private JButton externalSortButton;
+    private JSpinner sortMemorySpinner;
+    private JComboBox<String> exportQueryBox;
+    private JButton exportResultsButton;
+
+    // Result panes list at most DISPLAY_ROWS rows; Export CSV streams
+    // the full result to a file instead.
+    private static final int DISPLAY_ROWS = 10_000;
+    private static final String EXPORT_ALL_BY_SKU = "All by SKU";
+    private static final String EXPORT_ALL_BY_NAME = "All by name";
+    private static final String EXPORT_NAME_SEARCH = "Name search";
+    private static final String EXPORT_SKU_RANGE = "SKU range";
 
     // PART 2 buttons (declared now, implemented later)
     private JButton benchmarkSearchButton;
     private JButton benchmarkSortButton;
     private JButton showSearchGraphButton;
     private JButton showSortGraphButton;
+    private JButton benchmarkNameSortButton;
+    private JCheckBox encodedKeysBox;
+    private JCheckBox jfrBox;
+    private JSpinner warmupSpinner;
+    private JSpinner iterationsSpinner;
+    private JButton searchScalingButton;
+    private JButton sortScalingButton;
+    private JSpinner scalingMaxSpinner;
+    private JSpinner regressionSpinner;
+    private JButton benchmarkMemoryButton;
+    private JButton showMemoryGraphButton;
+
+    private JSpinner catalogSizeSpinner;
+    private JSpinner conformantSpinner;
+    private JTextField seedField;
+    private JButton loadCatalogButton;
+    private JButton checkpointButton;
+    private JCheckBox offHeapBox;
+    private JCheckBox hotColdBox;
+    private JButton benchmarkStorageButton;
+
+    private JSpinner threadsSpinner;
+    private JTextField mixField;
+    private JSpinner pointSecondsSpinner;
+    private JButton benchmarkConcurrencyButton;
+    private JButton benchmarkWalButton;
+    private JButton eventStreamButton;
+    private JButton benchmarkEventsButton;
+
+    private JSpinner importThreadsSpinner;
+    private JSpinner importChunkSpinner;
+    private JButton importCsvButton;
+    private JSpinner compressionSpinner;
+    private JButton exportColumnarButton;
+    private JButton importColumnarButton;
 
     private JTextArea resultArea;
     private JTextArea analysisArea;
 
+    private JPanel controlsPanel;
+    private JLabel statusLabel;
+    private JProgressBar progressBar;
+    private JButton cancelButton;
+
+    /* ============================================================
+       BACKGROUND WORK (ONE TASK AT A TIME; CONTROLS LOCKED MEANWHILE)
+       ============================================================ */
+    private BackgroundTask<?> currentTask;
+    private final List<Component> lockedControls = new ArrayList<>();
+
     /* ============================================================
        VALIDATION
        ============================================================ */
@@ -91,17 +209,11 @@ public class InventoryStocker extends JFrame implements ActionListener {
     /* ============================================================
        BENCHMARK STORAGE (USED IN PART 2)
        ============================================================ */
-    private long linearSearchTime;
-    private long hashSearchTime;
-    private long binarySearchTime;
-    private long treeSearchTime;
-
-    private long bubbleSortTime;
-    private long insertionSortTime;
-    private long selectionSortTime;
-    private long mergeSortTime;
-    private long quickSortTime;
-    private long timSortTime;
+    private Map<String, BenchmarkResult> searchResults = Collections.emptyMap();
+    private Map<String, BenchmarkResult> sortResults = Collections.emptyMap();
+    private List<MemoryBenchmark.Row> memoryResults = Collections.emptyList();
+    private final BenchmarkHistory history =
+        new BenchmarkHistory(Paths.get(BenchmarkHistory.DEFAULT_FILE));
 
     /* ============================================================
        CONSTRUCTOR
@@ -114,7 +226,16 @@ public class InventoryStocker extends JFrame implements ActionListener {
         setLayout(new BorderLayout(10, 10));
 
         add(buildMainPanel());
-        preloadMockData();
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeLog();
+                events.close();
+            }
+        });
+        events.subscribe("dashboard", dashboard);
+        events.subscribe("reorder", reorderWatch);
+        recoverInventory();
 
         setVisible(true);
     }
@@ -135,9 +256,14 @@ public class InventoryStocker extends JFrame implements ActionListener {
         top.add(buildRangePanel());
         top.add(buildSortPanel());
         top.add(buildBenchmarkPanel()); // buttons only, logic later
+        top.add(buildSyntheticPanel());
+        top.add(buildConcurrencyPanel());
+        top.add(buildImportPanel());
 
+        controlsPanel = top;
         main.add(top, BorderLayout.NORTH);
         main.add(buildOutputPanel(), BorderLayout.CENTER);
+        main.add(buildStatusPanel(), BorderLayout.SOUTH);
 
         return main;
     }
@@ -161,20 +287,25 @@ public class InventoryStocker extends JFrame implements ActionListener {
 
         addButton = new JButton("Add Item");
         updateButton = new JButton("Update Item");
+        adjustButton = new JButton("Adjust Stock (±Qty)");
+        adjustButton.setToolTipText("Add Quantity to the stock of this SKU; negative takes stock out");
 
         addButton.setEnabled(false);
         updateButton.setEnabled(false);
+        adjustButton.setEnabled(false);
 
         addButton.addActionListener(this);
         updateButton.addActionListener(this);
+        adjustButton.addActionListener(this);
 
         skuField.getDocument().addDocumentListener(
             new SimpleDocumentListener(this::validateSkuLive)
         );
 
-        JPanel buttonPanel = new JPanel(new GridLayout(2, 1, 5, 5));
+        JPanel buttonPanel = new JPanel(new GridLayout(3, 1, 5, 5));
         buttonPanel.add(addButton);
         buttonPanel.add(updateButton);
+        buttonPanel.add(adjustButton);
 
         panel.add(grid, BorderLayout.CENTER);
         panel.add(buttonPanel, BorderLayout.EAST);
@@ -266,12 +397,25 @@ public class InventoryStocker extends JFrame implements ActionListener {
 
         sortByNameButton = new JButton("Show All (Sorted by Name)");
         sortBySkuButton = new JButton("Show All (Sorted by SKU)");
+        externalSortButton = new JButton("External Sort by SKU");
+        sortMemorySpinner = new JSpinner(new SpinnerNumberModel(
+            (int) (ExternalSorter.DEFAULT_MEMORY_BYTES >> 20), 1, 65536, 16));
+        exportQueryBox = new JComboBox<>(new String[] {
+            EXPORT_ALL_BY_SKU, EXPORT_ALL_BY_NAME, EXPORT_NAME_SEARCH, EXPORT_SKU_RANGE });
+        exportResultsButton = new JButton("Export CSV...");
 
         sortByNameButton.addActionListener(this);
         sortBySkuButton.addActionListener(this);
+        externalSortButton.addActionListener(this);
+        exportResultsButton.addActionListener(this);
 
         panel.add(sortByNameButton);
         panel.add(sortBySkuButton);
+        panel.add(externalSortButton);
+        panel.add(new JLabel("Run memory (MB):"));
+        panel.add(sortMemorySpinner);
+        panel.add(exportQueryBox);
+        panel.add(exportResultsButton);
 
         return panel;
     }
@@ -286,16 +430,186 @@ public class InventoryStocker extends JFrame implements ActionListener {
         benchmarkSortButton = new JButton("Benchmark Sorting");
         showSearchGraphButton = new JButton("Show Search Graph");
         showSortGraphButton = new JButton("Show Sort Graph");
+        benchmarkNameSortButton = new JButton("Benchmark Name Sort");
 
         benchmarkSearchButton.addActionListener(this);
         benchmarkSortButton.addActionListener(this);
         showSearchGraphButton.addActionListener(this);
         showSortGraphButton.addActionListener(this);
+        benchmarkNameSortButton.addActionListener(this);
+
+        searchScalingButton = new JButton("Search Scaling Curves");
+        sortScalingButton = new JButton("Sort Scaling Curves");
+        searchScalingButton.addActionListener(this);
+        sortScalingButton.addActionListener(this);
+        scalingMaxSpinner = new JSpinner(
+            new SpinnerNumberModel(64_000, 2_000, 10_000_000, 1_000));
+
+        benchmarkMemoryButton = new JButton("Benchmark Memory");
+        showMemoryGraphButton = new JButton("Show Memory Graph");
+        benchmarkMemoryButton.addActionListener(this);
+        showMemoryGraphButton.addActionListener(this);
+
+        encodedKeysBox = new JCheckBox("Encoded SKU Keys (int)");
+        encodedKeysBox.addActionListener(this);
+        jfrBox = new JCheckBox("JFR Recording");
+        jfrBox.setToolTipText("Record search/sort benchmarks to <suite>_benchmark.jfr");
+
+        BenchmarkHarness.Config defaults = BenchmarkHarness.Config.DEFAULT;
+        warmupSpinner = new JSpinner(
+            new SpinnerNumberModel(defaults.warmupIterations, 0, 100_000, 10));
+        iterationsSpinner = new JSpinner(
+            new SpinnerNumberModel(defaults.measuredIterations, 1, 1_000_000, 50));
+        regressionSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 1_000, 5));
+        regressionSpinner.setToolTipText(
+            "Flag cases slower than the previous run in " + BenchmarkHistory.DEFAULT_FILE + " by more than this");
 
         panel.add(benchmarkSearchButton);
         panel.add(benchmarkSortButton);
         panel.add(showSearchGraphButton);
         panel.add(showSortGraphButton);
+        panel.add(benchmarkNameSortButton);
+        panel.add(encodedKeysBox);
+        panel.add(jfrBox);
+        panel.add(new JLabel("Warm-up:"));
+        panel.add(warmupSpinner);
+        panel.add(new JLabel("Iterations:"));
+        panel.add(iterationsSpinner);
+        panel.add(searchScalingButton);
+        panel.add(sortScalingButton);
+        panel.add(new JLabel("Max n:"));
+        panel.add(scalingMaxSpinner);
+        panel.add(benchmarkMemoryButton);
+        panel.add(showMemoryGraphButton);
+        panel.add(new JLabel("Regression %:"));
+        panel.add(regressionSpinner);
+
+        return panel;
+    }
+
+    private JPanel buildSyntheticPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        panel.setBorder(
+            BorderFactory.createTitledBorder("7. Synthetic Catalog (Seeded)")
+        );
+
+        catalogSizeSpinner = new JSpinner(
+            new SpinnerNumberModel(10_000, 1_000, 10_000_000, 1_000));
+        conformantSpinner = new JSpinner(new SpinnerNumberModel(50, 0, 100, 10));
+        seedField = new JTextField("42", 6);
+        loadCatalogButton = new JButton("Load Synthetic Catalog");
+        loadCatalogButton.addActionListener(this);
+        checkpointButton = new JButton("Checkpoint Now");
+        checkpointButton.setToolTipText("Write " + ProductSnapshot.DEFAULT_FILE + ".<lsn> in the background and drop the "
+            + WAL_FILE + " segments it covers (also automatic every " + CHECKPOINT_RECORDS + " records)");
+        checkpointButton.addActionListener(this);
+        offHeapBox = new JCheckBox("Off-heap Storage");
+        offHeapBox.setToolTipText("Keep the catalog in direct buffers outside the GC heap");
+        offHeapBox.addActionListener(this);
+        hotColdBox = new JCheckBox("Hot/cold Names");
+        hotColdBox.setToolTipText("Keep SKU + quantity resident; page names from disk through an LRU cache");
+        hotColdBox.addActionListener(this);
+        benchmarkStorageButton = new JButton("Benchmark Storage");
+        benchmarkStorageButton.setToolTipText("Heap, GC and latency of each storage mode at the Products size");
+        benchmarkStorageButton.addActionListener(this);
+
+        panel.add(new JLabel("Products:"));
+        panel.add(catalogSizeSpinner);
+        panel.add(new JLabel("SKU_PATTERN %:"));
+        panel.add(conformantSpinner);
+        panel.add(new JLabel("Seed:"));
+        panel.add(seedField);
+        panel.add(loadCatalogButton);
+        panel.add(checkpointButton);
+        panel.add(offHeapBox);
+        panel.add(hotColdBox);
+        panel.add(benchmarkStorageButton);
+
+        return panel;
+    }
+
+    private JPanel buildConcurrencyPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        panel.setBorder(
+            BorderFactory.createTitledBorder("8. Concurrent Throughput (Mixed Workload)")
+        );
+
+        int cpus = Runtime.getRuntime().availableProcessors();
+        threadsSpinner = new JSpinner(new SpinnerNumberModel(Math.max(4, cpus), 1, 256, 1));
+        mixField = new JTextField("90/8/1/1", 8);
+        mixField.setToolTipText("reads / stock updates / deletes / range queries");
+        pointSecondsSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 60, 1));
+        benchmarkConcurrencyButton = new JButton("Benchmark Concurrency");
+        benchmarkConcurrencyButton.addActionListener(this);
+        benchmarkWalButton = new JButton("Benchmark WAL Commit");
+        benchmarkWalButton.addActionListener(this);
+        eventStreamButton = new JButton("Event Stream");
+        eventStreamButton.setToolTipText("Stock change stream: consumers, batches, lag, reorder alerts");
+        eventStreamButton.addActionListener(this);
+        benchmarkEventsButton = new JButton("Benchmark Events");
+        benchmarkEventsButton.addActionListener(this);
+
+        panel.add(new JLabel("Max threads:"));
+        panel.add(threadsSpinner);
+        panel.add(new JLabel("Mix R/W/D/Q %:"));
+        panel.add(mixField);
+        panel.add(new JLabel("Seconds per point:"));
+        panel.add(pointSecondsSpinner);
+        panel.add(benchmarkConcurrencyButton);
+        panel.add(benchmarkWalButton);
+        panel.add(eventStreamButton);
+        panel.add(benchmarkEventsButton);
+
+        return panel;
+    }
+
+    private JPanel buildImportPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        panel.setBorder(
+            BorderFactory.createTitledBorder("9. Supplier Feed (CSV Import) / Columnar Backup")
+        );
+
+        int cpus = Runtime.getRuntime().availableProcessors();
+        importThreadsSpinner = new JSpinner(new SpinnerNumberModel(cpus, 1, 256, 1));
+        importChunkSpinner = new JSpinner(
+            new SpinnerNumberModel(CsvImporter.DEFAULT_CHUNK_BYTES >> 20, 1, 1024, 1));
+        importCsvButton = new JButton("Import CSV Feed...");
+        importCsvButton.setToolTipText("SKU,Name,Quantity rows; existing SKUs are updated");
+        importCsvButton.addActionListener(this);
+        compressionSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 9, 1));
+        compressionSpinner.setToolTipText("Deflate level: 1 = fastest, 9 = smallest");
+        exportColumnarButton = new JButton("Export Columnar...");
+        exportColumnarButton.addActionListener(this);
+        importColumnarButton = new JButton("Restore Columnar...");
+        importColumnarButton.setToolTipText("Replaces the whole catalog");
+        importColumnarButton.addActionListener(this);
+
+        panel.add(new JLabel("Parser threads:"));
+        panel.add(importThreadsSpinner);
+        panel.add(new JLabel("Chunk MB:"));
+        panel.add(importChunkSpinner);
+        panel.add(importCsvButton);
+        panel.add(new JLabel("Level:"));
+        panel.add(compressionSpinner);
+        panel.add(exportColumnarButton);
+        panel.add(importColumnarButton);
+
+        return panel;
+    }
+
+    private JPanel buildStatusPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 0));
+
+        statusLabel = new JLabel("Ready");
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(this);
+
+        panel.add(statusLabel, BorderLayout.WEST);
+        panel.add(progressBar, BorderLayout.CENTER);
+        panel.add(cancelButton, BorderLayout.EAST);
 
         return panel;
     }
@@ -326,16 +640,18 @@ public class InventoryStocker extends JFrame implements ActionListener {
     private void validateSkuLive() {
         String sku = skuField.getText().trim();
         boolean valid = SKU_PATTERN.matcher(sku).matches();
-        boolean exists = hashMap.containsKey(sku);
+        boolean exists = hashLookup(sku) != null;
 
         if (valid) {
             skuField.setBackground(new Color(200, 255, 200));
             addButton.setEnabled(!exists);
             updateButton.setEnabled(exists);
+            adjustButton.setEnabled(exists);
         } else {
             skuField.setBackground(new Color(255, 200, 200));
             addButton.setEnabled(false);
             updateButton.setEnabled(false);
+            adjustButton.setEnabled(false);
         }
     }
 
@@ -352,16 +668,556 @@ public class InventoryStocker extends JFrame implements ActionListener {
 
     private void addMock(String sku, String name, int qty) {
         Product p = new Product(sku, name, qty);
-        hashMap.put(sku, p);
-        treeMap.put(sku, p);
+        indexProduct(p);
+        linearList.add(p);
+    }
+
+    /* ============================================================
+       DURABILITY (WRITE-AHEAD LOG)
+       ============================================================ */
+
+    /**
+     * Maps the newest inventory.snapshot generation (if any), deletes the
+     * older ones and replays the inventory.wal records after it; a first
+     * start seeds the mock data into the log.
+     */
+    private void recoverInventory() {
+        runInBackground("Recovering inventory", task -> {
+            long start = System.nanoTime();
+            Path snapshotBase = Paths.get(ProductSnapshot.DEFAULT_FILE);
+            Path snapshotFile = ProductSnapshot.newest(snapshotBase);
+            long afterLsn = 0;
+            if (snapshotFile != null) {
+                snapshot = new SnapshotOverlay(ProductSnapshot.open(snapshotFile));
+                afterLsn = snapshot.lsn();
+                ProductSnapshot.deleteOlder(snapshotBase, snapshotFile, null);   // nothing maps them yet
+            }
+            checkpointLsn = afterLsn;
+            long mapped = System.nanoTime() - start;
+
+            WriteAheadLog log;
+            try {
+                log = WriteAheadLog.open(
+                    Paths.get(WAL_FILE), WriteAheadLog.Sync.FSYNC, afterLsn, this::applyLogEntry);
+            } finally {
+                if (replayStale > 0) dropReplaced();
+                replayStale = 0;
+            }
+            if (snapshot == null && log.recovery().records == 0) {
+                preloadMockData();
+                long lsn = 0;
+                for (Product p : linearList) {
+                    lsn = log.put(p.sku, p.name, p.quantity);
+                    events.publish(StockEventStream.INSERT, lsn, p.sku, p.name, p.quantity, p.quantity);
+                }
+                log.commit(lsn);
+            }
+            wal = log;
+            return "RECOVERED FROM " + WAL_FILE + "\n" +
+                (snapshot == null ? "" : "Snapshot: " + snapshot.file() + ", " + snapshot.size() + " products mapped (LSN " +
+                    snapshot.lsn() + ") in " + mapped / 1_000 + " µs, loaded lazily\n") +
+                "Log: " + log.recovery() + "\n" +
+                "Products in memory: " + linearList.size() + " | " +
+                (System.nanoTime() - start) / 1_000_000 + " ms";
+        }, (String report) -> analysisArea.setText(report));
+    }
+
+    /** Replays one record; superseded products stay in linearList until recovery drops them. */
+    private void applyLogEntry(WriteAheadLog.Entry e) {
+        if (e.sku != null) hashLookup(e.sku);   // promote from the snapshot first
+        switch (e.type) {
+            case WriteAheadLog.Entry.PUT: {
+                Product p = new Product(e.sku, e.name, e.quantity);
+                Product old = indexProduct(p);
+                if (old != null) replayStale++;
+                linearList.add(p);
+                publishPut(e.lsn, p, old);
+                break;
+            }
+            case WriteAheadLog.Entry.DELETE: {
+                Product old = unindexProduct(e.sku);
+                if (old != null) {
+                    replayStale++;
+                    events.publish(StockEventStream.DELETE, e.lsn, e.sku, null, 0, -old.quantity);
+                }
+                break;
+            }
+            case WriteAheadLog.Entry.ADJUST: {
+                Product p = hashLookup(e.sku);
+                if (p != null) {
+                    p.quantity += e.quantity;
+                    events.publish(StockEventStream.ADJUST, e.lsn, p.sku, p.name, p.quantity, e.quantity);
+                }
+                break;
+            }
+            case WriteAheadLog.Entry.CLEAR:
+                dropSnapshot();
+                clearIndexes();
+                linearList.clear();
+                replayStale = 0;
+                events.publish(StockEventStream.CLEAR, e.lsn, null, null, 0, 0);
+                break;
+            default:
+                throw new IllegalStateException("Unknown WAL entry type " + e.type);
+        }
+    }
+
+    /** Publishes the insert of p, or its update when it replaced old. */
+    private void publishPut(long lsn, Product p, Product old) {
+        events.publish(old == null ? StockEventStream.INSERT : StockEventStream.UPDATE, lsn,
+            p.sku, p.name, p.quantity, p.quantity - (old == null ? 0 : old.quantity));
+    }
+
+    private WriteAheadLog log() throws IOException {
+        if (wal == null) throw new IOException("inventory log " + WAL_FILE + " is not open");
+        return wal;
+    }
+
+    /* ============================================================
+       SNAPSHOT (MAPPED BASE CATALOG, LAZY PROMOTION)
+       ============================================================ */
+
+    /** Snapshot fall-through for a lookup that missed the structures. */
+    private Product promote(String sku) {
+        Product p = snapshot == null ? null : snapshot.promote(sku);
+        if (p == null) return null;
+        indexProduct(p);
         linearList.add(p);
+        return p;
+    }
+
+    /** Copies the rest of the snapshot into the structures; resumable after a cancel. */
+    private void hydrate(BackgroundTask<?> task) {
+        if (snapshot == null) return;
+        int n = snapshot.size();
+        if (linearList instanceof ArrayList) ((ArrayList<Product>) linearList).ensureCapacity(n);
+        for (int i = 0; ; i++) {
+            if ((i & 0xFFFF) == 0) {
+                task.checkCancelled();
+                task.progress("Loading snapshot", snapshot.hydrated(), n);
+            }
+            Product p = snapshot.next();
+            if (p == null) break;
+            indexProduct(p);
+            linearList.add(p);
+        }
+        dropSnapshot();
+    }
+
+    /** Runs action once the whole catalog is in memory, hydrating in the background first. */
+    private void whenHydrated(Runnable action) {
+        if (!requireOnHeap()) return;
+        if (snapshot == null) {
+            action.run();
+            return;
+        }
+        runInBackground("Loading snapshot", task -> {
+            hydrate(task);
+            return linearList.size();
+        }, (Integer size) -> action.run());
+    }
+
+    private void dropSnapshot() {
+        if (snapshot == null) return;
+        try {
+            snapshot.close();
+        } catch (IOException e) {
+            System.err.println("Closing " + snapshot.file() + ": " + e);
+        }
+        snapshot = null;
+    }
+
+    /* ============================================================
+       COMPACT STORAGE MODES (OFF-HEAP / HOT-COLD)
+       ============================================================ */
+
+    /** Moves the whole catalog into target and empties the structures; a cancel keeps it on-heap. */
+    private void moveToStore(ProductStore target, BackgroundTask<?> task) {
+        hydrate(task);
+        int n = linearList.size();
+        int i = 0;
+        try {
+            for (Product p : linearList) {
+                target.put(p.sku, p.name, p.quantity);
+                if ((i++ & 0xFFFF) == 0) {
+                    task.checkCancelled();
+                    task.progress("Moving to compact storage", i, n);
+                }
+            }
+        } catch (RuntimeException e) {
+            target.close();
+            throw e;
+        }
+        clearIndexes();
+        linearList.clear();
+        if (linearList instanceof ArrayList) ((ArrayList<Product>) linearList).trimToSize();
+        store = target;
+    }
+
+    /** Materializes the stored catalog back into the structures; a cancel keeps it stored. */
+    private void moveOnHeap(BackgroundTask<?> task) {
+        ProductStore from = store;
+        if (from == null) return;
+        int n = from.size();
+        if (linearList instanceof ArrayList) ((ArrayList<Product>) linearList).ensureCapacity(n);
+        int[] i = { 0 };
+        try {
+            from.forEach(p -> {
+                indexProduct(p);
+                linearList.add(p);
+                if ((i[0]++ & 0xFFFF) == 0) {
+                    task.checkCancelled();
+                    task.progress("Moving on-heap", i[0], n);
+                }
+            });
+        } catch (CancellationException e) {
+            clearIndexes();
+            linearList.clear();
+            throw e;
+        }
+        store = null;
+        from.close();
+    }
+
+    /**
+     * Catalog-wide actions run on the structures, which are empty while a
+     * compact store holds the catalog. Only the storage boxes move it back.
+     */
+    private boolean requireOnHeap() {
+        if (store == null) return true;
+        JCheckBox box = store instanceof HotColdProductStore ? hotColdBox : offHeapBox;
+        showError("This needs the catalog on-heap. Untick \"" + box.getText() + "\" first.");
+        return false;
+    }
+
+    /** Switches to the mode of the box just clicked (the other box is cleared), or back on-heap. */
+    private void changeStorage(JCheckBox box) {
+        boolean on = box.isSelected();
+        boolean hotCold = box == hotColdBox;
+        String mode = hotCold ? "HOT/COLD STORAGE" : "OFF-HEAP STORAGE";
+        runInBackground(on ? "Moving catalog to " + box.getText() : "Moving catalog on-heap", task -> {
+            long[] before = heapAndFullGc();
+            moveOnHeap(task);
+            if (on) {
+                int n = linearList.size() + (snapshot == null ? 0 : snapshot.size() - snapshot.hydrated());
+                moveToStore(hotCold ? new HotColdProductStore(n) : new OffHeapProductStore(n), task);
+            }
+            long[] after = heapAndFullGc();
+            return mode + ": " + (on ? "ON" : "OFF") + "\n" +
+                (store != null ? store.describe() : "Products: " + linearList.size()) + "\n" +
+                "Live heap: " + (before[0] >> 20) + " MB → " + (after[0] >> 20) + " MB\n" +
+                "Full GC pause: " + before[1] + " ms → " + after[1] + " ms\n" +
+                (store == null ? "HashMap / TreeMap / Linear List restored"
+                    : hotCold ? "Lookups and stock updates stay in memory; names are read through the cache"
+                    : "Lookups decode one record; updates rewrite the quantity in place");
+        }, (String report) -> analysisArea.setText(report));
+    }
+
+    /** Live heap bytes and the duration of the full GC that measured them. */
+    private static long[] heapAndFullGc() {
+        long t = System.nanoTime();
+        System.gc();
+        long ms = (System.nanoTime() - t) / 1_000_000;
+        Runtime rt = Runtime.getRuntime();
+        return new long[] { rt.totalMemory() - rt.freeMemory(), ms };
+    }
+
+    /* ============================================================
+       CHECKPOINTS (BACKGROUND SNAPSHOT + LOG TRUNCATION)
+       ============================================================ */
+
+    /** Starts a checkpoint once enough records have been logged since the last one. */
+    private void maybeCheckpoint() {
+        if (wal != null && wal.lastLsn() - checkpointLsn >= CHECKPOINT_RECORDS) checkpoint(false);
+    }
+
+    /**
+     * Captures a consistent view on the EDT and writes it as a new
+     * inventory.snapshot.<lsn> on a low-priority thread, without locking the
+     * controls. Products are never mutated once recovery is done (an
+     * update indexes a new Product), so copying the references is a
+     * copy-on-write view at the current LSN: O(n) pointer copy, no
+     * Product copies. The unhydrated part of the mapped snapshot is
+     * immutable and merged in as is. The log rolls to a new segment at
+     * the same moment; the older segments and snapshot generations are
+     * deleted once the snapshot is in place (the mapped one is kept).
+     */
+    private void checkpoint(boolean requested) {
+        if (wal == null || currentTask != null || checkpointer != null) {
+            if (requested) showError("Checkpoint not started: " + (checkpointer != null
+                ? "one is already running" : "wait for the current task"));
+            return;
+        }
+        long start = System.nanoTime();
+        WriteAheadLog log = wal;
+        long lsn = log.lastLsn();
+        if (lsn <= checkpointLsn) {
+            if (requested) showError("Checkpoint not needed: the snapshot at LSN " + checkpointLsn + " is current.");
+            return;
+        }
+        Product[] live = linearList.toArray(new Product[0]);
+        ProductSnapshot base = snapshot == null ? null : snapshot.base();
+        Path mapped = base == null ? null : base.file();
+        int baseFrom = snapshot == null ? 0 : snapshot.hydrated();
+        Set<String> overridden = snapshot == null ? Collections.emptySet() : snapshot.shadowedCopy();
+        ProductStore storeView = store == null ? null : store.copy();   // copy of pages/slabs, no Products
+        log.roll();
+        long pause = System.nanoTime() - start;
+
+        checkpointer = new Thread(() -> {
+            String report;
+            boolean ok = false;
+            try {
+                long t = System.nanoTime();
+                Product[] current = live;
+                if (storeView != null) {
+                    List<Product> all = new ArrayList<>(storeView.size());
+                    storeView.forEach(all::add);
+                    current = all.toArray(new Product[0]);
+                }
+                List<Product> products = checkpointView(current, base, baseFrom, overridden);
+                Path snapshotBase = Paths.get(ProductSnapshot.DEFAULT_FILE);
+                Path file = ProductSnapshot.generation(snapshotBase, lsn);
+                ProductSnapshot.write(file, products, lsn);
+                int dropped = log.truncateThrough(lsn);
+                int oldSnapshots = ProductSnapshot.deleteOlder(snapshotBase, file, mapped);
+                ok = true;
+                report = "CHECKPOINT AT LSN " + lsn + ": " + file + "\n" +
+                    "Products: " + products.size() + " | " + Files.size(file) / 1024 + " KB | " +
+                    (System.nanoTime() - t) / 1_000_000 + " ms in the background\n" +
+                    "EDT pause to capture the view: " + pause / 1_000 + " µs\n" +
+                    "WAL segments deleted: " + dropped + " | older snapshots deleted: " + oldSnapshots +
+                    " | replay on restart starts after LSN " + lsn;
+            } catch (IOException | RuntimeException e) {
+                report = "CHECKPOINT FAILED: " + e;
+            }
+            String done = report;
+            boolean success = ok;
+            SwingUtilities.invokeLater(() -> {
+                checkpointer = null;
+                if (success) checkpointLsn = Math.max(checkpointLsn, lsn);
+                statusLabel.setText(success ? "Checkpoint at LSN " + lsn + ": done" : "Checkpoint failed");
+                if (requested || !success) analysisArea.setText(done);
+            });
+        }, "checkpoint");
+        checkpointer.setPriority(Thread.MIN_PRIORITY);
+        checkpointer.setDaemon(true);
+        statusLabel.setText("Checkpoint at LSN " + lsn + "...");
+        checkpointer.start();
+    }
+
+    /**
+     * The live products plus the snapshot entries from baseFrom on that
+     * were not promoted (those below baseFrom are already live), merged
+     * in SKU order; a live product wins over a snapshot entry.
+     */
+    private static List<Product> checkpointView(Product[] live, ProductSnapshot base, int baseFrom,
+                                                Set<String> overridden) {
+        Arrays.sort(live, SortKernels.BY_SKU);
+        if (base == null) return Arrays.asList(live);
+
+        List<Product> merged = new ArrayList<>(live.length + base.size() - baseFrom);
+        int i = 0;
+        for (int e = baseFrom; e < base.size(); e++) {
+            String sku = base.sku(e);
+            if (overridden.contains(sku)) continue;
+            while (i < live.length && live[i].sku.compareTo(sku) < 0) merged.add(live[i++]);
+            if (i < live.length && live[i].sku.equals(sku)) continue;
+            merged.add(base.product(e));
+        }
+        while (i < live.length) merged.add(live[i++]);
+        return merged;
+    }
+
+    private void closeLog() {
+        if (wal == null) return;
+        try {
+            wal.close();
+        } catch (IOException e) {
+            System.err.println("Closing " + WAL_FILE + ": " + e);
+        }
+        wal = null;
+    }
+
+    /* ============================================================
+       STORAGE CORE (HASH / TREE INDEXES)
+       In encoded-key mode conformant SKUs go to the int-keyed
+       structures; anything else falls back to the String maps.
+       Misses fall through to the snapshot while one is mapped.
+       ============================================================ */
+    private Product hashLookup(String sku) {
+        if (store != null) return store.get(sku);
+        Product p;
+        int code;
+        if (encodedKeyMode && (code = SkuCodec.encode(sku)) != SkuCodec.NO_CODE) p = intHashMap.get(code);
+        else p = hashMap.get(sku);
+        return p != null || snapshot == null ? p : promote(sku);
+    }
+
+    private Product treeLookup(String sku) {
+        if (store != null) return store.get(sku);
+        Product p;
+        int code;
+        if (encodedKeyMode && (code = SkuCodec.encode(sku)) != SkuCodec.NO_CODE) p = intTreeMap.get(code);
+        else p = treeMap.get(sku);
+        return p != null || snapshot == null ? p : promote(sku);
+    }
+
+    /** Products in the structures or the compact store (not counting an unhydrated snapshot). */
+    private int productCount() {
+        return store != null ? store.size() : linearList.size();
+    }
+
+    /** Puts p into the hash and tree indexes, pooling its name; returns the replaced product. */
+    private Product indexProduct(Product p) {
+        p.name = names.intern(p.name);   // an equal String: safe under a running checkpoint
+        if (encodedKeyMode) {
+            int code = SkuCodec.encode(p.sku);
+            if (code != SkuCodec.NO_CODE) {
+                intTreeMap.put(code, p);
+                return intHashMap.put(code, p);
+            }
+        }
+        treeMap.put(p.sku, p);
+        return hashMap.put(p.sku, p);
+    }
+
+    private Product unindexProduct(String sku) {
+        if (encodedKeyMode) {
+            int code = SkuCodec.encode(sku);
+            if (code != SkuCodec.NO_CODE) {
+                intTreeMap.remove(code);
+                return intHashMap.remove(code);
+            }
+        }
+        treeMap.remove(sku);
+        return hashMap.remove(sku);
+    }
+
+    private void clearIndexes() {
+        hashMap.clear();
+        treeMap.clear();
+        intHashMap.clear();
+        intTreeMap.clear();
+    }
+
+    private void rebuildIndexes() {
+        clearIndexes();
+        for (Product p : linearList) indexProduct(p);
+    }
+
+    /**
+     * Replaces the whole catalog (SKUs must be unique). Runs on a
+     * background task with the controls locked; a cancel leaves the
+     * products loaded so far (and logged). The log is committed once,
+     * at the end.
+     */
+    private void loadCatalog(WorkloadGenerator.Catalog c, BackgroundTask<?> task) throws IOException {
+        WriteAheadLog log = log();
+        long lsn = log.clear();
+        events.publish(StockEventStream.CLEAR, lsn, null, null, 0, 0);
+        dropSnapshot();
+        clearIndexes();
+        linearList.clear();
+        names.clear();
+        if (store != null) store.clear();
+        else if (linearList instanceof ArrayList) ((ArrayList<Product>) linearList).ensureCapacity(c.size());
+
+        for (int i = 0; i < c.size(); i++) {
+            lsn = log.put(c.skus[i], c.names[i], c.quantities[i]);
+            events.publish(StockEventStream.INSERT, lsn, c.skus[i], c.names[i], c.quantities[i], c.quantities[i]);
+            if (store != null) {
+                store.put(c.skus[i], c.names[i], c.quantities[i]);
+            } else {
+                Product p = new Product(c.skus[i], c.names[i], c.quantities[i]);
+                indexProduct(p);
+                linearList.add(p);
+            }
+            if ((i & 0xFFFF) == 0) {
+                task.checkCancelled();
+                task.progress("Indexing", i, c.size());
+            }
+        }
+        task.progress("Committing log", 0, 0);
+        log.commit(lsn);
+    }
+
+    /**
+     * Bulk-load path for CsvImporter: upserts a parsed chunk, logging
+     * each product. Replaced products stay in linearList until
+     * dropReplaced(), one O(n) pass instead of a removeIf per update.
+     * A compact store takes the chunk in place.
+     */
+    private int importChunk(CsvImporter.Chunk chunk, WriteAheadLog log, long[] lsn) throws IOException {
+        int replaced = 0;
+        for (Product p : chunk.products.values()) {
+            lsn[0] = log.put(p.sku, p.name, p.quantity);
+            if (store != null) {
+                Product old = store.get(p.sku);
+                store.put(p.sku, p.name, p.quantity);
+                if (old != null) replaced++;
+                publishPut(lsn[0], p, old);
+                continue;
+            }
+            Product old = indexProduct(p);
+            if (old != null) replaced++;
+            linearList.add(p);
+            publishPut(lsn[0], p, old);
+        }
+        return replaced;
+    }
+
+    private void dropReplaced() {
+        linearList.removeIf(p -> hashLookup(p.sku) != p);
+    }
+
+    private void toggleEncodedKeys() {
+        encodedKeyMode = encodedKeysBox.isSelected();
+        rebuildIndexes();
+
+        if (!encodedKeyMode) {
+            analysisArea.setText(
+                "ENCODED SKU KEYS: OFF\n" +
+                "HashMap<String, Product> / TreeMap<String, Product> restored."
+            );
+            return;
+        }
+
+        analysisArea.setText(
+            "ENCODED SKU KEYS: ON\n" +
+            "SKU 'L-ddd' → int (letter * 1000 + digits), parsed once per call\n" +
+            "Int-keyed SKUs: " + intHashMap.size() +
+            " | Fallback String SKUs: " + hashMap.size() + "\n" +
+            "Hash: open addressing int[] → ~" +
+            bytesPerEntry(intHashMap.capacity(), intHashMap.size()) +
+            " B/SKU" + measuredBytesPerEntry("HashMap") + "\n" +
+            "Tree: sorted int[] + binary search → ~" +
+            bytesPerEntry(intTreeMap.capacity(), intTreeMap.size()) +
+            " B/SKU" + measuredBytesPerEntry("TreeMap") +
+            (memoryResults.isEmpty() ? "\nRun Benchmark Memory to compare with HashMap / TreeMap" : "")
+        );
+    }
+
+    /** Retained bytes per entry of structure at the largest n of the last memory benchmark, or "". */
+    private String measuredBytesPerEntry(String structure) {
+        MemoryBenchmark.Row largest = null;
+        for (MemoryBenchmark.Row r : memoryResults) {
+            if (r.structure.equals(structure) && (largest == null || r.n > largest.n)) largest = r;
+        }
+        return largest == null ? "" : String.format(Locale.ROOT, " (%s: %.1f B/SKU measured at n=%,d)",
+            structure, largest.retainedPerEntry, largest.n);
+    }
+
+    // int key + compressed Product reference per slot
+    private static long bytesPerEntry(int capacity, int size) {
+        return size == 0 ? 0 : Math.round(capacity * 8.0 / size);
     }
 
     /* ============================================================
        ADD / UPDATE CORE
        ============================================================ */
     private void addProduct() {
-        if (hashMap.containsKey(skuField.getText().trim())) {
+        if (hashLookup(skuField.getText().trim()) != null) {
             showError("SKU already exists. Use Update.");
             return;
         }
@@ -369,7 +1225,7 @@ public class InventoryStocker extends JFrame implements ActionListener {
     }
 
     private void updateProduct() {
-        if (!hashMap.containsKey(skuField.getText().trim())) {
+        if (hashLookup(skuField.getText().trim()) == null) {
             showError("SKU does not exist. Use Add.");
             return;
         }
@@ -393,12 +1249,30 @@ public class InventoryStocker extends JFrame implements ActionListener {
             return;
         }
 
+        long lsn;
+        try {
+            lsn = log().put(sku, name, qty);
+            log().commit(lsn);
+        } catch (IOException e) {
+            showError("Not saved, inventory log failed: " + e.getMessage());
+            return;
+        }
+
         Product p = new Product(sku, name, qty);
+        Product old;
 
-        hashMap.put(sku, p);
-        treeMap.put(sku, p);
-        linearList.removeIf(x -> x.sku.equals(sku));
-        linearList.add(p);
+        if (store != null) {
+            old = store.get(sku);
+            store.put(sku, name, qty);
+        } else {
+            old = indexProduct(p);
+            if (old != null) {
+                linearList.removeIf(x -> x.sku.equals(sku));
+            }
+            linearList.add(p);
+        }
+        publishPut(lsn, p, old);
+        maybeCheckpoint();
 
         resultArea.setForeground(new Color(0, 102, 0));
         resultArea.setText("Item saved:\n" + p);
@@ -416,6 +1290,59 @@ public class InventoryStocker extends JFrame implements ActionListener {
         skuField.setBackground(Color.WHITE);
         addButton.setEnabled(false);
         updateButton.setEnabled(false);
+        adjustButton.setEnabled(false);
+    }
+
+    /** Adds the Quantity field to the stock of an existing SKU, logged as one ADJUST record. */
+    private void adjustStock() {
+        String sku = skuField.getText().trim();
+        Product old = hashLookup(sku);
+        if (old == null) {
+            showError("SKU does not exist. Use Add.");
+            return;
+        }
+
+        int delta;
+        try {
+            delta = Integer.parseInt(qtyField.getText().trim());
+        } catch (NumberFormatException e) {
+            showError("Quantity must be numeric (negative to take stock out).");
+            return;
+        }
+        long qty = (long) old.quantity + delta;
+        if (qty != (int) qty) {
+            showError("Stock would overflow: " + old.quantity + " + " + delta);
+            return;
+        }
+
+        long lsn;
+        try {
+            lsn = log().adjust(sku, delta);
+            log().commit(lsn);
+        } catch (IOException e) {
+            showError("Not adjusted, inventory log failed: " + e.getMessage());
+            return;
+        }
+
+        // a new Product, as in saveProduct: a running checkpoint may still hold the old one
+        Product p = new Product(sku, old.name, (int) qty);
+        if (store != null) {
+            store.put(sku, p.name, p.quantity);
+        } else {
+            indexProduct(p);
+            linearList.removeIf(x -> x.sku.equals(sku));
+            linearList.add(p);
+        }
+        events.publish(StockEventStream.ADJUST, lsn, sku, p.name, p.quantity, delta);
+        maybeCheckpoint();
+
+        resultArea.setForeground(new Color(0, 102, 0));
+        resultArea.setText("Stock adjusted by " + (delta > 0 ? "+" : "") + delta + ":\n" + p);
+        analysisArea.setText(
+            "Logged as ADJUST " + sku + " " + delta + " (LSN " + lsn + ")\n" +
+            "Replay adds the delta to the recovered quantity"
+        );
+        qtyField.setText("");
     }
 
     private void showError(String msg) {
@@ -453,12 +1380,18 @@ public class InventoryStocker extends JFrame implements ActionListener {
 
      Object src = e.getSource();
 
-     if (src == addButton) {
+     if (src == cancelButton) {
+         cancelTask();
+     }
+     else if (src == addButton) {
          addProduct();
      }
      else if (src == updateButton) {
          updateProduct();
      }
+     else if (src == adjustButton) {
+         adjustStock();
+     }
      else if (src == findHashButton) {
          performHashSearch();
      }
@@ -466,22 +1399,28 @@ public class InventoryStocker extends JFrame implements ActionListener {
          performDelete();
      }
      else if (src == findLinearButton) {
-         performLinearSearch();
+         whenHydrated(this::performLinearSearch);
      }
      else if (src == findRangeButton) {
-         performSkuRangeSearch();
+         whenHydrated(this::performSkuRangeSearch);
      }
      else if (src == sortByNameButton) {
-         showAllSortedByName();
+         whenHydrated(this::showAllSortedByName);
      }
      else if (src == sortBySkuButton) {
-         showAllSortedBySku();
+         whenHydrated(this::showAllSortedBySku);
+     }
+     else if (src == externalSortButton) {
+         whenHydrated(this::showAllSortedBySkuExternal);
+     }
+     else if (src == exportResultsButton) {
+         whenHydrated(this::exportResults);
      }
      else if (src == benchmarkSearchButton) {
-         benchmarkSearching();
+         whenHydrated(this::benchmarkSearching);
      }
      else if (src == benchmarkSortButton) {
-         benchmarkSorting();
+         whenHydrated(this::benchmarkSorting);
      }
      else if (src == showSearchGraphButton) {
          showSearchGraph();
@@ -489,6 +1428,57 @@ public class InventoryStocker extends JFrame implements ActionListener {
      else if (src == showSortGraphButton) {
          showSortGraph();
      }
+     else if (src == benchmarkNameSortButton) {
+         whenHydrated(this::benchmarkNameSort);
+     }
+     else if (src == searchScalingButton) {
+         benchmarkScaling(false);
+     }
+     else if (src == sortScalingButton) {
+         benchmarkScaling(true);
+     }
+     else if (src == benchmarkMemoryButton) {
+         benchmarkMemory();
+     }
+     else if (src == showMemoryGraphButton) {
+         showMemoryGraph();
+     }
+     else if (src == benchmarkConcurrencyButton) {
+         whenHydrated(this::benchmarkConcurrency);
+     }
+     else if (src == benchmarkWalButton) {
+         benchmarkWal();
+     }
+     else if (src == eventStreamButton) {
+         showEventStream();
+     }
+     else if (src == benchmarkEventsButton) {
+         benchmarkEvents();
+     }
+     else if (src == loadCatalogButton) {
+         loadSyntheticCatalog();
+     }
+     else if (src == checkpointButton) {
+         checkpoint(true);
+     }
+     else if (src == importCsvButton) {
+         importCsvFeed();
+     }
+     else if (src == exportColumnarButton) {
+         exportColumnar();
+     }
+     else if (src == importColumnarButton) {
+         restoreColumnar();
+     }
+     else if (src == encodedKeysBox) {
+         toggleEncodedKeys();
+     }
+     else if (src == offHeapBox || src == hotColdBox) {
+         changeStorage((JCheckBox) src);
+     }
+     else if (src == benchmarkStorageButton) {
+         benchmarkStorage();
+     }
  }
 
  /* ============================================================
@@ -503,7 +1493,7 @@ public class InventoryStocker extends JFrame implements ActionListener {
      }
 
      long start = System.nanoTime();
-     Product p = hashMap.get(sku);
+     Product p = hashLookup(sku);
      long end = System.nanoTime();
 
      if (p != null) {
@@ -514,9 +1504,10 @@ public class InventoryStocker extends JFrame implements ActionListener {
      }
 
      analysisArea.setText(
-         "HASH SEARCH\n" +
+         "HASH SEARCH" + (encodedKeyMode ? " (encoded int key)" : "") + "\n" +
          "Time: " + (end - start) + " ns\n" +
-         "Complexity: O(1) average"
+         "Complexity: O(1) average" +
+         (store != null ? "\n" + store.describe() : "")
      );
  }
 
@@ -542,7 +1533,8 @@ public class InventoryStocker extends JFrame implements ActionListener {
      }
 
      StringBuilder sb = new StringBuilder("FOUND:\n");
-     for (Product p : results) sb.append(p).append("\n");
+     for (Product p : results.subList(0, Math.min(results.size(), DISPLAY_ROWS))) sb.append(p).append("\n");
+     sb.append(moreRows(results.size()));
 
      resultArea.setForeground(new Color(0, 102, 0));
      resultArea.setText(sb.toString());
@@ -583,7 +1575,8 @@ public class InventoryStocker extends JFrame implements ActionListener {
      results.sort(Comparator.comparing(a -> a.sku));
 
      StringBuilder sb = new StringBuilder("FOUND IN RANGE:\n");
-     for (Product p : results) sb.append(p).append("\n");
+     for (Product p : results.subList(0, Math.min(results.size(), DISPLAY_ROWS))) sb.append(p).append("\n");
+     sb.append(moreRows(results.size()));
 
      resultArea.setForeground(new Color(0, 102, 0));
      resultArea.setText(sb.toString());
@@ -603,9 +1596,24 @@ public class InventoryStocker extends JFrame implements ActionListener {
          return;
      }
 
-     Product removed = hashMap.remove(sku);
-     treeMap.remove(sku);
-     linearList.removeIf(p -> p.sku.equals(sku));
+     Product found = hashLookup(sku);
+     long lsn = 0;
+     if (found != null) {
+         try {
+             lsn = log().delete(sku);
+             log().commit(lsn);
+         } catch (IOException e) {
+             showError("Not deleted, inventory log failed: " + e.getMessage());
+             return;
+         }
+     }
+
+     Product removed = store == null ? unindexProduct(sku) : store.remove(sku) ? found : null;
+     if (removed != null) {
+         linearList.removeIf(p -> p.sku.equals(sku));
+         events.publish(StockEventStream.DELETE, lsn, sku, null, 0, -removed.quantity);
+         maybeCheckpoint();
+     }
 
      if (removed != null) {
          resultArea.setForeground(new Color(0, 102, 0));
@@ -615,40 +1623,332 @@ public class InventoryStocker extends JFrame implements ActionListener {
      }
  }
 
+ /* ============================================================
+    SYNTHETIC CATALOG
+    ============================================================ */
+
+ private void loadSyntheticCatalog() {
+     long seed;
+     try {
+         seed = Long.parseLong(seedField.getText().trim());
+     } catch (NumberFormatException e) {
+         showError("Seed must be numeric.");
+         return;
+     }
+
+     int size = ((Number) catalogSizeSpinner.getValue()).intValue();
+     double share = ((Number) conformantSpinner.getValue()).intValue() / 100.0;
+
+     runInBackground("Loading catalog", task -> {
+         long start = System.nanoTime();
+         task.progress("Generating " + size + " products", 0, 0);
+         WorkloadGenerator.Catalog c = WorkloadGenerator.catalog(size, share, seed);
+         task.checkCancelled();
+         loadCatalog(c, task);
+
+         int conformant = 0;
+         for (String sku : c.skus) if (SkuCodec.encode(sku) != SkuCodec.NO_CODE) conformant++;
+
+         return "SYNTHETIC CATALOG\n" +
+             "Products: " + size + "\n" +
+             "SKU_PATTERN SKUs: " + conformant + " (max " + SkuCodec.CARDINALITY + ")\n" +
+             "Free-form SKUs: " + (size - conformant) + "\n" +
+             "Names: Zipf-skewed brand/product/variant | Stock: Pareto 80/20\n" +
+             (store != null ? store.describe() : "Name pool: " + names) + "\n" +
+             "Generate + load: " + (System.nanoTime() - start) / 1_000_000 + " ms";
+     }, (String analysis) -> {
+         resultArea.setForeground(new Color(0, 102, 0));
+         resultArea.setText("Synthetic catalog loaded: " + size + " products (seed " + seed + ")");
+         analysisArea.setText(analysis);
+     });
+ }
+
+ /* ============================================================
+    CSV IMPORT (SUPPLIER FEEDS)
+    ============================================================ */
+
+ private void importCsvFeed() {
+     JFileChooser chooser = new JFileChooser(".");
+     chooser.setDialogTitle("Import supplier stock feed (CSV)");
+     if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+     Path file = chooser.getSelectedFile().toPath();
+     int threads = ((Number) importThreadsSpinner.getValue()).intValue();
+     int chunkBytes = ((Number) importChunkSpinner.getValue()).intValue() << 20;
+     runInBackground("Importing " + file.getFileName(), task -> {
+         hydrate(task);
+         WriteAheadLog log = log();
+         int before = productCount();
+         long[] lsn = { log.lastLsn() };
+         int[] replaced = new int[1];
+         CsvImporter.Result r;
+         try {
+             // SkuCodec.encode accepts exactly SKU_PATTERN, without a regex per row
+             r = CsvImporter.run(file, sku -> SkuCodec.encode(sku) != SkuCodec.NO_CODE, threads, chunkBytes,
+                 chunk -> replaced[0] += importChunk(chunk, log, lsn), task::progress);
+         } finally {
+             if (replaced[0] > 0) dropReplaced();
+         }
+         task.progress("Committing log", 0, 0);
+         log.commit(lsn[0]);
+
+         return "CSV IMPORT: " + file.getFileName() + "\n" + r + "\n" +
+             "Products: " + before + " -> " + productCount() +
+             " (" + (productCount() - before) + " new, " + replaced[0] + " updated)";
+     }, (String report) -> {
+         resultArea.setForeground(new Color(0, 102, 0));
+         resultArea.setText("Imported " + file);
+         analysisArea.setText(report);
+     });
+ }
+
+ /* ============================================================
+    COLUMNAR BACKUP (EXPORT / RESTORE)
+    ============================================================ */
+
+ private void exportColumnar() {
+     JFileChooser chooser = new JFileChooser(".");
+     chooser.setDialogTitle("Export catalog (columnar)");
+     chooser.setSelectedFile(new File("catalog" + ColumnarCatalog.EXTENSION));
+     if (!requireOnHeap() || chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+     Path file = chooser.getSelectedFile().toPath();
+     int level = ((Number) compressionSpinner.getValue()).intValue();
+     runInBackground("Exporting " + file.getFileName(), task -> {
+         hydrate(task);
+         return "COLUMNAR EXPORT: " + file + "\n" +
+             "SKU front-coded | names dictionary-encoded | quantities bit-packed | deflate level " + level + "\n" +
+             ColumnarCatalog.write(file, linearList, level, task::progress);
+     }, (String report) -> {
+         resultArea.setForeground(new Color(0, 102, 0));
+         resultArea.setText("Exported " + linearList.size() + " products to " + file);
+         analysisArea.setText(report);
+     });
+ }
+
+ private void restoreColumnar() {
+     JFileChooser chooser = new JFileChooser(".");
+     chooser.setDialogTitle("Restore catalog (columnar)");
+     if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+     Path file = chooser.getSelectedFile().toPath();
+     runInBackground("Restoring " + file.getFileName(), task -> {
+         long start = System.nanoTime();
+         WorkloadGenerator.Catalog c = ColumnarCatalog.read(file, task::progress);
+         long read = System.nanoTime() - start;
+         task.checkCancelled();
+         loadCatalog(c, task);
+         return "COLUMNAR RESTORE: " + file + "\n" +
+             "Products: " + c.size() + " | " + Files.size(file) / 1024 + " KB\n" +
+             "Decode: " + read / 1_000_000 + " ms | decode + load + log: " +
+             (System.nanoTime() - start) / 1_000_000 + " ms";
+     }, (String report) -> {
+         resultArea.setForeground(new Color(0, 102, 0));
+         resultArea.setText("Restored " + linearList.size() + " products from " + file);
+         analysisArea.setText(report);
+     });
+ }
+
  /* ============================================================
     SORT DISPLAY
     ============================================================ */
 
  private void showAllSortedByName() {
-     linearList.sort(Comparator.comparing(p -> p.name.toLowerCase()));
+     runInBackground("Sorting by name", task -> {
+         NameSortKeys.sortByName(linearList);
+         return listing("ALL ITEMS (SORTED BY NAME):\n", task);
+     }, (String listing) -> {
+         resultArea.setForeground(new Color(0, 102, 0));
+         resultArea.setText(listing);
+
+         analysisArea.setText(
+             "SORT BY NAME\n" +
+             "Algorithm: TimSort on precomputed keys (decorate-sort-undecorate)\n" +
+             "Case folds: " + linearList.size() + " (once per product)\n" +
+             "Complexity: O(n log n)"
+         );
+     });
+ }
 
-     StringBuilder sb = new StringBuilder("ALL ITEMS (SORTED BY NAME):\n");
-     for (Product p : linearList) sb.append(p).append("\n");
+ private void showAllSortedBySku() {
+     AdaptiveSorter.Decision[] decision = new AdaptiveSorter.Decision[1];
+     runInBackground("Sorting by SKU", task -> {
+         Product[] arr = linearList.toArray(new Product[0]);
+         decision[0] = AdaptiveSorter.sort(arr);
+         for (int i = 0; i < arr.length; i++) linearList.set(i, arr[i]);
+         return listing("ALL ITEMS (SORTED BY SKU):\n", task);
+     }, (String listing) -> {
+         resultArea.setForeground(new Color(0, 102, 0));
+         resultArea.setText(listing);
 
-     resultArea.setForeground(new Color(0, 102, 0));
-     resultArea.setText(sb.toString());
+         analysisArea.setText(
+             "SORT BY SKU (ADAPTIVE)\n" +
+             decision[0]
+         );
+     });
+ }
 
-     analysisArea.setText(
-         "SORT BY NAME\n" +
-         "Algorithm: TimSort\n" +
-         "Complexity: O(n log n)"
-     );
+ private String listing(String title, BackgroundTask<?> task) {
+     StringBuilder sb = new StringBuilder(title);
+     int i = 0;
+     for (Product p : linearList) {
+         if (i == DISPLAY_ROWS) break;
+         sb.append(p).append("\n");
+         if ((++i & 0xFFFF) == 0) {
+             task.checkCancelled();
+             task.progress("Formatting", i, linearList.size());
+         }
+     }
+     return sb.append(moreRows(linearList.size())).toString();
  }
 
- private void showAllSortedBySku() {
-     linearList.sort(Comparator.comparing(p -> p.sku));
+ private static String moreRows(int total) {
+     return total <= DISPLAY_ROWS ? "" :
+         String.format("... %,d more (Export CSV for the full result)%n", total - DISPLAY_ROWS);
+ }
 
-     StringBuilder sb = new StringBuilder("ALL ITEMS (SORTED BY SKU):\n");
-     for (Product p : linearList) sb.append(p).append("\n");
+ // Streams the catalog through bounded-memory sorted runs on disk.
+ private void showAllSortedBySkuExternal() {
+     long budget = ((Number) sortMemorySpinner.getValue()).longValue() << 20;
+
+     StringBuilder sb = new StringBuilder("ALL ITEMS (EXTERNAL SORT BY SKU):\n");
+     int[] runs = new int[1];
+     long[] elapsed = new long[1];
+     runInBackground("External sort", task -> {
+         long start = System.nanoTime();
+         task.progress("Spilling sorted runs", 0, 0);
+         try (ExternalSorter.Result sorted =
+                  new ExternalSorter(budget, SortKernels.BY_SKU).sort(linearList.iterator())) {
+             int n = linearList.size();
+             for (int i = 1; sorted.hasNext(); i++) {
+                 Product p = sorted.next();
+                 if (i <= DISPLAY_ROWS) sb.append(p).append("\n");
+                 if ((i & 0xFFFF) == 0) {
+                     task.checkCancelled();
+                     task.progress("Merging", i, n);
+                 }
+             }
+             runs[0] = sorted.runCount();
+             sb.append(moreRows(n));
+         } catch (UncheckedIOException ex) {
+             throw ex.getCause();
+         }
+         elapsed[0] = System.nanoTime() - start;
+         return sb.toString();
+     }, (String listing) -> {
+         resultArea.setForeground(new Color(0, 102, 0));
+         resultArea.setText(listing);
+
+         analysisArea.setText(
+             "EXTERNAL SORT BY SKU\n" +
+             "Memory budget: " + (budget >> 20) + " MB\n" +
+             "Runs spilled: " + runs[0] + (runs[0] == 0 ? " (fit in memory)" : "") + "\n" +
+             "Merge: k-way via min-heap\n" +
+             "Time: " + elapsed[0] + " ns\n" +
+             "Complexity: O(n log n), memory O(budget)"
+         );
+     });
+ }
 
-     resultArea.setForeground(new Color(0, 102, 0));
-     resultArea.setText(sb.toString());
+ /* ============================================================
+    RESULT EXPORT (STREAMING CSV)
+    ============================================================ */
 
-     analysisArea.setText(
-         "SORT BY SKU\n" +
-         "Algorithm: TimSort\n" +
-         "Complexity: O(n log n)"
-     );
+ // Streams the chosen result to a CSV file through one fixed chunk:
+ // rows go from the structures (or a bounded external sort) straight
+ // to bytes, so memory does not grow with the result.
+ private void exportResults() {
+     String query = (String) exportQueryBox.getSelectedItem();
+     String name = searchNameField.getText().trim().toLowerCase();
+     String startSku = rangeStartField.getText().trim();
+     String endSku = rangeEndField.getText().trim();
+
+     if (EXPORT_NAME_SEARCH.equals(query) && name.isEmpty()) {
+         showError("Enter name to search.");
+         return;
+     }
+     if (EXPORT_SKU_RANGE.equals(query) && (startSku.isEmpty() || endSku.isEmpty())) {
+         showError("Enter both SKU range values.");
+         return;
+     }
+
+     JFileChooser chooser = new JFileChooser(".");
+     chooser.setDialogTitle("Export " + query + " (CSV)");
+     chooser.setSelectedFile(new File("results.csv"));
+     if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+     Path file = chooser.getSelectedFile().toPath();
+     long budget = ((Number) sortMemorySpinner.getValue()).longValue() << 20;
+     long[] rows = new long[1];
+     runInBackground("Exporting " + file.getFileName(), task -> {
+         int n = linearList.size();
+         String source;
+         ResultExporter.Stats stats;
+         if (EXPORT_ALL_BY_NAME.equals(query)) {
+             task.progress("Spilling sorted runs", 0, 0);
+             try (ExternalSorter.Result sorted =
+                      new ExternalSorter(budget, NameSortKeys.FOLDED_ORDER).sort(linearList.iterator())) {
+                 stats = ResultExporter.export(file, sorted, p -> true, n, task::progress);
+                 source = "external sort by name, " + (budget >> 20) + " MB runs, " + sorted.runCount() + " spilled";
+             } catch (UncheckedIOException ex) {
+                 throw ex.getCause();
+             }
+         } else if (EXPORT_NAME_SEARCH.equals(query)) {
+             stats = ResultExporter.export(file, linearList.iterator(), p -> containsIgnoreCase(p.name, name), n, task::progress);
+             source = "list scan, name contains \"" + name + "\"";
+         } else if (EXPORT_SKU_RANGE.equals(query)) {
+             stats = ResultExporter.export(file, skuOrder(),
+                 p -> p.sku.compareToIgnoreCase(startSku) >= 0 && p.sku.compareToIgnoreCase(endSku) <= 0,
+                 n, task::progress);
+             source = "SKU-ordered scan, " + startSku + " .. " + endSku;
+         } else {
+             stats = ResultExporter.export(file, skuOrder(), p -> true, n, task::progress);
+             source = "SKU-ordered index walk";
+         }
+         rows[0] = stats.rows;
+         return "RESULT EXPORT: " + file + "\n" +
+             "Query: " + query + " (" + source + ")\n" +
+             stats;
+     }, (String report) -> {
+         resultArea.setForeground(new Color(0, 102, 0));
+         resultArea.setText(String.format("Exported %,d rows to %s", rows[0], file));
+         analysisArea.setText(report);
+     });
+ }
+
+ // Every product in SKU order without copying: the TreeMap, merged with
+ // the int index in encoded-key mode (its code order is SKU order).
+ private Iterator<Product> skuOrder() {
+     Iterator<Product> strings = treeMap.values().iterator();
+     if (!encodedKeyMode || intTreeMap.size() == 0) return strings;
+     return new Iterator<Product>() {
+         private int i;
+         private Product head = strings.hasNext() ? strings.next() : null;
+
+         @Override
+         public boolean hasNext() {
+             return i < intTreeMap.size() || head != null;
+         }
+
+         @Override
+         public Product next() {
+             if (!hasNext()) throw new NoSuchElementException();
+             if (head == null || i < intTreeMap.size() && intTreeMap.valueAt(i).sku.compareTo(head.sku) < 0) {
+                 return intTreeMap.valueAt(i++);
+             }
+             Product p = head;
+             head = strings.hasNext() ? strings.next() : null;
+             return p;
+         }
+     };
+ }
+
+ // Case-insensitive contains without lower-casing a copy of s.
+ private static boolean containsIgnoreCase(String s, String lowerNeedle) {
+     for (int i = 0, last = s.length() - lowerNeedle.length(); i <= last; i++) {
+         if (s.regionMatches(true, i, lowerNeedle, 0, lowerNeedle.length())) return true;
+     }
+     return false;
  }
 
  /* ============================================================
@@ -662,180 +1962,514 @@ public class InventoryStocker extends JFrame implements ActionListener {
          return;
      }
 
-     Product target = linearList.get(linearList.size() / 2);
+     BenchmarkHarness.Config config = benchmarkConfig();
+     double threshold = regressionThreshold();
+     int n = linearList.size();
+     String suite = encodedKeyMode ? "search-encoded" : "search";
+     boolean jfr = jfrBox.isSelected();
+     runInBackground("Search benchmark", task -> {
+         Map<String, BenchmarkResult> results = recorded(jfr, "search_benchmark.jfr", () -> BenchmarkSuite.search(
+             new BenchmarkHarness(config, task::progress),
+             linearList, this::hashLookup, this::treeLookup));
+         return record(results, "search_results.csv", BenchmarkResult.CSV_HEADER, csvRows(results.values()),
+             new BenchmarkHistory.Run(suite).addAll(n, results.values()), threshold);
+     }, (Recorded<Map<String, BenchmarkResult>> r) -> {
+         searchResults = r.results;
+         analysisArea.setText(
+             "SEARCH BENCHMARK COMPLETE" +
+             (encodedKeyMode ? " (encoded int keys)" : "") + "\n" +
+             describe(config, searchResults.values()) +
+             r.report
+         );
+     });
+ }
 
-     long s, e;
+ /* ============================================================
+    BENCHMARKING – SORT
+    ============================================================ */
 
-     s = System.nanoTime();
-     for (Product p : linearList) if (p.sku.equals(target.sku)) break;
-     e = System.nanoTime();
-     linearSearchTime = e - s;
+ private void benchmarkSorting() {
 
-     s = System.nanoTime();
-     hashMap.get(target.sku);
-     e = System.nanoTime();
-     hashSearchTime = e - s;
+     if (linearList.isEmpty()) {
+         showError("No data to benchmark.");
+         return;
+     }
 
-     List<Product> sorted = new ArrayList<>(linearList);
-     sorted.sort(Comparator.comparing(p -> p.sku));
+     BenchmarkHarness.Config config = benchmarkConfig();
+     double threshold = regressionThreshold();
+     int n = linearList.size();
+     boolean jfr = jfrBox.isSelected();
+     runInBackground("Sort benchmark", task -> {
+         Map<String, BenchmarkResult> results = recorded(jfr, "sort_benchmark.jfr",
+             () -> BenchmarkSuite.sort(new BenchmarkHarness(config, task::progress), linearList));
+         return record(results, "sort_results.csv", BenchmarkResult.CSV_HEADER, csvRows(results.values()),
+             new BenchmarkHistory.Run("sort").addAll(n, results.values()), threshold);
+     }, (Recorded<Map<String, BenchmarkResult>> r) -> {
+         sortResults = r.results;
+
+         String skipped = sortResults.containsKey("Bubble") ? "" :
+             "Bubble/Insertion/Selection: skipped (n > " + SortKernels.QUADRATIC_LIMIT + ")\n";
+
+         analysisArea.setText(
+             "SORT BENCHMARK COMPLETE\n" +
+             describe(config, sortResults.values()) +
+             skipped +
+             "Adaptive sorter: " + sortResults.get("Adaptive").note + "\n" +
+             r.report
+         );
+     });
+ }
 
-     s = System.nanoTime();
-     Collections.binarySearch(sorted, target, Comparator.comparing(p -> p.sku));
-     e = System.nanoTime();
-     binarySearchTime = e - s;
+ /* ============================================================
+    BENCHMARKING – NAME SORT (COMPARATOR vs SORT KEYS)
+    ============================================================ */
 
-     s = System.nanoTime();
-     treeMap.get(target.sku);
-     e = System.nanoTime();
-     treeSearchTime = e - s;
+ private void benchmarkNameSort() {
 
-     exportCSV(
-         "search_results.csv",
-         new String[]{"Linear", "HashMap", "Binary", "TreeMap"},
-         new long[]{linearSearchTime, hashSearchTime, binarySearchTime, treeSearchTime}
-     );
+     if (linearList.isEmpty()) {
+         showError("No data to benchmark.");
+         return;
+     }
 
-     analysisArea.setText(
-         "SEARCH BENCHMARK COMPLETE\n" +
-         "Linear: " + linearSearchTime + " ns\n" +
-         "HashMap: " + hashSearchTime + " ns\n" +
-         "Binary: " + binarySearchTime + " ns\n" +
-         "TreeMap: " + treeSearchTime + " ns"
-     );
+     BenchmarkHarness.Config config = benchmarkConfig();
+     double threshold = regressionThreshold();
+     int n = linearList.size();
+     boolean jfr = jfrBox.isSelected();
+     runInBackground("Name sort benchmark", task -> {
+         Map<String, BenchmarkResult> results = recorded(jfr, "name_sort_benchmark.jfr",
+             () -> BenchmarkSuite.nameSort(new BenchmarkHarness(config, task::progress), linearList));
+         return record(results, "name_sort_results.csv", BenchmarkResult.CSV_HEADER, csvRows(results.values()),
+             new BenchmarkHistory.Run("name-sort").addAll(n, results.values()), threshold);
+     }, (Recorded<Map<String, BenchmarkResult>> r) -> analysisArea.setText(
+         "NAME SORT BENCHMARK COMPLETE\n" +
+         describe(config, r.results.values()) +
+         "CollationKey locale: " + Locale.getDefault() + "\n" +
+         r.report
+     ));
  }
 
  /* ============================================================
-    BENCHMARKING – SORT
+    BENCHMARKING – SCALING CURVES (1,000 · 2^k UP TO MAX n)
     ============================================================ */
 
- private void benchmarkSorting() {
+ private void benchmarkScaling(boolean sort) {
+
+     int max = ((Number) scalingMaxSpinner.getValue()).intValue();
+     int[] sizes = ScalingBenchmark.sizes(1_000, max, 2);
+     BenchmarkHarness.Config config = ScalingBenchmark.scaledConfig(benchmarkConfig());
+     double threshold = regressionThreshold();
+
+     runInBackground(sort ? "Sort scaling" : "Search scaling", task -> {
+         BenchmarkHarness harness = new BenchmarkHarness(config, task::progress);
+         Map<String, ScalingBenchmark.Curve> curves = sort
+             ? ScalingBenchmark.sort(harness, sizes)
+             : ScalingBenchmark.search(harness, sizes);
+
+         List<BenchmarkResult> all = new ArrayList<>();
+         BenchmarkHistory.Run run = new BenchmarkHistory.Run(sort ? "sort-scaling" : "search-scaling");
+         for (ScalingBenchmark.Curve c : curves.values()) {
+             all.addAll(c.results);
+             for (int i = 0; i < c.results.size(); i++) run.addResult(c.name, c.sizes.get(i), c.results.get(i));
+         }
+         return record(curves, sort ? "sort_scaling.csv" : "search_scaling.csv",
+             BenchmarkResult.CSV_HEADER, csvRows(all), run, threshold);
+     }, (Recorded<Map<String, ScalingBenchmark.Curve>> r) -> showScaling(sort, sizes, config, r.results, r.report));
+ }
+
+ private void showScaling(boolean sort, int[] sizes, BenchmarkHarness.Config c,
+                          Map<String, ScalingBenchmark.Curve> curves, String report) {
+     int max = sizes[sizes.length - 1];
+     StringBuilder sb = new StringBuilder();
+     sb.append(sort ? "SORT" : "SEARCH").append(" SCALING COMPLETE\n")
+       .append("n = ").append(sizes[0]).append(" .. ").append(sizes[sizes.length - 1])
+       .append(" (×2, synthetic catalogs) | warm-up ").append(c.warmupIterations)
+       .append(" | samples ").append(c.measuredIterations).append("\n")
+       .append("Fitted growth t(n) ≈ c·n^k:\n");
+     for (ScalingBenchmark.Curve curve : curves.values()) {
+         sb.append(curve.name).append(": ")
+           .append(curve.fit == null ? "too few points" : curve.fit.toString()).append("\n");
+     }
+     if (sort && max > SortKernels.QUADRATIC_LIMIT) {
+         sb.append("Bubble/Insertion/Selection: n ≤ ").append(SortKernels.QUADRATIC_LIMIT).append(" only\n");
+     }
+     sb.append(report);
+     analysisArea.setText(sb.toString());
+
+     showScalingGraph(
+         sort ? "Sort Scaling (log-log)" : "Search Scaling (log-log)",
+         sort ? "Time per sort (ns)" : "Time per lookup (ns)",
+         curves);
+ }
+
+ /* ============================================================
+    BENCHMARKING – MEMORY FOOTPRINT (1,000 · 4^k UP TO MAX n)
+    ============================================================ */
+
+ private void benchmarkMemory() {
+
+     int max = Math.max(((Number) scalingMaxSpinner.getValue()).intValue(), 1_000);
+     int[] sizes = ScalingBenchmark.sizes(1_000, max, 4);
+     long seed = benchmarkConfig().seed;
+     double threshold = regressionThreshold();
+
+     runInBackground("Memory benchmark", task -> {
+         List<MemoryBenchmark.Row> rows = MemoryBenchmark.run(sizes, seed, task::progress);
+         List<String> csv = new ArrayList<>();
+         BenchmarkHistory.Run run = new BenchmarkHistory.Run("memory");
+         for (MemoryBenchmark.Row r : rows) {
+             csv.add(r.toCsvRow());
+             run.add(r.structure, r.n, BenchmarkHistory.RETAINED_BYTES, r.retainedPerEntry)
+                .add(r.structure, r.n, "put_alloc_bytes", r.putAllocPerOp)
+                .add(r.structure, r.n, "get_alloc_bytes", r.getAllocPerOp);
+         }
+         return record(rows, "memory_results.csv", MemoryBenchmark.CSV_HEADER, csv, run, threshold);
+     }, (Recorded<List<MemoryBenchmark.Row>> recorded) -> {
+         List<MemoryBenchmark.Row> rows = recorded.results;
+         memoryResults = rows;
+
+         StringBuilder sb = new StringBuilder("MEMORY BENCHMARK COMPLETE\n");
+         sb.append("Retained = live heap after GC with vs. without the structure\n")
+           .append("(structure overhead; the Products row is the shared payload)\n");
+         for (MemoryBenchmark.Row r : rows) sb.append(r.summary()).append("\n");
+         if (MemoryBenchmark.allocatedBytes() < 0) {
+             sb.append("Allocation counting unavailable on this JVM\n");
+         }
+         sb.append(recorded.report);
+         analysisArea.setText(sb.toString());
+     });
+ }
+
+ /* ============================================================
+    BENCHMARKING – ON-HEAP vs OFF-HEAP vs HOT/COLD STORAGE
+    ============================================================ */
+
+ private void benchmarkStorage() {
+
+     int n = ((Number) catalogSizeSpinner.getValue()).intValue();
+     long seed = benchmarkConfig().seed;
+     double threshold = regressionThreshold();
+
+     runInBackground("Storage benchmark", task -> {
+         List<StorageBenchmark.Row> rows = StorageBenchmark.run(n, seed, task::progress);
+         List<String> csv = new ArrayList<>();
+         BenchmarkHistory.Run run = new BenchmarkHistory.Run("storage");
+         for (StorageBenchmark.Row r : rows) {
+             csv.add(r.toCsvRow());
+             run.add(r.mode, r.n, BenchmarkHistory.RETAINED_BYTES, r.heapPerProduct)
+                .add(r.mode, r.n, "full_gc_ms", r.fullGcMs)
+                .add(r.mode, r.n, "get_ns", r.getNs)
+                .add(r.mode, r.n, "update_ns", r.updateNs)
+                .add(r.mode, r.n, "update_alloc_bytes", r.updateAlloc)
+                .add(r.mode, r.n, "name_ns", r.nameNs);
+         }
+         return record(rows, "storage_results.csv", StorageBenchmark.CSV_HEADER, csv, run, threshold);
+     }, (Recorded<List<StorageBenchmark.Row>> recorded) -> {
+         StringBuilder sb = new StringBuilder("STORAGE BENCHMARK COMPLETE\n");
+         sb.append("Heap = live heap after GC with vs. without the store (incl. SKU/name Strings)\n");
+         for (StorageBenchmark.Row r : recorded.results) sb.append(r.summary()).append("\n");
+         if (MemoryBenchmark.allocatedBytes() < 0) {
+             sb.append("Allocation counting unavailable on this JVM\n");
+         }
+         sb.append(recorded.report);
+         analysisArea.setText(sb.toString());
+     });
+ }
+
+ /* ============================================================
+    BENCHMARKING – CONCURRENT THROUGHPUT (1, 2, 4 .. MAX THREADS)
+    ============================================================ */
+
+ private void benchmarkConcurrency() {
 
      if (linearList.isEmpty()) {
          showError("No data to benchmark.");
          return;
      }
 
-     bubbleSortTime = timeSort(this::bubbleSort);
-     insertionSortTime = timeSort(this::insertionSort);
-     selectionSortTime = timeSort(this::selectionSort);
-     mergeSortTime = timeSort(this::mergeSortWrapper);
-     quickSortTime = timeSort(this::quickSortWrapper);
-     timSortTime = timeSort(list -> list.sort(Comparator.comparing(p -> p.sku)));
-
-     exportCSV(
-         "sort_results.csv",
-         new String[]{"Bubble", "Insertion", "Selection", "Merge", "Quick", "TimSort"},
-         new long[]{bubbleSortTime, insertionSortTime, selectionSortTime,
-                    mergeSortTime, quickSortTime, timSortTime}
-     );
+     ConcurrencyBenchmark.Mix mix;
+     try {
+         mix = ConcurrencyBenchmark.Mix.parse(mixField.getText());
+     } catch (IllegalArgumentException e) {
+         showError(e.getMessage());
+         return;
+     }
 
-     analysisArea.setText(
-         "SORT BENCHMARK COMPLETE\n" +
-         "Bubble: " + bubbleSortTime + " ns\n" +
-         "Insertion: " + insertionSortTime + " ns\n" +
-         "Selection: " + selectionSortTime + " ns\n" +
-         "Merge: " + mergeSortTime + " ns\n" +
-         "Quick: " + quickSortTime + " ns\n" +
-         "TimSort: " + timSortTime + " ns"
-     );
+     int[] threads = ConcurrencyBenchmark.threadCounts(((Number) threadsSpinner.getValue()).intValue());
+     long measureMs = ((Number) pointSecondsSpinner.getValue()).longValue() * 1000;
+     long warmupMs = Math.max(200, measureMs / 2);
+     long seed = benchmarkConfig().seed;
+     double threshold = regressionThreshold();
+     int n = linearList.size();
+
+     runInBackground("Concurrency benchmark", task -> {
+         List<ConcurrencyBenchmark.Point> points = ConcurrencyBenchmark.run(
+             linearList, mix, threads, warmupMs, measureMs, seed, task::progress);
+         List<String> csv = new ArrayList<>();
+         // each mix is its own suite: throughput is only comparable at equal mixes
+         BenchmarkHistory.Run run = new BenchmarkHistory.Run("concurrency " + mix);
+         for (ConcurrencyBenchmark.Point p : points) {
+             csv.add(p.toCsvRow());
+             String kase = p.strategy + " x" + p.threads;
+             run.add(kase, n, BenchmarkHistory.OPS_PER_SEC, p.opsPerSec)
+                .add(kase, n, "p99_ns", p.p99);
+         }
+         return record(points, "concurrency_results.csv", ConcurrencyBenchmark.CSV_HEADER, csv, run, threshold);
+     }, (Recorded<List<ConcurrencyBenchmark.Point>> recorded) -> {
+         List<ConcurrencyBenchmark.Point> points = recorded.results;
+         StringBuilder sb = new StringBuilder("CONCURRENCY BENCHMARK COMPLETE\n");
+         sb.append("n = ").append(linearList.size())
+           .append(" | mix R/W/D/Q ").append(mix)
+           .append(" | Zipf 0.99 | ").append(measureMs / 1000).append(" s per point")
+           .append(" | CPUs ").append(Runtime.getRuntime().availableProcessors()).append("\n");
+         for (ConcurrencyBenchmark.Point p : points) sb.append(p.summary()).append("\n");
+         sb.append(recorded.report);
+         analysisArea.setText(sb.toString());
+
+         showConcurrencyGraph(points);
+     });
  }
 
- private long timeSort(java.util.function.Consumer<List<Product>> sorter) {
-     List<Product> copy = new ArrayList<>(linearList);
-     long s = System.nanoTime();
-     sorter.accept(copy);
-     return System.nanoTime() - s;
+ /* ============================================================
+    BENCHMARKING – WAL COMMIT (GROUP COMMIT vs FSYNC PER OP)
+    ============================================================ */
+
+ private void benchmarkWal() {
+
+     int[] threads = ConcurrencyBenchmark.threadCounts(((Number) threadsSpinner.getValue()).intValue());
+     long measureMs = ((Number) pointSecondsSpinner.getValue()).longValue() * 1000;
+     double threshold = regressionThreshold();
+
+     runInBackground("WAL benchmark", task -> {
+         List<WalBenchmark.Row> rows = WalBenchmark.run(threads, measureMs, task::progress);
+         List<String> csv = new ArrayList<>();
+         BenchmarkHistory.Run run = new BenchmarkHistory.Run("wal");
+         for (WalBenchmark.Row r : rows) {
+             csv.add(r.toCsvRow());
+             String kase = r.mode + " x" + r.threads;
+             run.add(kase, 0, BenchmarkHistory.OPS_PER_SEC, r.opsPerSec)
+                .add(kase, 0, "p99_ns", r.p99);
+         }
+         return record(rows, "wal_results.csv", WalBenchmark.CSV_HEADER, csv, run, threshold);
+     }, (Recorded<List<WalBenchmark.Row>> recorded) -> {
+         StringBuilder sb = new StringBuilder("WAL COMMIT BENCHMARK COMPLETE\n");
+         sb.append("fsync'd log in the temp directory | ").append(measureMs / 1000).append(" s per point\n");
+         for (WalBenchmark.Row r : recorded.results) sb.append(r.summary()).append("\n");
+         sb.append(recorded.report);
+         analysisArea.setText(sb.toString());
+     });
  }
 
  /* ============================================================
-    SORT ALGORITHMS
+    STOCK CHANGE EVENTS (STATS + PUBLISH OVERHEAD)
     ============================================================ */
 
- private void bubbleSort(List<Product> list) {
-     for (int i = 0; i < list.size(); i++)
-         for (int j = 0; j < list.size() - i - 1; j++)
-             if (list.get(j).sku.compareTo(list.get(j + 1).sku) > 0)
-                 Collections.swap(list, j, j + 1);
+ private void showEventStream() {
+     analysisArea.setText(
+         "STOCK CHANGE EVENT STREAM\n" +
+         events.describe() +
+         dashboard + "\n" +
+         reorderWatch
+     );
  }
 
- private void insertionSort(List<Product> list) {
-     for (int i = 1; i < list.size(); i++) {
-         Product key = list.get(i);
-         int j = i - 1;
-         while (j >= 0 && list.get(j).sku.compareTo(key.sku) > 0) {
-             list.set(j + 1, list.get(j));
-             j--;
+ private void benchmarkEvents() {
+
+     long seed = benchmarkConfig().seed;
+     double threshold = regressionThreshold();
+
+     runInBackground("Event stream benchmark", task -> {
+         List<StockEventBenchmark.Row> rows = StockEventBenchmark.run(seed, task::progress);
+         List<String> csv = new ArrayList<>();
+         BenchmarkHistory.Run run = new BenchmarkHistory.Run("events");
+         for (StockEventBenchmark.Row r : rows) {
+             csv.add(r.toCsvRow());
+             run.add("Publish", r.consumers, "publish_ns", r.publishNs())
+                .add("Publish", r.consumers, "alloc_bytes", r.allocPerEvent);
          }
-         list.set(j + 1, key);
-     }
+         return record(rows, "events_results.csv", StockEventBenchmark.CSV_HEADER, csv, run, threshold);
+     }, (Recorded<List<StockEventBenchmark.Row>> recorded) -> {
+         StringBuilder sb = new StringBuilder("EVENT STREAM BENCHMARK COMPLETE\n");
+         sb.append("In-memory write (HashMap.put) with and without publishing its event\n");
+         for (StockEventBenchmark.Row r : recorded.results) sb.append(r.summary()).append("\n");
+         sb.append(recorded.report);
+         analysisArea.setText(sb.toString());
+     });
  }
 
- private void selectionSort(List<Product> list) {
-     for (int i = 0; i < list.size(); i++) {
-         int min = i;
-         for (int j = i + 1; j < list.size(); j++)
-             if (list.get(j).sku.compareTo(list.get(min).sku) < 0)
-                 min = j;
-         Collections.swap(list, i, min);
-     }
+ private BenchmarkHarness.Config benchmarkConfig() {
+     BenchmarkHarness.Config d = BenchmarkHarness.Config.DEFAULT;
+     return new BenchmarkHarness.Config(
+         ((Number) warmupSpinner.getValue()).intValue(),
+         ((Number) iterationsSpinner.getValue()).intValue(),
+         d.opsPerSample, d.seed);
  }
 
- private void mergeSortWrapper(List<Product> list) {
-     mergeSort(list, 0, list.size() - 1);
+ private static <T> T recorded(boolean jfr, String file, JvmActivity.Body<T> body) throws Exception {
+     return jfr ? JvmActivity.record(Paths.get(file), body) : body.run();
  }
 
- private void mergeSort(List<Product> list, int l, int r) {
-     if (l < r) {
-         int m = (l + r) / 2;
-         mergeSort(list, l, m);
-         mergeSort(list, m + 1, r);
-         merge(list, l, m, r);
+ private double regressionThreshold() {
+     return ((Number) regressionSpinner.getValue()).doubleValue();
+ }
+
+ private String describe(BenchmarkHarness.Config c, Collection<BenchmarkResult> results) {
+     StringBuilder sb = new StringBuilder();
+     sb.append("n = ").append(linearList.size())
+       .append(" | warm-up ").append(c.warmupIterations)
+       .append(" | samples ").append(c.measuredIterations)
+       .append(" | ns/op, ±95% CI\n");
+     int flagged = 0;
+     for (BenchmarkResult r : results) {
+         sb.append(r.summary()).append("\n");
+         if (r.activity.flagged()) flagged++;
      }
+     if (flagged > 0) {
+         sb.append(flagged).append(" result(s) overlapped GC/JIT (!): compare the clean mean or re-run\n");
+     }
+     if (!JvmActivity.jitTimed()) sb.append("JIT timing unavailable on this JVM\n");
+     return sb.toString();
  }
 
- private void merge(List<Product> list, int l, int m, int r) {
-     List<Product> temp = new ArrayList<>(list.subList(l, r + 1));
-     int i = 0, j = m - l + 1, k = l;
+ /* ============================================================
+    BACKGROUND TASKS
+    ============================================================ */
 
-     while (i <= m - l && j <= r - l)
-         list.set(k++, temp.get(i).sku.compareTo(temp.get(j).sku) <= 0 ? temp.get(i++) : temp.get(j++));
+ /**
+  * Runs work off the EDT with the controls locked; onSuccess runs on the
+  * EDT. Cancel, failure and success all unlock the controls.
+  */
+ private <T> void runInBackground(String title, BackgroundTask.Work<T> work, Consumer<T> onSuccess) {
+     if (currentTask != null) return;
+
+     BackgroundTask<T> task = new BackgroundTask<>(work, result -> {
+         finishTask(title + ": done");
+         onSuccess.accept(result);
+     }, error -> {
+         if (error instanceof CancellationException) {
+             finishTask(title + ": cancelled");
+             resultArea.setForeground(Color.RED);
+             resultArea.setText("CANCELLED: " + title);
+         } else {
+             finishTask(title + ": failed");
+             showError(title + " failed: " + error);
+         }
+     });
+
+     task.addPropertyChangeListener(ev -> {
+         if ("progress".equals(ev.getPropertyName())) {
+             progressBar.setIndeterminate(false);
+             progressBar.setValue((Integer) ev.getNewValue());
+         } else if (BackgroundTask.STATUS.equals(ev.getPropertyName())) {
+             statusLabel.setText(title + ": " + ev.getNewValue());
+         }
+     });
 
-     while (i <= m - l) list.set(k++, temp.get(i++));
-     while (j <= r - l) list.set(k++, temp.get(j++));
+     lockControls();
+     statusLabel.setText(title + "...");
+     progressBar.setValue(0);
+     progressBar.setIndeterminate(true);
+     cancelButton.setEnabled(true);
+
+     currentTask = task;
+     task.execute();
+ }
+
+ private void cancelTask() {
+     if (currentTask == null) return;
+     currentTask.cancelWork();
+     cancelButton.setEnabled(false);
+     statusLabel.setText("Cancelling...");
  }
 
- private void quickSortWrapper(List<Product> list) {
-     quickSort(list, 0, list.size() - 1);
+ private void finishTask(String status) {
+     currentTask = null;
+     unlockControls();
+     statusLabel.setText(status);
+     progressBar.setIndeterminate(false);
+     progressBar.setValue(0);
+     cancelButton.setEnabled(false);
+     // a cancel or a catalog-wide task may have moved the catalog
+     offHeapBox.setSelected(store instanceof OffHeapProductStore);
+     hotColdBox.setSelected(store instanceof HotColdProductStore);
+     maybeCheckpoint();   // bulk loads and imports log many records at once
  }
 
- private void quickSort(List<Product> list, int low, int high) {
-     if (low < high) {
-         int p = partition(list, low, high);
-         quickSort(list, low, p - 1);
-         quickSort(list, p + 1, high);
+ // Tasks read and rebuild the shared structures, so nothing may edit them meanwhile.
+ private void lockControls() {
+     lockedControls.clear();
+     lockRecursively(controlsPanel);
+ }
+
+ private void lockRecursively(Container c) {
+     for (Component child : c.getComponents()) {
+         if ((child instanceof AbstractButton || child instanceof JTextField || child instanceof JSpinner)
+                 && child.isEnabled()) {
+             child.setEnabled(false);
+             lockedControls.add(child);
+         } else if (child instanceof Container) {
+             lockRecursively((Container) child);
+         }
      }
  }
 
- private int partition(List<Product> list, int low, int high) {
-     Product pivot = list.get(high);
-     int i = low - 1;
-     for (int j = low; j < high; j++)
-         if (list.get(j).sku.compareTo(pivot.sku) <= 0)
-             Collections.swap(list, ++i, j);
-     Collections.swap(list, i + 1, high);
-     return i + 1;
+ private void unlockControls() {
+     for (Component c : lockedControls) c.setEnabled(true);
+     lockedControls.clear();
  }
 
  /* ============================================================
-    CSV EXPORT
+    CSV EXPORT + BENCHMARK HISTORY
     ============================================================ */
 
- private void exportCSV(String file, String[] headers, long[] values) {
-     try (PrintWriter pw = new PrintWriter(new FileWriter(file))) {
-         pw.println("Algorithm,Time(ns)");
-         for (int i = 0; i < headers.length; i++)
-             pw.println(headers[i] + "," + values[i]);
-     } catch (Exception ignored) {}
+ /** A benchmark's results plus the export / baseline report for them. */
+ private static final class Recorded<T> {
+     final T results;
+     final String report;
+
+     Recorded(T results, String report) {
+         this.results = results;
+         this.report = report;
+     }
+ }
+
+ /**
+  * Worker side, after a benchmark: overwrites the latest-run CSV, checks
+  * the run against its baseline and appends it to the history. A failed
+  * write is reported with the results instead of discarding them.
+  */
+ private <T> Recorded<T> record(T results, String file, String header, Collection<String> rows,
+                                BenchmarkHistory.Run run, double thresholdPct) {
+     StringBuilder report = new StringBuilder();
+     try {
+         exportCSV(file, header, rows);
+     } catch (IOException e) {
+         report.append("WARNING: could not write ").append(file).append(": ").append(e).append("\n");
+     }
+     try {
+         List<BenchmarkHistory.Finding> findings = history.compare(run, thresholdPct);
+         history.append(run);
+         report.append(BenchmarkHistory.describe(findings, thresholdPct));
+     } catch (IOException e) {
+         report.append("WARNING: benchmark history not updated: ").append(e).append("\n");
+     }
+     return new Recorded<>(results, report.toString());
+ }
+
+ private static List<String> csvRows(Collection<BenchmarkResult> results) {
+     List<String> rows = new ArrayList<>();
+     for (BenchmarkResult r : results) rows.add(r.toCsvRow());
+     return rows;
+ }
+
+ private static void exportCSV(String file, String header, Collection<String> rows) throws IOException {
+     try (BufferedWriter w = Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)) {
+         w.write(header);
+         w.newLine();
+         for (String row : rows) {
+             w.write(row);
+             w.newLine();
+         }
+     }
  }
 
  /* ============================================================
@@ -844,22 +2478,16 @@ public class InventoryStocker extends JFrame implements ActionListener {
 
  private void showSearchGraph() {
 
-	    if (linearSearchTime == 0) {
+	    if (searchResults.isEmpty()) {
 	        showError("Run search benchmark first.");
 	        return;
 	    }
 
-	    DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-	    dataset.addValue(linearSearchTime, "Time (ns)", "Linear");
-	    dataset.addValue(hashSearchTime, "Time (ns)", "HashMap");
-	    dataset.addValue(binarySearchTime, "Time (ns)", "Binary");
-	    dataset.addValue(treeSearchTime, "Time (ns)", "TreeMap");
-
 	    JFreeChart chart = ChartFactory.createBarChart(
 	        "Search Algorithm Performance",
 	        "Algorithm",
-	        "Time (ns)",
-	        dataset
+	        "Time per lookup (ns)",
+	        statsDataset(searchResults.values())
 	    );
 
 	    CategoryPlot plot = chart.getCategoryPlot();
@@ -870,31 +2498,23 @@ public class InventoryStocker extends JFrame implements ActionListener {
 	    chartPanel.setPreferredSize(new Dimension(700, 400));
 
 	    JDialog dialog = new JDialog(this, "Search Performance Graph", true);
-	    dialog.setContentPane(chartPanel);
+	    dialog.setContentPane(withJvmActivity(chartPanel, searchResults.values()));
 	    dialog.pack();
 	    dialog.setLocationRelativeTo(this);
 	    dialog.setVisible(true);
 	}
  private void showSortGraph() {
 
-	    if (bubbleSortTime == 0) {
+	    if (sortResults.isEmpty()) {
 	        showError("Run sort benchmark first.");
 	        return;
 	    }
 
-	    DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-	    dataset.addValue(bubbleSortTime, "Time (ns)", "Bubble");
-	    dataset.addValue(insertionSortTime, "Time (ns)", "Insertion");
-	    dataset.addValue(selectionSortTime, "Time (ns)", "Selection");
-	    dataset.addValue(mergeSortTime, "Time (ns)", "Merge");
-	    dataset.addValue(quickSortTime, "Time (ns)", "Quick");
-	    dataset.addValue(timSortTime, "Time (ns)", "TimSort");
-
 	    JFreeChart chart = ChartFactory.createBarChart(
 	        "Sorting Algorithm Performance",
 	        "Algorithm",
-	        "Time (ns)",
-	        dataset
+	        "Time per sort (ns)",
+	        statsDataset(sortResults.values())
 	    );
 
 	    CategoryPlot plot = chart.getCategoryPlot();
@@ -905,12 +2525,152 @@ public class InventoryStocker extends JFrame implements ActionListener {
 	    chartPanel.setPreferredSize(new Dimension(800, 450));
 
 	    JDialog dialog = new JDialog(this, "Sorting Performance Graph", true);
+	    dialog.setContentPane(withJvmActivity(chartPanel, sortResults.values()));
+	    dialog.pack();
+	    dialog.setLocationRelativeTo(this);
+	    dialog.setVisible(true);
+	}
+
+ // GC/JIT overlap next to the timings: flagged bars are suspect.
+ private JTabbedPane withJvmActivity(ChartPanel timing, Collection<BenchmarkResult> results) {
+	    DefaultCategoryDataset overlap = new DefaultCategoryDataset();
+	    for (BenchmarkResult r : results) {
+	        int samples = Math.max(1, r.activity.samples);
+	        overlap.addValue(100.0 * r.activity.gcSamples / samples, "GC", r.name);
+	        overlap.addValue(100.0 * r.activity.jitSamples / samples, "JIT", r.name);
+	    }
+
+	    JTabbedPane tabs = new JTabbedPane();
+	    tabs.addTab("Time", timing);
+	    tabs.addTab("GC / JIT overlap", new ChartPanel(ChartFactory.createBarChart(
+	        "Samples Overlapping GC / JIT", "Algorithm", "% of measured samples", overlap)));
+	    return tabs;
+	}
+
+ // Memory next to the timings: one tab per chart.
+ private void showMemoryGraph() {
+
+	    if (memoryResults.isEmpty()) {
+	        showError("Run memory benchmark first.");
+	        return;
+	    }
+
+	    DefaultCategoryDataset retained = new DefaultCategoryDataset();
+	    DefaultCategoryDataset allocated = new DefaultCategoryDataset();
+	    for (MemoryBenchmark.Row r : memoryResults) {
+	        retained.addValue(r.retainedPerEntry, "n=" + r.n, r.structure);
+	        if (!Double.isNaN(r.putAllocPerOp)) {
+	            allocated.addValue(r.putAllocPerOp, "put n=" + r.n, r.structure);
+	            allocated.addValue(r.getAllocPerOp, "get n=" + r.n, r.structure);
+	        }
+	    }
+
+	    JTabbedPane tabs = new JTabbedPane();
+	    tabs.addTab("Retained bytes/product", new ChartPanel(ChartFactory.createBarChart(
+	        "Retained Memory per Product", "Structure", "Bytes per product", retained)));
+	    tabs.addTab("Allocated bytes/op", new ChartPanel(ChartFactory.createBarChart(
+	        "Allocation per Operation", "Structure", "Bytes per operation", allocated)));
+	    if (!searchResults.isEmpty()) {
+	        tabs.addTab("Search time", new ChartPanel(ChartFactory.createBarChart(
+	            "Search Algorithm Performance", "Algorithm", "Time per lookup (ns)",
+	            statsDataset(searchResults.values()))));
+	    }
+	    if (!sortResults.isEmpty()) {
+	        tabs.addTab("Sort time", new ChartPanel(ChartFactory.createBarChart(
+	            "Sorting Algorithm Performance", "Algorithm", "Time per sort (ns)",
+	            statsDataset(sortResults.values()))));
+	    }
+	    tabs.setPreferredSize(new Dimension(800, 450));
+
+	    JDialog dialog = new JDialog(this, "Memory vs. Time", true);
+	    dialog.setContentPane(tabs);
+	    dialog.pack();
+	    dialog.setLocationRelativeTo(this);
+	    dialog.setVisible(true);
+	}
+
+ // Scaling bottlenecks show as curves that flatten (throughput) or climb (p99).
+ private void showConcurrencyGraph(List<ConcurrencyBenchmark.Point> points) {
+
+	    Map<String, XYSeries> throughput = new LinkedHashMap<>();
+	    Map<String, XYSeries> tail = new LinkedHashMap<>();
+	    for (ConcurrencyBenchmark.Point p : points) {
+	        throughput.computeIfAbsent(p.strategy, XYSeries::new).add(p.threads, p.opsPerSec);
+	        tail.computeIfAbsent(p.strategy, XYSeries::new).add(p.threads, p.p99);
+	    }
+
+	    XYSeriesCollection throughputData = new XYSeriesCollection();
+	    XYSeriesCollection tailData = new XYSeriesCollection();
+	    for (XYSeries series : throughput.values()) throughputData.addSeries(series);
+	    for (XYSeries series : tail.values()) tailData.addSeries(series);
+
+	    JFreeChart throughputChart = ChartFactory.createXYLineChart(
+	        "Throughput vs. Threads", "Threads", "Operations per second", throughputData,
+	        PlotOrientation.VERTICAL, true, true, false);
+	    throughputChart.getXYPlot().setRenderer(new XYLineAndShapeRenderer(true, true));
+
+	    JFreeChart tailChart = ChartFactory.createXYLineChart(
+	        "P99 Latency vs. Threads", "Threads", "P99 latency (ns)", tailData,
+	        PlotOrientation.VERTICAL, true, true, false);
+	    tailChart.getXYPlot().setRenderer(new XYLineAndShapeRenderer(true, true));
+
+	    JTabbedPane tabs = new JTabbedPane();
+	    tabs.addTab("Throughput", new ChartPanel(throughputChart));
+	    tabs.addTab("P99 latency", new ChartPanel(tailChart));
+	    tabs.setPreferredSize(new Dimension(800, 450));
+
+	    JDialog dialog = new JDialog(this, "Concurrent Throughput", true);
+	    dialog.setContentPane(tabs);
+	    dialog.pack();
+	    dialog.setLocationRelativeTo(this);
+	    dialog.setVisible(true);
+	}
+
+ // Log-log: a power law t = c·n^k is a straight line of slope k.
+ private void showScalingGraph(String title, String yLabel, Map<String, ScalingBenchmark.Curve> curves) {
+
+	    XYSeriesCollection dataset = new XYSeriesCollection();
+	    for (ScalingBenchmark.Curve c : curves.values()) {
+	        XYSeries series = new XYSeries(c.fit == null ? c.name
+	            : String.format(Locale.ROOT, "%s (n^%.2f)", c.name, c.fit.exponent));
+	        for (int i = 0; i < c.sizes.size(); i++) {
+	            series.add(c.sizes.get(i), c.results.get(i).mean);
+	        }
+	        dataset.addSeries(series);
+	    }
+
+	    JFreeChart chart = ChartFactory.createXYLineChart(
+	        title, "n (catalog size)", yLabel, dataset,
+	        PlotOrientation.VERTICAL, true, true, false
+	    );
+
+	    XYPlot plot = chart.getXYPlot();
+	    plot.setDomainAxis(new LogAxis("n (catalog size, log scale)"));
+	    plot.setRangeAxis(new LogAxis(yLabel + ", log scale"));
+	    plot.setRenderer(new XYLineAndShapeRenderer(true, true));
+
+	    ChartPanel chartPanel = new ChartPanel(chart);
+	    chartPanel.setPreferredSize(new Dimension(800, 500));
+
+	    JDialog dialog = new JDialog(this, title, true);
 	    dialog.setContentPane(chartPanel);
 	    dialog.pack();
 	    dialog.setLocationRelativeTo(this);
 	    dialog.setVisible(true);
 	}
 
+ // One bar group per algorithm: mean, median and tail latency side by side.
+ private static DefaultCategoryDataset statsDataset(Collection<BenchmarkResult> results) {
+	    DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+	    for (BenchmarkResult r : results) {
+	        dataset.addValue(r.mean, "Mean", r.name);
+	        dataset.addValue(r.p50, "P50", r.name);
+	        dataset.addValue(r.p90, "P90", r.name);
+	        dataset.addValue(r.p99, "P99", r.name);
+	    }
+	    return dataset;
+	}
+
  /* ============================================================
  MAIN METHOD (ENTRY POINT)
  ============================================================ */
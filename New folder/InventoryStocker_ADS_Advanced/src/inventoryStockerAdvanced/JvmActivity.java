@@ -0,0 +1,126 @@
+package inventoryStockerAdvanced;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Locale;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/*
+ ============================================================================
+ JVM ACTIVITY (GC + JIT) AROUND BENCHMARK SAMPLES
+ Cumulative counters read outside the timed region:
+
+ - GC: collection count and accumulated collection time summed over all
+   GarbageCollectorMXBeans (young + old; for stop-the-world collectors
+   the time is pause time)
+ - JIT: CompilationMXBean total compilation time, in ms. Compiler
+   threads run concurrently, so a change means compilation finished
+   during the sample and competed for CPU or swapped code under it;
+   sub-millisecond compiles may go unnoticed
+
+ The harness snapshots before and after each measured sample and counts
+ the samples that overlapped either; BenchmarkResult reports those and
+ the mean over the clean samples only.
+
+ record() optionally wraps a run in a JFR recording ("profile" settings:
+ GC phases, compilations, safepoints, allocation) for offline analysis
+ in JDK Mission Control.
+ ============================================================================
+*/
+final class JvmActivity {
+
+    static final JvmActivity NONE = new JvmActivity(0, 0, 0, 0, 0, 0, Double.NaN);
+
+    private static final List<GarbageCollectorMXBean> COLLECTORS =
+        ManagementFactory.getGarbageCollectorMXBeans();
+    private static final CompilationMXBean COMPILER = ManagementFactory.getCompilationMXBean();
+    private static final boolean JIT_TIMED =
+        COMPILER != null && COMPILER.isCompilationTimeMonitoringSupported();
+
+    final long gcCount;
+    final long gcMillis;
+    final long jitMillis;
+    final int gcSamples;    // measured samples that overlapped a GC
+    final int jitSamples;   // ... that overlapped finished compilations
+    final int samples;
+    final double cleanMean; // mean over the other samples, NaN if none
+
+    JvmActivity(long gcCount, long gcMillis, long jitMillis,
+                int gcSamples, int jitSamples, int samples, double cleanMean) {
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.jitMillis = jitMillis;
+        this.gcSamples = gcSamples;
+        this.jitSamples = jitSamples;
+        this.samples = samples;
+        this.cleanMean = cleanMean;
+    }
+
+    boolean flagged() {
+        return gcSamples > 0 || jitSamples > 0;
+    }
+
+    @Override
+    public String toString() {
+        if (!flagged()) return "no GC/JIT during samples";
+        return String.format(Locale.ROOT,
+            "GC in %d/%d samples (%d collections, %d ms), JIT in %d/%d samples (%d ms), clean mean %.1f ns",
+            gcSamples, samples, gcCount, gcMillis, jitSamples, samples, jitMillis, cleanMean);
+    }
+
+    /* ============================================================
+       COUNTERS
+       ============================================================ */
+
+    /** Cumulative counters: { gcCount, gcMillis, jitMillis }, written into out. */
+    static void read(long[] out) {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        out[0] = count;
+        out[1] = millis;
+        out[2] = JIT_TIMED ? COMPILER.getTotalCompilationTime() : 0;
+    }
+
+    static boolean jitTimed() {
+        return JIT_TIMED;
+    }
+
+    /* ============================================================
+       JFR
+       ============================================================ */
+
+    interface Body<T> {
+        T run() throws Exception;
+    }
+
+    /** Runs body under a JFR recording dumped to file (also on failure). */
+    static <T> T record(Path file, Body<T> body) throws Exception {
+        Configuration settings;
+        try {
+            settings = Configuration.getConfiguration("profile");
+        } catch (ParseException e) {
+            throw new IOException("JFR settings 'profile' unreadable", e);
+        }
+        try (Recording recording = new Recording(settings)) {
+            recording.setName("inventory-benchmark");
+            recording.start();
+            try {
+                return body.run();
+            } finally {
+                recording.stop();
+                recording.dump(file);
+            }
+        }
+    }
+}
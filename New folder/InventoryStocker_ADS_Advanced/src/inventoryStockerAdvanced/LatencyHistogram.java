@@ -0,0 +1,63 @@
+package inventoryStockerAdvanced;
+
+/*
+ ============================================================================
+ LATENCY HISTOGRAM
+ Log-linear buckets over nanoseconds: each power of two is split into
+ 16 sub-buckets, so any recorded value is reported within ~6%.
+ Fixed size (64 x 16 longs), no allocation per record, so one per
+ thread can record millions of operations; merge() combines them.
+ Not thread-safe.
+ ============================================================================
+*/
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+    private long total;
+
+    void record(long nanos) {
+        counts[bucket(Math.max(0, nanos))]++;
+        total++;
+    }
+
+    void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+        total += other.total;
+    }
+
+    long count() {
+        return total;
+    }
+
+    /** Upper bound of the bucket holding the p-th percentile (0 < p <= 100). */
+    long percentile(double p) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(p / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) return upperBound(i);
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    // Values below 16 get exact buckets; above, the exponent picks the
+    // row and the next 4 bits below the leading one pick the column.
+    private static int bucket(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);          // >= SUB_BITS
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exp = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long base = (1L << exp) | ((long) sub << (exp - SUB_BITS));
+        return base + (1L << (exp - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,237 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/*
+ ============================================================================
+ MEMORY FOOTPRINT BENCHMARK
+ Per structure and catalog size:
+
+ - retained bytes per product: live heap after a forced GC with the
+   structure built, minus live heap once it is dropped (measuring
+   after the drop, not before the build, keeps leftovers of the
+   previous measurement out of the delta). Products are shared by
+   every structure, so this is the structure's own overhead (table,
+   nodes, entries); the "Products" row is the payload itself
+   (Product + SKU/name Strings), "Products (interned)" the same payload
+   with names shared through a NameInterner, the pool included
+ - allocated bytes per op, from ThreadMXBean.getThreadAllocatedBytes
+   (HotSpot's com.sun.management extension): "put" while building the
+   structure, "get" for lookups of loaded SKUs
+
+ Retained numbers depend on System.gc() actually collecting (not with
+ -XX:+DisableExplicitGC) and on the JVM's object layout (compressed
+ oops, alignment). Allocation is NaN where the JVM cannot count it.
+ The int-keyed structures only hold SKU_PATTERN SKUs, so they are
+ measured up to 26,000 products.
+ ============================================================================
+*/
+final class MemoryBenchmark {
+
+    static final String CSV_HEADER =
+        "Structure,n,RetainedBytesPerEntry,PutAllocBytesPerOp,GetAllocBytesPerOp";
+
+    private static final int MAX_LOOKUPS = 10_000;
+    private static final int MAX_LINEAR_LOOKUPS = 1_000;   // linear get is O(n)
+
+    private static volatile long blackhole;
+    private static Subject live;   // structure being measured; nulled to release it
+
+    private MemoryBenchmark() {}
+
+    static final class Row {
+        final String structure;
+        final int n;
+        final double retainedPerEntry;
+        final double putAllocPerOp;
+        final double getAllocPerOp;
+
+        Row(String structure, int n, double retainedPerEntry, double putAllocPerOp, double getAllocPerOp) {
+            this.structure = structure;
+            this.n = n;
+            this.retainedPerEntry = retainedPerEntry;
+            this.putAllocPerOp = putAllocPerOp;
+            this.getAllocPerOp = getAllocPerOp;
+        }
+
+        String toCsvRow() {
+            return String.format(Locale.ROOT, "%s,%d,%.1f,%.1f,%.1f",
+                structure, n, retainedPerEntry, putAllocPerOp, getAllocPerOp);
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT, "%-22s n=%-8d retained %6.1f B/entry | put %6.1f B/op | get %5.1f B/op",
+                structure, n, retainedPerEntry, putAllocPerOp, getAllocPerOp);
+        }
+    }
+
+    /** A structure under test: how to fill it and how to look one SKU up. */
+    private interface Subject {
+        void put(Product p);
+        Object get(Product p);
+    }
+
+    /* ============================================================
+       RUN
+       ============================================================ */
+
+    /** A discarded pass at the smallest size runs first (class loading, JIT). */
+    static List<Row> run(int[] sizes, long seed, BenchmarkHarness.Progress progress) {
+        measureAt(sizes[0], seed);
+
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < sizes.length; i++) {
+            rows.addAll(measureAt(sizes[i], seed));
+            progress.sample("Memory n=" + sizes[i], i + 1, sizes.length);
+        }
+        return rows;
+    }
+
+    private static List<Row> measureAt(int n, long seed) {
+        List<Row> rows = new ArrayList<>();
+        // payload: products built from freshly generated Strings
+        List<Product> products = new ArrayList<>(catalog(n, seed));
+        long withProducts = usedHeap();
+
+        rows.add(measure("ArrayList", products, () -> {
+            List<Product> list = new ArrayList<>();
+            return new Subject() {
+                public void put(Product p) { list.add(p); }
+                public Object get(Product p) {
+                    for (Product x : list) if (x.sku.equals(p.sku)) return x;
+                    return null;
+                }
+            };
+        }, MAX_LINEAR_LOOKUPS));
+
+        rows.add(measure("HashMap", products, () -> {
+            Map<String, Product> map = new HashMap<>();
+            return new Subject() {
+                public void put(Product p) { map.put(p.sku, p); }
+                public Object get(Product p) { return map.get(p.sku); }
+            };
+        }, MAX_LOOKUPS));
+
+        rows.add(measure("TreeMap", products, () -> {
+            TreeMap<String, Product> map = new TreeMap<>();
+            return new Subject() {
+                public void put(Product p) { map.put(p.sku, p); }
+                public Object get(Product p) { return map.get(p.sku); }
+            };
+        }, MAX_LOOKUPS));
+
+        if (n <= SkuCodec.CARDINALITY) {
+            rows.add(measure("IntProductMap", products, () -> {
+                IntProductMap map = new IntProductMap();
+                return new Subject() {
+                    public void put(Product p) { map.put(SkuCodec.encode(p.sku), p); }
+                    public Object get(Product p) { return map.get(SkuCodec.encode(p.sku)); }
+                };
+            }, MAX_LOOKUPS));
+
+            rows.add(measure("IntSortedProductIndex", products, () -> {
+                IntSortedProductIndex index = new IntSortedProductIndex();
+                return new Subject() {
+                    public void put(Product p) { index.put(SkuCodec.encode(p.sku), p); }
+                    public Object get(Product p) { return index.get(SkuCodec.encode(p.sku)); }
+                };
+            }, MAX_LOOKUPS));
+        }
+
+        products.clear();
+        rows.add(0, new Row("Products", n,
+            (withProducts - usedHeap()) / (double) n, Double.NaN, Double.NaN));
+
+        // the same payload with names shared through a NameInterner (pool included)
+        products = new ArrayList<>(catalog(n, seed));
+        NameInterner pool = new NameInterner();
+        for (Product p : products) p.name = pool.intern(p.name);
+        long withInterned = usedHeap();
+        products.clear();
+        pool = null;
+        rows.add(1, new Row("Products (interned)", n,
+            (withInterned - usedHeap()) / (double) n, Double.NaN, Double.NaN));
+        return rows;
+    }
+
+    private static Row measure(String name, List<Product> products, Supplier<Subject> factory, int maxLookups) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Memory benchmark cancelled");
+        }
+        int n = products.size();
+
+        live = factory.get();
+
+        long allocBefore = allocatedBytes();
+        for (Product p : products) live.put(p);
+        long allocAfter = allocatedBytes();
+        long heapWith = usedHeap();
+
+        int lookups = Math.min(n, maxLookups);
+        long found = 0;
+        for (int i = 0; i < lookups; i++) if (live.get(products.get(i)) != null) found++;   // warm-up
+
+        long getBefore = allocatedBytes();
+        for (int i = 0; i < lookups; i++) if (live.get(products.get(i)) != null) found++;
+        long getAfter = allocatedBytes();
+
+        blackhole = found;
+        live = null;
+        long heapWithout = usedHeap();
+
+        return new Row(name, n,
+            (heapWith - heapWithout) / (double) n,
+            perOp(allocBefore, allocAfter, n),
+            perOp(getBefore, getAfter, lookups));
+    }
+
+    private static List<Product> catalog(int n, long seed) {
+        WorkloadGenerator.Catalog c = WorkloadGenerator.catalog(n, 1.0, seed);
+        List<Product> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) list.add(new Product(c.skus[i], c.names[i], c.quantities[i]));
+        return list;
+    }
+
+    /* ============================================================
+       HEAP + ALLOCATION PROBES
+       ============================================================ */
+
+    // Live heap: the lowest reading over five forced GCs. Serial's full
+    // GC may leave dead objects uncompacted ("dead wood", counted as used)
+    // and only compacts fully every 4th collection.
+    static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+
+    /** Bytes allocated so far by this thread, or -1 if not available. */
+    static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static double perOp(long before, long after, int ops) {
+        return before < 0 || ops == 0 ? Double.NaN : (after - before) / (double) ops;
+    }
+}
@@ -0,0 +1,105 @@
+package inventoryStockerAdvanced;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ ============================================================================
+ PRODUCT NAME INTERNING POOL
+ Catalogs repeat a few thousand names across millions of products
+ ("Logitech Wireless Mouse Black"), and every parse, log replay or
+ snapshot load builds a fresh String for each. intern() maps equal
+ names to one canonical instance, so the duplicates become garbage
+ right away instead of living as long as their Product.
+
+ - concurrent: a ConcurrentHashMap, safe from the EDT, background
+   tasks and import workers at once; a hit is one lock-free get()
+ - bounded: past maxSize distinct names, new names are returned as
+   they are (a catalog of unique names gains nothing from a pool)
+ - private to the app rather than String.intern(): the JVM string
+   table is global, never shrinks here, and cannot be measured
+
+ Saved bytes count the String + byte[] that each deduplicated
+ occurrence would have kept alive (compressed oops, 8-byte alignment).
+ ============================================================================
+*/
+final class NameInterner {
+
+    static final int DEFAULT_MAX_SIZE = 1 << 20;
+
+    private final ConcurrentHashMap<String, String> pool = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    NameInterner() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    NameInterner(int maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("Negative pool size: " + maxSize);
+        this.maxSize = maxSize;
+    }
+
+    /** The canonical instance equal to s (s itself when first seen or the pool is full). */
+    String intern(String s) {
+        if (s == null) return null;
+        String canonical = pool.get(s);
+        if (canonical == null) {
+            if (pool.size() >= maxSize) {
+                bypassed.increment();
+                return s;
+            }
+            canonical = pool.putIfAbsent(s, s);
+            if (canonical == null) return s;
+        }
+        if (canonical != s) {   // already-canonical names (re-indexing) save nothing
+            hits.increment();
+            savedBytes.add(footprint(s));
+        }
+        return canonical;
+    }
+
+    /** Forgets the pooled names and the counters; instances already handed out stay valid. */
+    void clear() {
+        pool.clear();
+        hits.reset();
+        bypassed.reset();
+        savedBytes.reset();
+    }
+
+    int size() {
+        return pool.size();
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long savedBytes() {
+        return savedBytes.sum();
+    }
+
+    /** Heap held by the pool itself: table entries plus the canonical Strings. */
+    long poolBytes() {
+        long bytes = 0;
+        for (String s : pool.keySet()) bytes += 32 + footprint(s);   // 32: CHM node
+        return bytes + 4L * pool.size() * 2;                        // table slots at ~50% load
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d distinct names | %,d duplicates shared | ~%,d KB saved | pool ~%,d KB%s",
+            size(), hits(), savedBytes() >> 10, poolBytes() >> 10,
+            bypassed.sum() == 0 ? "" : String.format(" | %,d names past the %,d cap", bypassed.sum(), maxSize));
+    }
+
+    /** String object (24 B) + its byte[] (16 B header + Latin-1 or UTF-16 payload, aligned). */
+    static long footprint(String s) {
+        boolean latin1 = true;
+        for (int i = 0; i < s.length() && latin1; i++) latin1 = s.charAt(i) < 0x100;
+        long payload = latin1 ? s.length() : 2L * s.length();
+        return 24 + ((16 + payload + 7) & ~7L);
+    }
+}
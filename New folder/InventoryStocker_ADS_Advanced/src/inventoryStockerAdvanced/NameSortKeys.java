@@ -0,0 +1,99 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ ============================================================================
+ NAME SORT KEYS (DECORATE – SORT – UNDECORATE)
+ Comparator.comparing(p -> p.name.toLowerCase()) folds case on every
+ comparison: O(n log n) String allocations per sort. Here each name is
+ folded exactly once into a sort key, the (key, product) pairs are
+ sorted on the keys, and the products are written back in key order.
+
+ - byte[] keys: lower-cased (Locale.ROOT) UTF-8, compared unsigned.
+   Same order as the comparator path for all BMP names.
+ - CollationKey: locale-aware ordering from a java.text.Collator.
+ Both go through TimSort, so equal names keep their relative order.
+ ============================================================================
+*/
+final class NameSortKeys {
+
+    private NameSortKeys() {}
+
+    private static final class ByteKeyed {
+        final byte[] key;
+        final Product product;
+
+        ByteKeyed(byte[] key, Product product) {
+            this.key = key;
+            this.product = product;
+        }
+    }
+
+    private static final class CollationKeyed {
+        final CollationKey key;
+        final Product product;
+
+        CollationKeyed(CollationKey key, Product product) {
+            this.key = key;
+            this.product = product;
+        }
+    }
+
+    private static final Comparator<ByteKeyed> BY_BYTES =
+        (a, b) -> Arrays.compareUnsigned(a.key, b.key);
+
+    private static final Comparator<CollationKeyed> BY_COLLATION =
+        (a, b) -> a.key.compareTo(b.key);
+
+    static byte[] foldedKey(String name) {
+        return name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The foldedKey order without building keys: lower-cases char by char.
+     * Differs only for the few chars whose lower case is not one char ('İ').
+     */
+    static final Comparator<Product> FOLDED_ORDER = (a, b) -> {
+        String x = a.name, y = b.name;
+        int n = Math.min(x.length(), y.length());
+        for (int i = 0; i < n; i++) {
+            char c = Character.toLowerCase(x.charAt(i));
+            char d = Character.toLowerCase(y.charAt(i));
+            if (c != d) return Character.compare(c, d);
+        }
+        return x.length() - y.length();
+    };
+
+    /** Sorts list in place by case-insensitive name. */
+    static void sortByName(List<Product> list) {
+        ByteKeyed[] keyed = new ByteKeyed[list.size()];
+        int i = 0;
+        for (Product p : list) keyed[i++] = new ByteKeyed(foldedKey(p.name), p);
+
+        Arrays.sort(keyed, BY_BYTES);
+
+        for (i = 0; i < keyed.length; i++) list.set(i, keyed[i].product);
+    }
+
+    /** Sorts list in place by name using the collator's locale rules. */
+    static void sortByName(List<Product> list, Collator collator) {
+        CollationKeyed[] keyed = new CollationKeyed[list.size()];
+        int i = 0;
+        for (Product p : list) {
+            keyed[i++] = new CollationKeyed(collator.getCollationKey(p.name), p);
+        }
+
+        Arrays.sort(keyed, BY_COLLATION);
+
+        for (i = 0; i < keyed.length; i++) list.set(i, keyed[i].product);
+    }
+}
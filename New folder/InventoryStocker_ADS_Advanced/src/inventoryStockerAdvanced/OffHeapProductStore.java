@@ -0,0 +1,402 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/*
+ ============================================================================
+ OFF-HEAP PRODUCT STORE
+ Products as records in direct ByteBuffer slabs, indexed by an
+ open-addressing hash table that is itself a direct buffer of longs.
+ The collector sees a handful of buffer objects instead of tens of
+ millions of Products, Strings and map nodes, so neither heap size nor
+ GC pause time grows with the catalog.
+
+   record  int skuHash, int quantity, ushort skuChars, ushort nameChars,
+           byte flags (LATIN1 per string), then SKU and name chars at
+           1 byte (Latin-1) or 2 bytes (UTF-16) each
+   index   capacity longs: (hash bits 8..31 << 40) | (address + 1), 0 =
+           empty; address = slab * SLAB_BYTES + offset. The hash bits
+           reject most mismatches without touching the record. Linear
+           probing, backward-shift deletion (no tombstones)
+
+ find / quantityAt / setQuantityAt / adjust / contains compare the
+ query String char by char against the record and allocate nothing on
+ the heap. get() and forEach() materialize Products for display and for
+ moving back on-heap.
+
+ A put that changes the name appends a fresh record (quantity-only
+ updates are in place); replaced and removed records are dead bytes,
+ reclaimed by compaction once they outweigh the live ones. Direct
+ memory is capped by -XX:MaxDirectMemorySize (default: the max heap
+ size). Not thread-safe.
+ ============================================================================
+*/
+final class OffHeapProductStore implements ProductStore {
+
+    static final int SLAB_BYTES = 1 << 24;
+    private static final int SLAB_SHIFT = 24;
+    private static final int HEADER = 13;
+    private static final int LATIN1_SKU = 1, LATIN1_NAME = 2;
+    private static final long ADDRESS_MASK = (1L << 40) - 1;
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final int MAX_CAPACITY = 1 << 27;   // 1 GB of index
+
+    private ByteBuffer[] slabs = new ByteBuffer[4];
+    private int slabCount;
+    private int tail;        // write offset in the last slab
+    private ByteBuffer table;
+    private int mask;
+    private int size;
+    private long liveBytes;
+    private long deadBytes;
+
+    OffHeapProductStore(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity < expectedSize * 2L) capacity <<= 1;
+        table = direct((long) capacity * 8);
+        mask = capacity - 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Native bytes reserved: slabs plus index. */
+    long offHeapBytes() {
+        return (long) slabCount * SLAB_BYTES + table.capacity();
+    }
+
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    @Override
+    public String describe() {
+        return String.format("Off-heap: %,d products | direct buffers %,d MB (%,d MB live records)",
+            size, offHeapBytes() >> 20, liveBytes >> 20);
+    }
+
+    /* ============================================================
+       ALLOCATION-FREE ACCESS
+       ============================================================ */
+
+    /** Address of the record for sku, or -1. */
+    long find(String sku) {
+        int h = sku.hashCode();
+        long tag = tag(h);
+        for (int i = spread(h) & mask; ; i = (i + 1) & mask) {
+            long e = table.getLong(i << 3);
+            if (e == 0) return -1;
+            if ((e & ~ADDRESS_MASK) == tag) {
+                long addr = (e & ADDRESS_MASK) - 1;
+                if (skuEquals(addr, sku)) return addr;
+            }
+        }
+    }
+
+    boolean contains(String sku) {
+        return find(sku) >= 0;
+    }
+
+    int quantityAt(long addr) {
+        return slab(addr).getInt(offset(addr) + 4);
+    }
+
+    void setQuantityAt(long addr, int quantity) {
+        slab(addr).putInt(offset(addr) + 4, quantity);
+    }
+
+    /** quantity += delta; false if the SKU is absent. */
+    boolean adjust(String sku, int delta) {
+        long addr = find(sku);
+        if (addr < 0) return false;
+        setQuantityAt(addr, quantityAt(addr) + delta);
+        return true;
+    }
+
+    /* ============================================================
+       MATERIALIZING ACCESS + MUTATION
+       ============================================================ */
+
+    @Override
+    public Product get(String sku) {
+        long addr = find(sku);
+        return addr < 0 ? null : product(addr);
+    }
+
+    @Override
+    public boolean put(String sku, String name, int quantity) {
+        int h = sku.hashCode();
+        long tag = tag(h);
+        int i = spread(h) & mask;
+        for (long e; (e = table.getLong(i << 3)) != 0; i = (i + 1) & mask) {
+            if ((e & ~ADDRESS_MASK) != tag) continue;
+            long addr = (e & ADDRESS_MASK) - 1;
+            if (!skuEquals(addr, sku)) continue;
+            if (nameEquals(addr, name)) {
+                setQuantityAt(addr, quantity);
+            } else {
+                deadBytes += recordBytes(addr);
+                liveBytes -= recordBytes(addr);
+                table.putLong(i << 3, tag | (append(h, sku, name, quantity) + 1));
+                if (deadBytes > liveBytes && deadBytes > SLAB_BYTES) compact();
+            }
+            return true;
+        }
+        table.putLong(i << 3, tag | (append(h, sku, name, quantity) + 1));
+        if (++size > threshold()) rehash((mask + 1) << 1);
+        return false;
+    }
+
+    @Override
+    public boolean remove(String sku) {
+        int h = sku.hashCode();
+        long tag = tag(h);
+        int i = spread(h) & mask;
+        for (long e; ; i = (i + 1) & mask) {
+            e = table.getLong(i << 3);
+            if (e == 0) return false;
+            if ((e & ~ADDRESS_MASK) == tag && skuEquals((e & ADDRESS_MASK) - 1, sku)) {
+                long addr = (e & ADDRESS_MASK) - 1;
+                deadBytes += recordBytes(addr);
+                liveBytes -= recordBytes(addr);
+                break;
+            }
+        }
+        // backward-shift: pull later entries of the probe chain into the gap
+        int gap = i;
+        for (int j = (gap + 1) & mask; ; j = (j + 1) & mask) {
+            long e = table.getLong(j << 3);
+            if (e == 0) break;
+            int home = spread(hashAt((e & ADDRESS_MASK) - 1)) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table.putLong(gap << 3, e);
+                gap = j;
+            }
+        }
+        table.putLong(gap << 3, 0);
+        size--;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slabs, null);
+        slabCount = 0;
+        tail = 0;
+        table = direct((long) MIN_CAPACITY * 8);
+        mask = MIN_CAPACITY - 1;
+        size = 0;
+        liveBytes = 0;
+        deadBytes = 0;
+    }
+
+    /** Visits every product (materialized), in index order. */
+    @Override
+    public void forEach(Consumer<Product> action) {
+        for (int i = 0; i <= mask; i++) {
+            long e = table.getLong(i << 3);
+            if (e != 0) action.accept(product((e & ADDRESS_MASK) - 1));
+        }
+    }
+
+    /** An independent copy (native memcpy of the slabs and index), e.g. a checkpoint view. */
+    @Override
+    public OffHeapProductStore copy() {
+        OffHeapProductStore c = new OffHeapProductStore(0);
+        c.slabs = new ByteBuffer[slabs.length];
+        for (int s = 0; s < slabCount; s++) c.slabs[s] = copyOf(slabs[s]);
+        c.slabCount = slabCount;
+        c.tail = tail;
+        c.table = copyOf(table);
+        c.mask = mask;
+        c.size = size;
+        c.liveBytes = liveBytes;
+        c.deadBytes = deadBytes;
+        return c;
+    }
+
+    /* ============================================================
+       RECORDS
+       ============================================================ */
+
+    private long append(int hash, String sku, String name, int quantity) {
+        if (sku.length() > 0xFFFF || name.length() > 0xFFFF) {
+            throw new IllegalArgumentException("SKU/name over 65535 chars: " + sku);
+        }
+        boolean skuLatin1 = latin1(sku);
+        boolean nameLatin1 = latin1(name);
+        int bytes = HEADER + sku.length() * (skuLatin1 ? 1 : 2) + name.length() * (nameLatin1 ? 1 : 2);
+        if (slabCount == 0 || tail + bytes > SLAB_BYTES) newSlab();
+
+        ByteBuffer b = slabs[slabCount - 1];
+        int off = tail;
+        b.putInt(off, hash).putInt(off + 4, quantity)
+            .putShort(off + 8, (short) sku.length()).putShort(off + 10, (short) name.length())
+            .put(off + 12, (byte) ((skuLatin1 ? LATIN1_SKU : 0) | (nameLatin1 ? LATIN1_NAME : 0)));
+        int p = putChars(b, off + HEADER, sku, skuLatin1);
+        putChars(b, p, name, nameLatin1);
+        tail += bytes;
+        liveBytes += bytes;
+        return ((long) (slabCount - 1) << SLAB_SHIFT) + off;
+    }
+
+    private Product product(long addr) {
+        ByteBuffer b = slab(addr);
+        int off = offset(addr);
+        int skuLen = b.getShort(off + 8) & 0xFFFF;
+        int nameLen = b.getShort(off + 10) & 0xFFFF;
+        int flags = b.get(off + 12);
+        int p = off + HEADER;
+        String sku = string(b, p, skuLen, (flags & LATIN1_SKU) != 0);
+        p += skuLen * ((flags & LATIN1_SKU) != 0 ? 1 : 2);
+        return new Product(sku, string(b, p, nameLen, (flags & LATIN1_NAME) != 0), b.getInt(off + 4));
+    }
+
+    private boolean skuEquals(long addr, String sku) {
+        ByteBuffer b = slab(addr);
+        int off = offset(addr);
+        return charsEqual(b, off + HEADER, b.getShort(off + 8) & 0xFFFF, (b.get(off + 12) & LATIN1_SKU) != 0, sku);
+    }
+
+    private boolean nameEquals(long addr, String name) {
+        ByteBuffer b = slab(addr);
+        int off = offset(addr);
+        int skuLen = b.getShort(off + 8) & 0xFFFF;
+        int flags = b.get(off + 12);
+        int p = off + HEADER + skuLen * ((flags & LATIN1_SKU) != 0 ? 1 : 2);
+        return charsEqual(b, p, b.getShort(off + 10) & 0xFFFF, (flags & LATIN1_NAME) != 0, name);
+    }
+
+    private static boolean charsEqual(ByteBuffer b, int p, int len, boolean latin1, String s) {
+        if (len != s.length()) return false;
+        for (int i = 0; i < len; i++) {
+            char c = latin1 ? (char) (b.get(p + i) & 0xFF) : b.getChar(p + 2 * i);
+            if (c != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private int recordBytes(long addr) {
+        return HEADER + dataBytes(slab(addr), offset(addr));
+    }
+
+    private static int dataBytes(ByteBuffer b, int off) {
+        int flags = b.get(off + 12);
+        return (b.getShort(off + 8) & 0xFFFF) * ((flags & LATIN1_SKU) != 0 ? 1 : 2)
+            + (b.getShort(off + 10) & 0xFFFF) * ((flags & LATIN1_NAME) != 0 ? 1 : 2);
+    }
+
+    private int hashAt(long addr) {
+        return slab(addr).getInt(offset(addr));
+    }
+
+    /* ============================================================
+       GROWTH + COMPACTION
+       ============================================================ */
+
+    private int threshold() {
+        int capacity = mask + 1;
+        return capacity < MAX_CAPACITY ? capacity >> 1 : (int) (capacity * 0.9);
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAX_CAPACITY) throw new IllegalStateException("Off-heap index full at " + size + " products");
+        ByteBuffer old = table;
+        table = direct((long) capacity * 8);
+        mask = capacity - 1;
+        for (int i = 0; i < old.capacity(); i += 8) {
+            long e = old.getLong(i);
+            if (e == 0) continue;
+            int j = spread(hashAt((e & ADDRESS_MASK) - 1)) & mask;
+            while (table.getLong(j << 3) != 0) j = (j + 1) & mask;
+            table.putLong(j << 3, e);
+        }
+    }
+
+    /** Copies the live records into fresh slabs and repoints the index. */
+    private void compact() {
+        ByteBuffer[] oldSlabs = slabs;
+        slabs = new ByteBuffer[4];
+        slabCount = 0;
+        tail = 0;
+        for (int i = 0; i <= mask; i++) {
+            long e = table.getLong(i << 3);
+            if (e == 0) continue;
+            long addr = (e & ADDRESS_MASK) - 1;
+            ByteBuffer from = oldSlabs[(int) (addr >>> SLAB_SHIFT)];
+            int off = (int) (addr & (SLAB_BYTES - 1));
+            int bytes = HEADER + dataBytes(from, off);
+            if (slabCount == 0 || tail + bytes > SLAB_BYTES) newSlab();
+            ByteBuffer to = slabs[slabCount - 1];
+            to.put(tail, from, off, bytes);
+            table.putLong(i << 3, (e & ~ADDRESS_MASK) | (((long) (slabCount - 1) << SLAB_SHIFT) + tail + 1));
+            tail += bytes;
+        }
+        deadBytes = 0;
+    }
+
+    private void newSlab() {
+        if (slabCount == slabs.length) slabs = Arrays.copyOf(slabs, slabCount * 2);
+        slabs[slabCount++] = direct(SLAB_BYTES);
+        tail = 0;
+    }
+
+    /* ============================================================
+       HELPERS
+       ============================================================ */
+
+    private ByteBuffer slab(long addr) {
+        return slabs[(int) (addr >>> SLAB_SHIFT)];
+    }
+
+    private static int offset(long addr) {
+        return (int) (addr & (SLAB_BYTES - 1));
+    }
+
+    private static long tag(int hash) {
+        return (long) (hash >>> 8) << 40;
+    }
+
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) * 0x9E3779B1;
+    }
+
+    private static boolean latin1(String s) {
+        for (int i = 0; i < s.length(); i++) if (s.charAt(i) > 0xFF) return false;
+        return true;
+    }
+
+    private static int putChars(ByteBuffer b, int p, String s, boolean latin1) {
+        for (int i = 0; i < s.length(); i++) {
+            if (latin1) b.put(p++, (byte) s.charAt(i));
+            else {
+                b.putChar(p, s.charAt(i));
+                p += 2;
+            }
+        }
+        return p;
+    }
+
+    private static String string(ByteBuffer b, int p, int len, boolean latin1) {
+        char[] c = new char[len];
+        for (int i = 0; i < len; i++) c[i] = latin1 ? (char) (b.get(p + i) & 0xFF) : b.getChar(p + 2 * i);
+        return new String(c);
+    }
+
+    private static ByteBuffer direct(long bytes) {
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private static ByteBuffer copyOf(ByteBuffer b) {
+        ByteBuffer c = direct(b.capacity());
+        c.put(0, b, 0, b.capacity());
+        return c;
+    }
+}
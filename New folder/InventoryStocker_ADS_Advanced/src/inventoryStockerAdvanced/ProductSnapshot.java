@@ -0,0 +1,329 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+ ============================================================================
+ MEMORY-MAPPED CATALOG SNAPSHOT
+ The whole catalog plus its hash-table layout in one file, opened with
+ FileChannel.map: opening costs a header check, not a rebuild, and
+ Products are materialized only when a lookup touches them.
+
+ Layout (big-endian):
+
+   header   magic "INVSNAP1", int count, int tableCapacity, long lsn,
+            long tableOffset, long stringsOffset
+   entries  count x 16 bytes in SKU order: int stringOffset,
+            ushort skuBytes, ushort nameBytes, int quantity, int skuHash
+   table    tableCapacity ints: entry index + 1, 0 = empty; open
+            addressing, linear probing on skuHash, load <= 0.5
+   strings  UTF-8 SKU bytes immediately followed by the name bytes
+
+ A lookup hashes the query SKU, probes the table and compares stored
+ hashes, then raw UTF-8 bytes; only a hit allocates (one Product, two
+ Strings). lsn is the last write-ahead-log record the snapshot
+ contains: recovery replays only the records after it.
+
+ The file is written to a temporary sibling, forced and renamed into
+ place, so a crash leaves the old snapshot or the new one. One mapping
+ limits the file to 2 GB (~30M products at catalog-typical lengths).
+
+ Generations: each checkpoint writes a new "<base>.<lsn>" file instead
+ of replacing the one that may still be mapped (Windows refuses to
+ replace or delete a file with a live mapping, and close() cannot end
+ the mapping; only GC does). Startup opens the newest generation;
+ older ones are deleted once nothing maps them, and a file the OS will
+ not delete yet is retried at the next checkpoint.
+ ============================================================================
+*/
+final class ProductSnapshot implements Closeable {
+
+    static final String DEFAULT_FILE = "inventory.snapshot";   // base name of the generations
+
+    private static final long MAGIC = 0x494E56534E415031L;   // "INVSNAP1"
+    private static final int HEADER = 8 + 4 + 4 + 8 + 8 + 8;
+    private static final int ENTRY = 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final int count;
+    private final int mask;
+    private final long lsn;
+    private final int tableOffset;
+    private final int stringsOffset;
+
+    private ProductSnapshot(Path file, FileChannel channel, MappedByteBuffer map) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.map = map;
+        if (map.capacity() < HEADER || map.getLong(0) != MAGIC) {
+            throw new IOException("Not an inventory snapshot");
+        }
+        this.count = map.getInt(8);
+        int capacity = map.getInt(12);
+        this.lsn = map.getLong(16);
+        this.tableOffset = (int) map.getLong(24);
+        this.stringsOffset = (int) map.getLong(32);
+        if (count < 0 || Integer.bitCount(capacity) != 1 || capacity < count
+                || tableOffset != HEADER + (long) count * ENTRY
+                || stringsOffset != tableOffset + 4L * capacity
+                || stringsOffset > map.capacity()) {
+            throw new IOException("Corrupt inventory snapshot header");
+        }
+        this.mask = capacity - 1;
+    }
+
+    /** Maps the file read-only; O(1) in the catalog size. */
+    static ProductSnapshot open(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("Snapshot larger than 2 GB: " + file);
+            return new ProductSnapshot(file, ch, ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int size() {
+        return count;
+    }
+
+    long lsn() {
+        return lsn;
+    }
+
+    /* ============================================================
+       QUERIES (LAZY MATERIALIZATION)
+       ============================================================ */
+
+    /** The product with this SKU, materialized on the fly, or null. */
+    Product get(String sku) {
+        int i = indexOf(sku);
+        return i < 0 ? null : product(i);
+    }
+
+    boolean contains(String sku) {
+        return indexOf(sku) >= 0;
+    }
+
+    /** The i-th product in SKU order (0 .. size-1). */
+    Product product(int i) {
+        int e = HEADER + i * ENTRY;
+        int off = map.getInt(e);
+        int skuLen = map.getShort(e + 4) & 0xFFFF;
+        int nameLen = map.getShort(e + 6) & 0xFFFF;
+        return new Product(string(off, skuLen), string(off + skuLen, nameLen), map.getInt(e + 8));
+    }
+
+    String sku(int i) {
+        int e = HEADER + i * ENTRY;
+        return string(map.getInt(e), map.getShort(e + 4) & 0xFFFF);
+    }
+
+    /** Entry index of this SKU, or -1. */
+    int indexOf(String sku) {
+        byte[] key = sku.getBytes(StandardCharsets.UTF_8);
+        int h = sku.hashCode();
+        for (int slot = spread(h) & mask; ; slot = (slot + 1) & mask) {
+            int ref = map.getInt(tableOffset + 4 * slot);
+            if (ref == 0) return -1;
+            int e = HEADER + (ref - 1) * ENTRY;
+            if (map.getInt(e + 12) == h && bytesEqual(map.getInt(e), map.getShort(e + 4) & 0xFFFF, key)) {
+                return ref - 1;
+            }
+        }
+    }
+
+    private boolean bytesEqual(int off, int len, byte[] key) {
+        if (len != key.length) return false;
+        int base = stringsOffset + off;
+        for (int i = 0; i < len; i++) if (map.get(base + i) != key[i]) return false;
+        return true;
+    }
+
+    private String string(int off, int len) {
+        byte[] b = new byte[len];
+        map.get(stringsOffset + off, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) * 0x9E3779B1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();   // the mapping itself is released when map is collected
+    }
+
+    /* ============================================================
+       GENERATIONS
+       ============================================================ */
+
+    /** The file of the generation that covers the log through lsn. */
+    static Path generation(Path base, long lsn) {
+        return base.resolveSibling(base.getFileName() + "." + lsn);
+    }
+
+    /** The newest generation under base, or null if there is none. */
+    static Path newest(Path base) throws IOException {
+        List<Path> all = generations(base);
+        return all.isEmpty() ? null : all.get(all.size() - 1);
+    }
+
+    /** Generation files under base, oldest first; a plain base file (one-file layout) is the oldest. */
+    static List<Path> generations(Path base) throws IOException {
+        List<Path> found = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(
+                 base.toAbsolutePath().getParent(), p -> generationLsn(base, p) >= 0)) {
+            for (Path p : ds) found.add(base.resolveSibling(p.getFileName()));
+        }
+        found.sort(Comparator.comparingLong(p -> generationLsn(base, p)));
+        return found;
+    }
+
+    /**
+     * Deletes the generations older than newest except keep (still
+     * mapped, may be null); returns how many went. Files the OS will not
+     * delete yet are skipped and retried on a later call.
+     */
+    static int deleteOlder(Path base, Path newest, Path keep) throws IOException {
+        long upTo = generationLsn(base, newest);
+        int deleted = 0;
+        for (Path p : generations(base)) {
+            if (generationLsn(base, p) >= upTo || p.equals(keep)) continue;
+            try {
+                if (Files.deleteIfExists(p)) deleted++;
+            } catch (IOException stillMapped) {
+                // Windows: a closed snapshot stays mapped until its buffer is collected
+            }
+        }
+        return deleted;
+    }
+
+    /** LSN in a generation's name; 0 for the plain base file, -1 if not a generation. */
+    private static long generationLsn(Path base, Path file) {
+        String name = file.getFileName().toString();
+        String prefix = base.getFileName() + ".";
+        if (name.equals(base.getFileName().toString())) return 0;
+        if (!name.startsWith(prefix)) return -1;
+        try {
+            return Long.parseLong(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;   // e.g. a ".tmp" sibling
+        }
+    }
+
+    /* ============================================================
+       WRITE
+       ============================================================ */
+
+    /** Writes products (unique SKUs) and the log position they reflect. */
+    static void write(Path file, List<Product> products, long lsn) throws IOException {
+        Product[] sorted = products.toArray(new Product[0]);
+        Arrays.sort(sorted, SortKernels.BY_SKU);
+        int n = sorted.length;
+
+        int capacity = Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1;   // >= 2n
+        long tableOffset = HEADER + (long) n * ENTRY;
+        long stringsOffset = tableOffset + 4L * capacity;
+        if (stringsOffset > Integer.MAX_VALUE) throw new IOException("Catalog too large for one snapshot");
+
+        int mask = capacity - 1;
+        int[] table = new int[capacity];
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // entries and strings stream side by side to their own regions
+            Region entries = new Region(ch, HEADER);
+            Region strings = new Region(ch, stringsOffset);
+            long off = 0;
+            for (int i = 0; i < n; i++) {
+                Product p = sorted[i];
+                if (i > 0 && p.sku.equals(sorted[i - 1].sku)) throw new IOException("Duplicate SKU " + p.sku);
+                byte[] sku = p.sku.getBytes(StandardCharsets.UTF_8);
+                byte[] name = p.name.getBytes(StandardCharsets.UTF_8);
+                if (sku.length > 0xFFFF || name.length > 0xFFFF) {
+                    throw new IOException("SKU/name over 65535 bytes: " + p.sku);
+                }
+                if (stringsOffset + off + sku.length + name.length > Integer.MAX_VALUE) {
+                    throw new IOException("Catalog too large for one snapshot mapping");
+                }
+
+                int h = p.sku.hashCode();
+                entries.buf().putInt((int) off).putShort((short) sku.length).putShort((short) name.length)
+                    .putInt(p.quantity).putInt(h);
+                strings.put(sku);
+                strings.put(name);
+                off += sku.length + name.length;
+
+                int slot = spread(h) & mask;
+                while (table[slot] != 0) slot = (slot + 1) & mask;
+                table[slot] = i + 1;
+            }
+            entries.flush();
+            strings.flush();
+
+            Region tail = new Region(ch, 0);
+            tail.buf().putLong(MAGIC).putInt(n).putInt(capacity).putLong(lsn)
+                .putLong(tableOffset).putLong(stringsOffset);
+            tail.flush();
+            tail = new Region(ch, tableOffset);
+            for (int t : table) tail.buf().putInt(t);
+            tail.flush();
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Buffered positional writes to one region of the file. */
+    private static final class Region {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocate(1 << 20);
+        private long position;
+
+        Region(FileChannel ch, long position) {
+            this.ch = ch;
+            this.position = position;
+        }
+
+        /** The buffer, with room for at least one more fixed-size record. */
+        ByteBuffer buf() throws IOException {
+            if (buf.remaining() < 64) flush();
+            return buf;
+        }
+
+        void put(byte[] bytes) throws IOException {
+            if (buf.remaining() < bytes.length) flush();
+            buf.put(bytes);   // <= 64 KB, always fits an empty buffer
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) position += ch.write(buf, position);
+            buf.clear();
+        }
+    }
+}
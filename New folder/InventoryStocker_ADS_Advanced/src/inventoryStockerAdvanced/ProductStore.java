@@ -0,0 +1,42 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.function.Consumer;
+
+/*
+ ============================================================================
+ COMPACT PRODUCT STORE
+ A catalog held outside the app's Product structures: while one is
+ active the HashMap / TreeMap / ArrayList stay empty and point
+ lookups, saves and deletes go here (OffHeapProductStore,
+ HotColdProductStore). Products are materialized per call, so
+ mutating a returned Product changes nothing. Not thread-safe.
+ ============================================================================
+*/
+interface ProductStore {
+
+    int size();
+
+    /** The product with this SKU, materialized, or null. */
+    Product get(String sku);
+
+    /** Inserts or replaces; returns true if the SKU was present. */
+    boolean put(String sku, String name, int quantity);
+
+    boolean remove(String sku);
+
+    void clear();
+
+    /** Visits every product (materialized), in no particular order. */
+    void forEach(Consumer<Product> action);
+
+    /** A view of the current contents that later writes do not affect, e.g. for a checkpoint. */
+    ProductStore copy();
+
+    /** One line on footprint (and cache behaviour) for the analysis panel. */
+    String describe();
+
+    /** Releases native memory or files; the store is unusable afterwards. */
+    default void close() {}
+}
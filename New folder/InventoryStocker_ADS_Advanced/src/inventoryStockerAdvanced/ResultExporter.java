@@ -0,0 +1,259 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+
+/*
+ ============================================================================
+ STREAMING RESULT EXPORT (CSV)
+ Query results written as SKU,Name,Quantity rows straight into one
+ fixed byte[] chunk, which goes to the OutputStream whenever it fills.
+ No Product.toString(), no StringBuilder, no per-row byte[]: ASCII
+ fields are bulk-copied into the chunk, anything else is UTF-8 encoded
+ in place, and quantities are written digit by digit. Memory is the
+ chunk however many rows pass through, and nothing is allocated per row.
+
+ Output reads back through CsvImporter: a "sku,name,quantity" header,
+ fields quoted only when they hold a comma, quote or line break, with
+ quotes doubled inside. Rows come from any Iterator (a sorted view, an
+ ExternalSorter result) filtered by a Predicate (name search, SKU range).
+ ============================================================================
+*/
+final class ResultExporter implements Closeable {
+
+    static final String HEADER = "sku,name,quantity";
+    static final int DEFAULT_CHUNK_BYTES = 1 << 16;
+
+    private static final int MAX_CHAR_BYTES = 4;   // a surrogate pair
+    private static final String MIN_VALUE = Integer.toString(Integer.MIN_VALUE);
+
+    private final OutputStream out;
+    private final byte[] chunk;
+    private int pos;
+    private long rows, bytes, chunks;
+
+    ResultExporter(OutputStream out) throws IOException {
+        this(out, DEFAULT_CHUNK_BYTES);
+    }
+
+    ResultExporter(OutputStream out, int chunkBytes) throws IOException {
+        if (chunkBytes < 64) throw new IllegalArgumentException("Chunk too small: " + chunkBytes);
+        this.out = out;
+        this.chunk = new byte[chunkBytes];
+        for (int i = 0; i < HEADER.length(); i++) chunk[pos++] = (byte) HEADER.charAt(i);
+        chunk[pos++] = '\n';
+    }
+
+    void write(Product p) throws IOException {
+        field(p.sku);
+        put(',');
+        field(p.name);
+        put(',');
+        number(p.quantity);
+        put('\n');
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    /** Bytes handed to the stream so far (header included). */
+    long bytes() {
+        return bytes + pos;
+    }
+
+    long chunks() {
+        return chunks;
+    }
+
+    void flush() throws IOException {
+        if (pos > 0) {
+            out.write(chunk, 0, pos);
+            bytes += pos;
+            chunks++;
+            pos = 0;
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    /* ============================================================
+       ENCODING
+       ============================================================ */
+
+    @SuppressWarnings("deprecation")   // getBytes(int, int, byte[], int): exact for ASCII, no copy
+    private void field(String s) throws IOException {
+        int n = s.length();
+        boolean ascii = true;
+        boolean quote = false;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) ascii = false;
+            else if (c == ',' || c == '"' || c == '\n' || c == '\r') quote = true;
+        }
+        if (ascii && !quote && n <= chunk.length) {   // the common case: one bulk copy
+            if (chunk.length - pos < n) drain();
+            s.getBytes(0, n, chunk, pos);
+            pos += n;
+            return;
+        }
+        if (quote) put('"');
+        for (int i = 0; i < n; ) {
+            if (chunk.length - pos < MAX_CHAR_BYTES) drain();
+            // at most 3 bytes per char, plus 1 if a surrogate pair straddles the end
+            i = encode(s, i, Math.min(n, i + (chunk.length - pos - 1) / 3));
+        }
+        if (quote) put('"');
+    }
+
+    /** UTF-8 encodes s[i, to) into the chunk, which has room for it; returns where it stopped. */
+    private int encode(String s, int i, int to) {
+        byte[] b = chunk;
+        int p = pos;
+        for (; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') b[p++] = '"';
+                b[p++] = (byte) c;
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | c >> 6);
+                b[p++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                       && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b[p++] = (byte) (0xF0 | cp >> 18);
+                b[p++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                b[p++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                b[p++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = '?';   // unpaired half, as String.getBytes(UTF_8) does
+            } else {
+                b[p++] = (byte) (0xE0 | c >> 12);
+                b[p++] = (byte) (0x80 | c >> 6 & 0x3F);
+                b[p++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        pos = p;
+        return i;
+    }
+
+    private void number(int value) throws IOException {
+        if (chunk.length - pos < 11) drain();
+        if (value == Integer.MIN_VALUE) {   // no positive counterpart
+            for (int i = 0; i < MIN_VALUE.length(); i++) chunk[pos++] = (byte) MIN_VALUE.charAt(i);
+            return;
+        }
+        if (value < 0) {
+            chunk[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (int t = value; t >= 10; t /= 10) digits++;
+        for (int i = pos + digits - 1; i >= pos; i--, value /= 10) chunk[i] = (byte) ('0' + value % 10);
+        pos += digits;
+    }
+
+    private void put(char ascii) throws IOException {
+        if (pos == chunk.length) drain();
+        chunk[pos++] = (byte) ascii;
+    }
+
+    private void drain() throws IOException {
+        out.write(chunk, 0, pos);
+        bytes += pos;
+        chunks++;
+        pos = 0;
+    }
+
+    /* ============================================================
+       FILE EXPORT
+       ============================================================ */
+
+    static final class Stats {
+        final long scanned;
+        final long rows;
+        final long bytes;
+        final long chunks;
+        final int chunkBytes;
+        final long nanos;
+        final double allocPerRow;   // NaN where the JVM cannot tell
+
+        Stats(long scanned, long rows, long bytes, long chunks, int chunkBytes, long nanos, double allocPerRow) {
+            this.scanned = scanned;
+            this.rows = rows;
+            this.bytes = bytes;
+            this.chunks = chunks;
+            this.chunkBytes = chunkBytes;
+            this.nanos = nanos;
+            this.allocPerRow = allocPerRow;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "Rows: %,d of %,d scanned | %,d KB in %,d chunks of %d KB%n" +
+                "%d ms | %.0f MB/s | heap allocated per scanned row (source + writer): %.1f B",
+                rows, scanned, bytes >> 10, chunks, chunkBytes >> 10,
+                nanos / 1_000_000, nanos == 0 ? 0 : bytes * 1e3 / nanos, allocPerRow);
+        }
+    }
+
+    /**
+     * Streams the rows that pass keep to file (via a sibling .tmp, moved
+     * into place when complete). total is the expected number of rows
+     * from the iterator, for progress only.
+     */
+    static Stats export(Path file, Iterator<Product> source, Predicate<? super Product> keep,
+                        int total, BenchmarkHarness.Progress progress) throws IOException {
+        long start = System.nanoTime();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long scanned = 0;
+        long alloc;
+        long allocated;
+        ResultExporter writer = new ResultExporter(Files.newOutputStream(tmp));
+        try {
+            alloc = MemoryBenchmark.allocatedBytes();
+            while (source.hasNext()) {
+                Product p = source.next();
+                if (keep.test(p)) writer.write(p);
+                if ((++scanned & 0xFFFF) == 0) {
+                    if (Thread.currentThread().isInterrupted()) throw new CancellationException("Export cancelled");
+                    progress.sample("Exporting", (int) Math.min(scanned, Integer.MAX_VALUE), total);
+                }
+            }
+            allocated = MemoryBenchmark.allocatedBytes() - alloc;
+            writer.close();
+        } catch (IOException | RuntimeException e) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // already failing
+            }
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Stats(scanned, writer.rows, writer.bytes, writer.chunks, writer.chunk.length,
+            System.nanoTime() - start,
+            alloc < 0 || scanned == 0 ? Double.NaN : allocated / (double) scanned);
+    }
+}
@@ -0,0 +1,190 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ ============================================================================
+ SCALING CURVES + EMPIRICAL COMPLEXITY
+ Runs the search and sort suites over a geometric series of catalog
+ sizes (synthetic, seeded catalogs from WorkloadGenerator) and fits
+ t(n) ≈ c · n^k per algorithm by least squares on log t vs log n.
+
+ The fitted exponent k is the empirical growth rate: ~0 for O(1),
+ small (0.1–0.3) for O(log n), ~1 for O(n), slightly above 1 for
+ O(n log n), ~2 for O(n^2). Caches and GC bend real curves, so R² is
+ reported alongside. One discarded pass over the smallest size runs
+ first, so the JIT has compiled every kernel before the first point.
+
+ Quadratic sorts stop at SortKernels.QUADRATIC_LIMIT (a whole curve of
+ them at 50,000 would take minutes), so their curves have fewer points.
+ ============================================================================
+*/
+final class ScalingBenchmark {
+
+    // Per-size sample counts are capped: a curve is many benchmarks.
+    private static final int MAX_WARMUP = 5;
+    private static final int MAX_MEASURED = 20;
+
+    private ScalingBenchmark() {}
+
+    /** One algorithm's measurements across sizes. */
+    static final class Curve {
+        final String name;
+        final List<Integer> sizes = new ArrayList<>();
+        final List<BenchmarkResult> results = new ArrayList<>();
+        Fit fit;
+
+        Curve(String name) {
+            this.name = name;
+        }
+
+        void add(int n, BenchmarkResult r) {
+            r.note = r.note.isEmpty() ? "n=" + n : "n=" + n + " " + r.note;
+            sizes.add(n);
+            results.add(r);
+        }
+    }
+
+    /** log t = log c + k · log n */
+    static final class Fit {
+        final double exponent;
+        final double coefficient;
+        final double r2;
+
+        Fit(double exponent, double coefficient, double r2) {
+            this.exponent = exponent;
+            this.coefficient = coefficient;
+            this.r2 = r2;
+        }
+
+        String growth() {
+            if (exponent < 0.35) return "O(1) / O(log n)";
+            if (exponent < 0.8) return "sublinear";
+            if (exponent < 1.5) return "O(n) / O(n log n)";
+            if (exponent < 1.75) return "between O(n log n) and O(n^2)";
+            return exponent < 2.5 ? "O(n^2)" : "worse than O(n^2)";
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "n^%.2f (R² %.3f) ~ %s", exponent, r2, growth());
+        }
+    }
+
+    /** from, from·factor, ... up to and including max (rounded). */
+    static int[] sizes(int from, int max, double factor) {
+        if (from < 1 || max < from || factor <= 1) {
+            throw new IllegalArgumentException(
+                "Invalid size series: from " + from + ", max " + max + ", factor " + factor);
+        }
+        List<Integer> out = new ArrayList<>();
+        for (double n = from; Math.round(n) <= max; n *= factor) out.add((int) Math.round(n));
+        return out.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static BenchmarkHarness.Config scaledConfig(BenchmarkHarness.Config c) {
+        return new BenchmarkHarness.Config(
+            Math.min(c.warmupIterations, MAX_WARMUP),
+            Math.min(c.measuredIterations, MAX_MEASURED),
+            c.opsPerSample, c.seed);
+    }
+
+    /* ============================================================
+       SUITES
+       ============================================================ */
+
+    static Map<String, Curve> search(BenchmarkHarness h, int[] sizes) {
+        searchAt(h, sizes[0]);
+        Map<String, Curve> curves = new LinkedHashMap<>();
+        for (int n : sizes) collect(curves, n, searchAt(h, n));
+        return fitAll(curves);
+    }
+
+    private static Map<String, BenchmarkResult> searchAt(BenchmarkHarness h, int n) {
+        List<Product> list = catalog(n, h.config().seed);
+        Map<String, Product> hashMap = new HashMap<>();
+        TreeMap<String, Product> treeMap = new TreeMap<>();
+        for (Product p : list) {
+            hashMap.put(p.sku, p);
+            treeMap.put(p.sku, p);
+        }
+        return BenchmarkSuite.search(h, list, hashMap::get, treeMap::get);
+    }
+
+    static Map<String, Curve> sort(BenchmarkHarness h, int[] sizes) {
+        BenchmarkSuite.sort(h, catalog(sizes[0], h.config().seed), SortKernels.QUADRATIC_LIMIT);
+        Map<String, Curve> curves = new LinkedHashMap<>();
+        for (int n : sizes) {
+            collect(curves, n, BenchmarkSuite.sort(h, catalog(n, h.config().seed), SortKernels.QUADRATIC_LIMIT));
+        }
+        return fitAll(curves);
+    }
+
+    private static List<Product> catalog(int n, long seed) {
+        WorkloadGenerator.Catalog c = WorkloadGenerator.catalog(n, 0.5, seed);
+        List<Product> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) list.add(new Product(c.skus[i], c.names[i], c.quantities[i]));
+        return list;
+    }
+
+    private static void collect(Map<String, Curve> curves, int n, Map<String, BenchmarkResult> results) {
+        for (BenchmarkResult r : results.values()) {
+            curves.computeIfAbsent(r.name, Curve::new).add(n, r);
+        }
+    }
+
+    private static Map<String, Curve> fitAll(Map<String, Curve> curves) {
+        for (Curve c : curves.values()) {
+            double[] n = new double[c.sizes.size()];
+            double[] t = new double[n.length];
+            for (int i = 0; i < n.length; i++) {
+                n[i] = c.sizes.get(i);
+                t[i] = c.results.get(i).mean;
+            }
+            c.fit = fit(n, t);
+        }
+        return curves;
+    }
+
+    /* ============================================================
+       LEAST SQUARES ON LOG-LOG
+       ============================================================ */
+
+    /** Null with fewer than two points (no slope to fit). */
+    static Fit fit(double[] n, double[] t) {
+        int m = 0;
+        double sx = 0, sy = 0;
+        double[] x = new double[n.length];
+        double[] y = new double[n.length];
+        for (int i = 0; i < n.length; i++) {
+            if (n[i] <= 0 || t[i] <= 0) continue;   // log undefined
+            x[m] = Math.log(n[i]);
+            y[m] = Math.log(t[i]);
+            sx += x[m];
+            sy += y[m];
+            m++;
+        }
+        if (m < 2) return null;
+
+        double mx = sx / m, my = sy / m;
+        double sxx = 0, sxy = 0, syy = 0;
+        for (int i = 0; i < m; i++) {
+            sxx += (x[i] - mx) * (x[i] - mx);
+            sxy += (x[i] - mx) * (y[i] - my);
+            syy += (y[i] - my) * (y[i] - my);
+        }
+        if (sxx == 0) return null;
+
+        double k = sxy / sxx;
+        double r2 = syy == 0 ? 1 : (sxy * sxy) / (sxx * syy);
+        return new Fit(k, Math.exp(my - k * mx), r2);
+    }
+}
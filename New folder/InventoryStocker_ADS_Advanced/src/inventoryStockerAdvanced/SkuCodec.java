@@ -0,0 +1,56 @@
+package inventoryStockerAdvanced;
+
+/*
+ ============================================================================
+ SKU CODEC
+ Packs a SKU_PATTERN-conformant SKU ("L-ddd") into a primitive int.
+
+   code = (letter - 'A') * 1000 + digits      ->  0 .. 25999
+
+ The code preserves the String ordering of conformant SKUs, so sorted
+ int keys walk the catalog in the same order as TreeMap<String, ...>.
+ ============================================================================
+*/
+final class SkuCodec {
+
+    /** Returned for SKUs that do not match SKU_PATTERN (caller falls back). */
+    static final int NO_CODE = -1;
+
+    /** Number of distinct conformant SKUs (A-000 .. Z-999). */
+    static final int CARDINALITY = 26 * 1000;
+
+    private SkuCodec() {}
+
+    /**
+     * Encodes a SKU without regex or allocation. Equivalent to
+     * SKU_PATTERN "^[A-Z]-\\d{3}$" followed by the packing above.
+     */
+    static int encode(String sku) {
+        if (sku == null || sku.length() != 5) return NO_CODE;
+
+        char letter = sku.charAt(0);
+        if (letter < 'A' || letter > 'Z' || sku.charAt(1) != '-') return NO_CODE;
+
+        int digits = 0;
+        for (int i = 2; i < 5; i++) {
+            char c = sku.charAt(i);
+            if (c < '0' || c > '9') return NO_CODE;
+            digits = digits * 10 + (c - '0');
+        }
+        return (letter - 'A') * 1000 + digits;
+    }
+
+    static String decode(int code) {
+        if (code < 0 || code >= CARDINALITY) {
+            throw new IllegalArgumentException("Not a SKU code: " + code);
+        }
+        int digits = code % 1000;
+        char[] c = {
+            (char) ('A' + code / 1000), '-',
+            (char) ('0' + digits / 100),
+            (char) ('0' + digits / 10 % 10),
+            (char) ('0' + digits % 10)
+        };
+        return new String(c);
+    }
+}
@@ -0,0 +1,80 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ ============================================================================
+ SNAPSHOT OVERLAY
+ The mapped snapshot under the in-memory structures, and which of its
+ entries the structures own. An entry is owned once it has been copied
+ (hydration copies in entry order, so every entry below hydrated) or
+ promoted by a lookup (its SKU is in shadowed). An owned entry is never
+ handed out again: if the structures no longer hold it, it was deleted,
+ and a lookup must miss instead of bringing it back from the snapshot.
+ Hydration can stop part way (a cancelled task) and resume later.
+ ============================================================================
+*/
+final class SnapshotOverlay implements Closeable {
+
+    private final ProductSnapshot base;
+    private final Set<String> shadowed = new HashSet<>();
+    private int hydrated;   // entries below this were copied
+
+    SnapshotOverlay(ProductSnapshot base) {
+        this.base = base;
+    }
+
+    ProductSnapshot base() {
+        return base;
+    }
+
+    Path file() {
+        return base.file();
+    }
+
+    long lsn() {
+        return base.lsn();
+    }
+
+    int size() {
+        return base.size();
+    }
+
+    int hydrated() {
+        return hydrated;
+    }
+
+    /** SKUs promoted by lookups, for a checkpoint's view of the snapshot. */
+    Set<String> shadowedCopy() {
+        return new HashSet<>(shadowed);
+    }
+
+    /** For a lookup that missed the structures: the snapshot product, now theirs, or null. */
+    Product promote(String sku) {
+        if (shadowed.contains(sku)) return null;
+        int i = base.indexOf(sku);
+        if (i < hydrated) return null;   // absent (-1), or copied already and since deleted
+        shadowed.add(sku);
+        return base.product(i);
+    }
+
+    /** The next entry hydration should copy (promoted ones are skipped), or null when none is left. */
+    Product next() {
+        while (hydrated < base.size()) {
+            Product p = base.product(hydrated++);
+            if (shadowed.isEmpty() || !shadowed.contains(p.sku)) return p;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        base.close();
+    }
+}
@@ -0,0 +1,192 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.Comparator;
+
+/*
+ ============================================================================
+ SORT KERNELS (BY SKU)
+ All algorithms work directly on Product[] – no List.get/set, no
+ Collections.swap, no allocation inside the sort. Merge sort takes its
+ single auxiliary array from the caller so it can be reused.
+
+ Quick sort is introsort: median-of-three pivot, Hoare partition,
+ recursion on the smaller side only (stack depth O(log n)), heap sort
+ once the depth limit is hit, insertion sort below the cutoff.
+ ============================================================================
+*/
+final class SortKernels {
+
+    static final Comparator<Product> BY_SKU = Comparator.comparing(p -> p.sku);
+
+    /** Above this size the O(n^2) algorithms are not worth running (~67M compares at the limit). */
+    static final int QUADRATIC_LIMIT = 8_192;
+
+    private static final int INSERTION_CUTOFF = 16;
+
+    private SortKernels() {}
+
+    private static int cmp(Product a, Product b) {
+        return a.sku.compareTo(b.sku);
+    }
+
+    private static void swap(Product[] a, int i, int j) {
+        Product t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /* ============================================================
+       O(n^2)
+       ============================================================ */
+
+    static void bubbleSort(Product[] a) {
+        for (int i = 0; i < a.length; i++)
+            for (int j = 0; j < a.length - i - 1; j++)
+                if (cmp(a[j], a[j + 1]) > 0)
+                    swap(a, j, j + 1);
+    }
+
+    static void insertionSort(Product[] a) {
+        insertionSort(a, 0, a.length);
+    }
+
+    /** Sorts a[lo, hi). */
+    static void insertionSort(Product[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            Product key = a[i];
+            int j = i - 1;
+            while (j >= lo && cmp(a[j], key) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    static void selectionSort(Product[] a) {
+        for (int i = 0; i < a.length; i++) {
+            int min = i;
+            for (int j = i + 1; j < a.length; j++)
+                if (cmp(a[j], a[min]) < 0)
+                    min = j;
+            swap(a, i, min);
+        }
+    }
+
+    /* ============================================================
+       MERGE SORT (ONE REUSABLE AUX ARRAY)
+       ============================================================ */
+
+    /** aux.length must be >= a.length; its contents are overwritten. */
+    static void mergeSort(Product[] a, Product[] aux) {
+        if (aux.length < a.length) {
+            throw new IllegalArgumentException(
+                "aux too small: " + aux.length + " < " + a.length);
+        }
+        System.arraycopy(a, 0, aux, 0, a.length);
+        mergeSort(aux, a, 0, a.length);
+    }
+
+    // Sorts src[lo, hi) into dst[lo, hi); both hold the same elements on
+    // entry. Roles swap at every level, so merges never copy back.
+    private static void mergeSort(Product[] src, Product[] dst, int lo, int hi) {
+        if (hi - lo <= INSERTION_CUTOFF) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeSort(dst, src, lo, mid);
+        mergeSort(dst, src, mid, hi);
+
+        if (cmp(src[mid - 1], src[mid]) <= 0) { // halves already in order
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return;
+        }
+
+        for (int i = lo, p = lo, q = mid; i < hi; i++) {
+            if (q >= hi || (p < mid && cmp(src[p], src[q]) <= 0))
+                dst[i] = src[p++];
+            else
+                dst[i] = src[q++];
+        }
+    }
+
+    /* ============================================================
+       QUICK SORT (INTROSORT)
+       ============================================================ */
+
+    static void quickSort(Product[] a) {
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(a.length, 1)));
+        introSort(a, 0, a.length, depthLimit);
+    }
+
+    private static void introSort(Product[] a, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+
+            int p = partition(a, lo, hi);
+            if (p - lo < hi - p) {
+                introSort(a, lo, p, depth);
+                lo = p + 1;
+            } else {
+                introSort(a, p + 1, hi, depth);
+                hi = p;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    // Median-of-three on a[lo, hi) (hi - lo >= 3). Returns the pivot's
+    // final index: a[lo, p) <= a[p] <= a(p, hi).
+    private static int partition(Product[] a, int lo, int hi) {
+        int mid = (lo + hi) >>> 1;
+        int last = hi - 1;
+
+        if (cmp(a[mid], a[lo]) < 0) swap(a, mid, lo);
+        if (cmp(a[last], a[lo]) < 0) swap(a, last, lo);
+        if (cmp(a[last], a[mid]) < 0) swap(a, last, mid);
+
+        // a[lo] <= pivot <= a[last] act as sentinels for the scans below
+        swap(a, mid, last - 1);
+        Product pivot = a[last - 1];
+
+        int i = lo;
+        int j = last - 1;
+        while (true) {
+            while (cmp(a[++i], pivot) < 0) {}
+            while (cmp(pivot, a[--j]) < 0) {}
+            if (i >= j) break;
+            swap(a, i, j);
+        }
+        swap(a, i, last - 1);
+        return i;
+    }
+
+    private static void heapSort(Product[] a, int lo, int hi) {
+        int n = hi - lo;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(a, lo, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(Product[] a, int base, int i, int n) {
+        Product x = a[base + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && cmp(a[base + child + 1], a[base + child]) > 0) child++;
+            if (cmp(x, a[base + child]) >= 0) break;
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = x;
+    }
+}
@@ -0,0 +1,137 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/*
+ ============================================================================
+ EVENT STREAM WRITE-PATH OVERHEAD
+ The in-memory half of a save, HashMap.put of a prebuilt Product, timed
+ alone and followed by StockEventStream.publish, with 0, 1, 2 and 4
+ batching consumers draining the ring. Both loops run alternately, best
+ of three, over the same products.
+
+ Reported per point: ns per write without / with the event, the
+ difference, heap bytes the producer allocates per event, the mean
+ batch the consumers handled and how often the producer found the
+ ring full. A real save also fsyncs the write-ahead log (milliseconds),
+ so the in-memory comparison is the strict one. On fewer cores than
+ consumers + 1 the consumers compete with the producer for CPU.
+ ============================================================================
+*/
+final class StockEventBenchmark {
+
+    static final String CSV_HEADER =
+        "Consumers,WriteNs,WriteWithEventNs,PublishNs,AllocBytesPerEvent,MeanBatch,ProducerWaits";
+    static final int[] CONSUMERS = { 0, 1, 2, 4 };
+
+    private static final int PRODUCTS = 1 << 16;
+    private static final int ROUNDS = 16;
+    private static final int REPEATS = 3;
+
+    private static volatile long blackhole;
+
+    private StockEventBenchmark() {}
+
+    static final class Row {
+        final int consumers;
+        double writeNs, withEventNs;
+        double allocPerEvent;
+        double meanBatch;
+        long producerWaits;
+
+        Row(int consumers) {
+            this.consumers = consumers;
+        }
+
+        double publishNs() {
+            return withEventNs - writeNs;
+        }
+
+        String toCsvRow() {
+            return String.format(Locale.ROOT, "%d,%.1f,%.1f,%.1f,%.2f,%.1f,%d",
+                consumers, writeNs, withEventNs, publishNs(), allocPerEvent, meanBatch, producerWaits);
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT,
+                "%d consumers: write %5.1f ns → %5.1f ns with event (publish %+5.1f ns, %+.0f%%) | " +
+                "%.2f B/event | mean batch %,.0f | ring full %,d x",
+                consumers, writeNs, withEventNs, publishNs(), 100 * publishNs() / writeNs,
+                allocPerEvent, meanBatch, producerWaits);
+        }
+    }
+
+    static List<Row> run(long seed, BenchmarkHarness.Progress progress) {
+        WorkloadGenerator.Catalog c = WorkloadGenerator.catalog(PRODUCTS, 0.0, seed);
+        Product[] products = new Product[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) products[i] = new Product(c.skus[i], c.names[i], c.quantities[i]);
+
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < CONSUMERS.length; i++) {
+            rows.add(point(CONSUMERS[i], products));
+            progress.sample("Event stream", i + 1, CONSUMERS.length);
+        }
+        return rows;
+    }
+
+    private static Row point(int consumers, Product[] products) {
+        Row row = new Row(consumers);
+        StockEventStream stream = new StockEventStream(StockEventStream.DEFAULT_CAPACITY);
+        List<StockEventStream.Subscription> subs = new ArrayList<>();
+        long[] sums = new long[consumers];
+        for (int k = 0; k < consumers; k++) {
+            int slot = k;
+            subs.add(stream.subscribe("bench-" + k, (e, endOfBatch) -> sums[slot] += e.quantity));
+        }
+        Map<String, Product> map = new HashMap<>();
+        for (Product p : products) map.put(p.sku, p);
+
+        try {
+            row.writeNs = row.withEventNs = Double.MAX_VALUE;
+            long lsn = 0;
+            for (int r = 0; r < REPEATS + 1; r++) {   // the first repeat is warm-up
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Event stream benchmark cancelled");
+                }
+                long t = System.nanoTime();
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (Product p : products) map.put(p.sku, p);
+                }
+                double write = (System.nanoTime() - t) / (double) (ROUNDS * products.length);
+
+                long alloc = MemoryBenchmark.allocatedBytes();
+                t = System.nanoTime();
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (Product p : products) {
+                        map.put(p.sku, p);
+                        stream.publish(StockEventStream.UPDATE, ++lsn, p.sku, p.name, p.quantity, 0);
+                    }
+                }
+                double with = (System.nanoTime() - t) / (double) (ROUNDS * products.length);
+                long allocated = MemoryBenchmark.allocatedBytes() - alloc;
+                if (r == 0) continue;
+                row.writeNs = Math.min(row.writeNs, write);
+                row.withEventNs = Math.min(row.withEventNs, with);
+                row.allocPerEvent = alloc < 0 ? Double.NaN : allocated / (double) (ROUNDS * products.length);
+            }
+            for (StockEventStream.Subscription s : subs) while (s.lag() > 0) Thread.yield();
+            double batch = 0;
+            for (StockEventStream.Subscription s : subs) batch += s.meanBatch();
+            row.meanBatch = subs.isEmpty() ? 0 : batch / subs.size();
+            row.producerWaits = stream.producerWaits();
+        } finally {
+            stream.close();
+        }
+        long sum = map.size();
+        for (long s : sums) sum += s;
+        blackhole = sum;
+        return row;
+    }
+}
@@ -0,0 +1,296 @@
+package inventoryStockerAdvanced;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ ============================================================================
+ STOCK CHANGE EVENT STREAM
+ Publish/subscribe for inventory changes on a preallocated ring buffer
+ (Disruptor-style): one producer, whichever thread currently owns the
+ structures (the EDT or the running task, never both at once), and
+ any number of consumers, each on its own daemon thread.
+
+ - slots are Event objects allocated once; publish() copies a type,
+   two String references and a few numbers into the next slot and
+   moves the cursor with a release store: no allocation, no lock and
+   no wake-up call on the write path
+ - each consumer tracks its own sequence, handles everything published
+   up to the cursor as one batch (endOfBatch marks the last event) and
+   then advances its sequence once. An idle consumer spins briefly,
+   yields, then parks with growing timeouts (up to 1 ms), so the
+   producer never has to signal anyone
+ - the producer waits only when the slowest consumer is a whole ring
+   behind (back-pressure, not loss); it caches the slowest sequence
+   and re-reads the consumers only when it reaches that point
+
+ Events carry the LSN of their write-ahead-log record. Saves and
+ deletes publish after their commit; bulk loads, imports and recovery
+ replay publish as they go and commit once at the end. Handlers must
+ copy what they keep: a slot is reused capacity events later.
+ ============================================================================
+*/
+final class StockEventStream {
+
+    static final byte INSERT = 0;
+    static final byte UPDATE = 1;
+    static final byte DELETE = 2;
+    static final byte ADJUST = 3;
+    static final byte CLEAR = 4;
+    private static final String[] TYPE_NAMES = { "insert", "update", "delete", "adjust", "clear" };
+
+    static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final long MAX_PARK_NS = 1_000_000;
+
+    /** A reusable ring slot. sku is null for CLEAR, name for DELETE / CLEAR. */
+    static final class Event {
+        long sequence;
+        long lsn;
+        byte type;
+        String sku;
+        String name;
+        int quantity;   // after the change (0 for DELETE / CLEAR)
+        int delta;      // stock movement: new quantity - old quantity
+
+        @Override
+        public String toString() {
+            return "#" + sequence + " " + TYPE_NAMES[type] + (sku == null ? "" : " " + sku) +
+                " qty " + quantity + " (" + (delta >= 0 ? "+" : "") + delta + ") lsn " + lsn;
+        }
+    }
+
+    interface Handler {
+        void onEvent(Event event, boolean endOfBatch);
+    }
+
+    private final Event[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1);   // last published sequence
+    private volatile Subscription[] subscriptions = new Subscription[0];
+
+    // producer-only state
+    private long gatingCache = -1;   // slowest consumer sequence last seen
+    private long producerWaits;
+
+    StockEventStream(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two");
+        slots = new Event[capacity];
+        for (int i = 0; i < capacity; i++) slots[i] = new Event();
+        mask = capacity - 1;
+    }
+
+    /* ============================================================
+       PRODUCER
+       ============================================================ */
+
+    void publish(byte type, long lsn, String sku, String name, int quantity, int delta) {
+        long seq = cursor.get() + 1;   // single producer: nobody else moves the cursor
+        long wrap = seq - slots.length;
+        if (wrap > gatingCache) {
+            long min;
+            while (wrap > (min = slowest(seq - 1))) {
+                producerWaits++;
+                LockSupport.parkNanos(1_000);
+            }
+            gatingCache = min;
+        }
+        Event e = slots[(int) seq & mask];
+        e.sequence = seq;
+        e.lsn = lsn;
+        e.type = type;
+        e.sku = sku;
+        e.name = name;
+        e.quantity = quantity;
+        e.delta = delta;
+        cursor.setRelease(seq);
+    }
+
+    long published() {
+        return cursor.get() + 1;
+    }
+
+    long producerWaits() {
+        return producerWaits;
+    }
+
+    private long slowest(long fallback) {
+        long min = fallback;
+        for (Subscription s : subscriptions) min = Math.min(min, s.sequence.getAcquire());
+        return min;
+    }
+
+    /* ============================================================
+       CONSUMERS
+       ============================================================ */
+
+    /** Starts a consumer that sees every event published from now on. */
+    synchronized Subscription subscribe(String name, Handler handler) {
+        Subscription s = new Subscription(name, handler, cursor.get());
+        Subscription[] next = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        next[next.length - 1] = s;
+        subscriptions = next;
+        s.thread.start();
+        return s;
+    }
+
+    private synchronized void unsubscribe(Subscription s) {
+        List<Subscription> rest = new ArrayList<>(Arrays.asList(subscriptions));
+        rest.remove(s);
+        subscriptions = rest.toArray(new Subscription[0]);
+    }
+
+    void close() {
+        for (Subscription s : subscriptions) s.close();
+    }
+
+    final class Subscription implements Runnable {
+        final String name;
+        private final Handler handler;
+        private final AtomicLong sequence;   // last handled
+        private final Thread thread;
+        private volatile boolean running = true;
+        // written by the consumer thread only
+        private volatile long events, batches, maxBatch, errors;
+
+        private Subscription(String name, Handler handler, long start) {
+            this.name = name;
+            this.handler = handler;
+            this.sequence = new AtomicLong(start);
+            this.thread = new Thread(this, "events-" + name);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (running) {
+                long available = cursor.getAcquire();
+                if (available < next) {
+                    idle = backOff(idle);
+                    continue;
+                }
+                idle = 0;
+                for (long s = next; s <= available; s++) {
+                    try {
+                        handler.onEvent(slots[(int) s & mask], s == available);
+                    } catch (RuntimeException e) {
+                        if (errors++ == 0) System.err.println("Event consumer " + name + ": " + e);
+                    }
+                }
+                long batch = available - next + 1;
+                events += batch;
+                batches++;
+                if (batch > maxBatch) maxBatch = batch;
+                sequence.setRelease(available);
+                next = available + 1;
+            }
+        }
+
+        private int backOff(int idle) {
+            if (idle < 100) Thread.onSpinWait();
+            else if (idle < 110) Thread.yield();
+            else LockSupport.parkNanos(Math.min(MAX_PARK_NS, 1_000L << Math.min(idle - 110, 10)));
+            return idle + 1;
+        }
+
+        /** Events published but not yet handled. */
+        long lag() {
+            return cursor.get() - sequence.get();
+        }
+
+        long events() {
+            return events;
+        }
+
+        double meanBatch() {
+            long b = batches;
+            return b == 0 ? 0 : events / (double) b;
+        }
+
+        /** Stops the thread and releases the producer from waiting on it. */
+        void close() {
+            running = false;
+            LockSupport.unpark(thread);
+            unsubscribe(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-10s %,d events in %,d batches (mean %.1f, max %,d) | lag %,d%s",
+                name, events, batches, meanBatch(), maxBatch, lag(), errors == 0 ? "" : " | errors " + errors);
+        }
+    }
+
+    String describe() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+            "Ring: %,d slots | published %,d | producer waits %,d (ring full)%n",
+            slots.length, published(), producerWaits));
+        for (Subscription s : subscriptions) sb.append(s).append('\n');
+        return sb.toString();
+    }
+
+    /* ============================================================
+       BUILT-IN CONSUMERS
+       ============================================================ */
+
+    /** Running totals per event type plus net stock movement. */
+    static final class Dashboard implements Handler {
+        private final long[] counts = new long[TYPE_NAMES.length];
+        private long netUnits;
+        private volatile long seen;   // release point for the counters above
+
+        @Override
+        public void onEvent(Event e, boolean endOfBatch) {
+            counts[e.type]++;
+            netUnits += e.delta;
+            if (endOfBatch) seen = counts[0] + counts[1] + counts[2] + counts[3] + counts[4];
+        }
+
+        @Override
+        public String toString() {
+            long total = seen;   // acquire: counters as of the last batch end (or later)
+            StringBuilder sb = new StringBuilder("Dashboard: " + total + " changes |");
+            for (int t = 0; t < counts.length; t++) sb.append(' ').append(TYPE_NAMES[t]).append(' ').append(counts[t]);
+            return sb.append(" | net stock ").append(netUnits >= 0 ? "+" : "").append(netUnits).append(" units").toString();
+        }
+    }
+
+    /** Reorder alerts: SKUs whose stock falls to level or below, newest first (bounded). */
+    static final class ReorderWatch implements Handler {
+        private final int level;
+        private final String[] recent = new String[32];
+        private int next;
+        private long alerts;
+
+        ReorderWatch(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public void onEvent(Event e, boolean endOfBatch) {
+            if (e.type == DELETE || e.type == CLEAR || e.quantity > level) return;
+            if (e.type != INSERT && e.quantity - e.delta <= level) return;   // was already low
+            synchronized (this) {
+                recent[next] = e.sku + " (" + e.quantity + ")";   // consumer-side allocation only
+                next = (next + 1) % recent.length;
+                alerts++;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            StringBuilder sb = new StringBuilder("Reorder alerts (qty <= " + level + "): " + alerts);
+            for (int i = 1; i <= Math.min(8, recent.length); i++) {
+                String s = recent[(next - i + recent.length) % recent.length];
+                if (s == null) break;
+                sb.append(i == 1 ? " | latest: " : ", ").append(s);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/*
+ ============================================================================
+ ON-HEAP vs OFF-HEAP vs HOT/COLD STORAGE AT SCALE
+ The same catalog held three ways:
+
+ - On-heap:  the app's triple, HashMap + TreeMap + ArrayList of Products;
+             an update indexes a new Product, as saveProduct does
+ - Off-heap: OffHeapProductStore; an update rewrites the quantity in
+             place
+ - Hot/cold: HotColdProductStore; SKU + quantity resident on the heap,
+             names in a file behind an LRU cache
+
+ Reported per mode:
+ - heap retained per product (live heap after forced GCs with the
+   store vs. without it) and native / on-disk bytes
+ - GC count / time while building the store and while running the
+   lookup + update workload (GarbageCollectorMXBeans)
+ - full GC pause: the fastest of three System.gc() calls with the
+   store live; a full collection traces every live object, so this is
+   what a tens-of-millions-Product heap costs per old-generation pause
+ - lookup and update latency, and heap bytes allocated per operation
+ - name read latency and, for hot/cold, the name cache hit rate
+
+ Each mode loads a freshly generated copy of the same seeded catalog
+ and drops it once built, so the on-heap numbers include the SKU and
+ name Strings the Products keep alive. Lookups use a fixed sample of
+ SKUs held by every mode.
+ ============================================================================
+*/
+final class StorageBenchmark {
+
+    static final String CSV_HEADER = "Mode,n,HeapBytesPerProduct,OffHeapBytes,BuildMs,BuildGcCount,BuildGcMs," +
+        "FullGcMs,GetNs,UpdateNs,GetAllocBytesPerOp,UpdateAllocBytesPerOp,WorkloadGcCount,WorkloadGcMs," +
+        "NameNs,NameHitRate";
+    static final String ON_HEAP = "On-heap";
+    static final String OFF_HEAP = "Off-heap";
+    static final String HOT_COLD = "Hot/cold";
+
+    private static final int SAMPLE = 1 << 16;
+    private static final int ROUNDS = 8;
+
+    private static volatile long blackhole;
+
+    private StorageBenchmark() {}
+
+    static final class Row {
+        final String mode;
+        final int n;
+        double heapPerProduct;
+        long offHeapBytes;
+        long buildMs;
+        long buildGcCount, buildGcMs;
+        long fullGcMs;
+        double getNs, updateNs;
+        double getAlloc, updateAlloc;
+        long workloadGcCount, workloadGcMs;
+        double nameNs;
+        double nameHitRate = Double.NaN;
+
+        Row(String mode, int n) {
+            this.mode = mode;
+            this.n = n;
+        }
+
+        String toCsvRow() {
+            return String.format(Locale.ROOT, "%s,%d,%.1f,%d,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%d,%d,%.1f,%.4f",
+                mode, n, heapPerProduct, offHeapBytes, buildMs, buildGcCount, buildGcMs, fullGcMs,
+                getNs, updateNs, getAlloc, updateAlloc, workloadGcCount, workloadGcMs, nameNs, nameHitRate);
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT,
+                "%-8s n=%,d: heap %,.0f B/product | off-heap/disk %,d MB | build %,d ms (GC %d x, %,d ms)%n" +
+                "         full GC pause %,d ms | get %,.0f ns (%.1f B/op) | update %,.0f ns (%.1f B/op) | " +
+                "workload GC %d x, %,d ms%n" +
+                "         name read %,.0f ns%s",
+                mode, n, heapPerProduct, offHeapBytes >> 20, buildMs, buildGcCount, buildGcMs, fullGcMs,
+                getNs, getAlloc, updateNs, updateAlloc, workloadGcCount, workloadGcMs, nameNs,
+                Double.isNaN(nameHitRate) ? "" : String.format(Locale.ROOT, " | name cache hit rate %.1f%%",
+                    100 * nameHitRate));
+        }
+    }
+
+    /** A store under test: fill, look up a quantity, set a quantity, read a name. */
+    private interface Subject {
+        void put(String sku, String name, int quantity);
+        int quantity(String sku);
+        void update(String sku, int quantity);
+        String name(String sku);
+        /** Fills in store-specific columns and releases native memory or files. */
+        default void finish(Row row) {}
+    }
+
+    private static Subject live;   // store being measured; nulled to release it
+
+    /* ============================================================
+       RUN
+       ============================================================ */
+
+    static List<Row> run(int n, long seed, BenchmarkHarness.Progress progress) {
+        progress.sample("Storage modes", 0, 3);
+        List<Row> rows = new ArrayList<>();
+        rows.add(measure(ON_HEAP, n, seed, () -> {
+            Map<String, Product> hash = new HashMap<>();
+            TreeMap<String, Product> tree = new TreeMap<>();
+            List<Product> list = new ArrayList<>();
+            return new Subject() {
+                public void put(String sku, String name, int quantity) {
+                    Product p = new Product(sku, name, quantity);
+                    hash.put(sku, p);
+                    tree.put(sku, p);
+                    list.add(p);
+                }
+                public int quantity(String sku) { return hash.get(sku).quantity; }
+                public void update(String sku, int quantity) {
+                    Product p = new Product(sku, hash.get(sku).name, quantity);
+                    hash.put(sku, p);
+                    tree.put(sku, p);   // the list slot is left alone: lookups never scan it here
+                }
+                public String name(String sku) { return hash.get(sku).name; }
+            };
+        }));
+        progress.sample("Storage modes", 1, 3);
+
+        rows.add(measure(OFF_HEAP, n, seed, () -> {
+            OffHeapProductStore s = new OffHeapProductStore(n);
+            return new Subject() {
+                public void put(String sku, String name, int quantity) { s.put(sku, name, quantity); }
+                public int quantity(String sku) { return s.quantityAt(s.find(sku)); }
+                public void update(String sku, int quantity) { s.setQuantityAt(s.find(sku), quantity); }
+                public String name(String sku) { return s.get(sku).name; }
+                public void finish(Row row) { row.offHeapBytes = s.offHeapBytes(); }
+            };
+        }));
+        progress.sample("Storage modes", 2, 3);
+
+        rows.add(measure(HOT_COLD, n, seed, () -> {
+            HotColdProductStore s;
+            try {
+                s = new HotColdProductStore(n);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Subject() {
+                public void put(String sku, String name, int quantity) { s.put(sku, name, quantity); }
+                public int quantity(String sku) { return s.quantityAt(s.find(sku)); }
+                public void update(String sku, int quantity) { s.setQuantityAt(s.find(sku), quantity); }
+                public String name(String sku) { return s.nameAt(s.find(sku)); }
+                public void finish(Row row) {
+                    row.offHeapBytes = s.coldBytes();
+                    row.nameHitRate = s.hitRate();
+                    s.close();
+                }
+            };
+        }));
+        progress.sample("Storage modes", 3, 3);
+        return rows;
+    }
+
+    private static Row measure(String mode, int n, long seed, Supplier<Subject> factory) {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException("Storage benchmark cancelled");
+        Row row = new Row(mode, n);
+        WorkloadGenerator.Catalog c = WorkloadGenerator.catalog(n, 0.0, seed);
+        String[] sample = new String[Math.min(n, SAMPLE)];
+        for (int i = 0; i < sample.length; i++) sample[i] = c.skus[(int) ((long) i * n / sample.length)];
+        long[] gc0 = new long[3];
+        long[] gc1 = new long[3];
+
+        live = factory.get();
+        JvmActivity.read(gc0);
+        long start = System.nanoTime();
+        for (int i = 0; i < c.size(); i++) {
+            live.put(c.skus[i], c.names[i], c.quantities[i]);
+            if ((i & 0xFFFF) == 0 && Thread.currentThread().isInterrupted()) {
+                live.finish(row);
+                live = null;
+                throw new CancellationException("Storage benchmark cancelled");
+            }
+        }
+        row.buildMs = (System.nanoTime() - start) / 1_000_000;
+        JvmActivity.read(gc1);
+        row.buildGcCount = gc1[0] - gc0[0];
+        row.buildGcMs = gc1[1] - gc0[1];
+        c = null;   // the store (or its Products) now owns the data
+
+        long heapWith = MemoryBenchmark.usedHeap();
+        row.fullGcMs = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long t = System.nanoTime();
+            System.gc();
+            row.fullGcMs = Math.min(row.fullGcMs, (System.nanoTime() - t) / 1_000_000);
+        }
+
+        long sum = 0;
+        for (int r = 0; r < 2; r++) {   // warm-up
+            for (String sku : sample) sum += live.quantity(sku);
+            for (String sku : sample) live.update(sku, r);
+            for (String sku : sample) sum += live.name(sku).length();
+        }
+
+        JvmActivity.read(gc0);
+        long allocBefore = MemoryBenchmark.allocatedBytes();
+        long t = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) for (String sku : sample) sum += live.quantity(sku);
+        long getNs = System.nanoTime() - t;
+        long allocMid = MemoryBenchmark.allocatedBytes();
+        t = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) for (String sku : sample) live.update(sku, r);
+        long updateNs = System.nanoTime() - t;
+        long allocAfter = MemoryBenchmark.allocatedBytes();
+        JvmActivity.read(gc1);
+        t = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) for (String sku : sample) sum += live.name(sku).length();
+        long nameNs = System.nanoTime() - t;
+        blackhole = sum;
+
+        long ops = (long) ROUNDS * sample.length;
+        row.getNs = getNs / (double) ops;
+        row.updateNs = updateNs / (double) ops;
+        row.nameNs = nameNs / (double) ops;
+        row.getAlloc = allocBefore < 0 ? Double.NaN : (allocMid - allocBefore) / (double) ops;
+        row.updateAlloc = allocBefore < 0 ? Double.NaN : (allocAfter - allocMid) / (double) ops;
+        row.workloadGcCount = gc1[0] - gc0[0];
+        row.workloadGcMs = gc1[1] - gc0[1];
+
+        live.finish(row);
+        live = null;
+        long heapWithout = MemoryBenchmark.usedHeap();
+        row.heapPerProduct = (heapWith - heapWithout) / (double) n;
+        return row;
+    }
+}
@@ -0,0 +1,144 @@
+package inventoryStockerAdvanced;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+
+/*
+ ============================================================================
+ WAL COMMIT THROUGHPUT
+ T threads each loop "append a PUT, commit it" against one fsync'd log
+ in a temporary file, for two disciplines:
+
+ - Group commit: commits wait on the shared writer, which fsyncs
+   whatever has accumulated, so concurrent commits share a sync
+ - Fsync per op: a global lock around append+commit, i.e. one record
+   per fsync (what a naive "write; force" per mutation costs)
+
+ Reported per point: committed ops/s, records per fsync and commit
+ latency percentiles. Numbers are dominated by the device's fsync
+ latency; on tmpfs both disciplines look alike.
+ ============================================================================
+*/
+final class WalBenchmark {
+
+    static final String CSV_HEADER = "Mode,Threads,OpsPerSec,RecordsPerSync,P50(ns),P99(ns),Ops";
+    static final String GROUP = "Group commit";
+    static final String PER_OP = "Fsync per op";
+
+    private WalBenchmark() {}
+
+    static final class Row {
+        final String mode;
+        final int threads;
+        final double opsPerSec;
+        final double recordsPerSync;
+        final long p50, p99;
+        final long ops;
+
+        Row(String mode, int threads, double opsPerSec, double recordsPerSync, LatencyHistogram h) {
+            this.mode = mode;
+            this.threads = threads;
+            this.opsPerSec = opsPerSec;
+            this.recordsPerSync = recordsPerSync;
+            this.p50 = h.percentile(50);
+            this.p99 = h.percentile(99);
+            this.ops = h.count();
+        }
+
+        String toCsvRow() {
+            return String.format(Locale.ROOT, "%s,%d,%.1f,%.2f,%d,%d,%d",
+                mode, threads, opsPerSec, recordsPerSync, p50, p99, ops);
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT, "%-13s %3d threads: %,10.0f commits/s | %6.1f rec/fsync | p50 %,9d ns | p99 %,10d ns",
+                mode, threads, opsPerSec, recordsPerSync, p50, p99);
+        }
+    }
+
+    static List<Row> run(int[] threadCounts, long measureMs, BenchmarkHarness.Progress progress) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        int total = threadCounts.length * 2;
+        int done = 0;
+        for (int threads : threadCounts) {
+            for (String mode : new String[] { GROUP, PER_OP }) {
+                rows.add(point(mode, threads, measureMs));
+                progress.sample("WAL " + mode + " x" + threads, ++done, total);
+            }
+        }
+        return rows;
+    }
+
+    private static Row point(String mode, int threads, long measureMs) throws IOException {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException("WAL benchmark cancelled");
+
+        Path file = Files.createTempFile("inventory-wal-bench", ".wal");
+        Object perOpLock = new Object();
+        boolean perOp = mode.equals(PER_OP);
+        try (WriteAheadLog wal = WriteAheadLog.open(file, WriteAheadLog.Sync.FSYNC, e -> {})) {
+            LatencyHistogram[] hist = new LatencyHistogram[threads];
+            Thread[] workers = new Thread[threads];
+            CountDownLatch start = new CountDownLatch(1);
+            long[] deadline = new long[1];
+            IOException[] error = new IOException[1];
+
+            for (int t = 0; t < threads; t++) {
+                LatencyHistogram h = hist[t] = new LatencyHistogram();
+                String sku = "W-" + t;
+                workers[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; System.nanoTime() < deadline[0]; i++) {
+                            long s = System.nanoTime();
+                            if (perOp) {
+                                synchronized (perOpLock) {
+                                    wal.commit(wal.put(sku, "bench", i));
+                                }
+                            } else {
+                                wal.commit(wal.put(sku, "bench", i));
+                            }
+                            h.record(System.nanoTime() - s);
+                        }
+                    } catch (IOException e) {
+                        synchronized (error) {
+                            error[0] = e;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, "wal-bench-" + t);
+                workers[t].start();
+            }
+
+            long begin = System.nanoTime();
+            deadline[0] = begin + measureMs * 1_000_000;
+            start.countDown();   // publishes deadline
+            for (Thread w : workers) {
+                try {
+                    w.join();
+                } catch (InterruptedException e) {
+                    for (Thread x : workers) x.interrupt();
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("WAL benchmark cancelled");
+                }
+            }
+            long elapsed = System.nanoTime() - begin;
+            synchronized (error) {
+                if (error[0] != null) throw new UncheckedIOException(error[0]);
+            }
+
+            LatencyHistogram all = new LatencyHistogram();
+            for (LatencyHistogram h : hist) all.merge(h);
+            return new Row(mode, threads, all.count() * 1e9 / elapsed, wal.recordsPerSync(), all);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package inventoryStockerAdvanced;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/*
+ ============================================================================
+ SYNTHETIC CATALOG + WORKLOAD GENERATOR
+ Seeded and reproducible: the same (size, mix, seed) always yields the
+ same catalog and the same query stream.
+
+ Catalog
+ - SKUs: a configurable share is SKU_PATTERN-conformant ("L-ddd", at
+   most 26,000 exist); the rest are free-form supplier SKUs such as
+   "LOG-00A3F-BLK" or "DELXPS13-1Z9"
+ - names: brand + product + variant, drawn with a Zipf skew so a few
+   products dominate (as in real catalogs); every name is a fresh
+   String, like one parsed from a feed
+ - quantities: Pareto (80/20) stock levels, ~5% out of stock
+
+ Workload
+ - key popularity is Zipfian (rejection-inversion sampler, O(1) memory,
+   so 10M-key catalogs need no CDF table); exponent 0 means uniform
+ - configurable read / write / delete / range-query mix and read-miss
+   ratio; a RANGE op's key is the lower bound and its quantity the
+   number of products the range should span
+
+ Public so the JMH project and the CLI can use it; main() writes a
+ catalog as CSV.
+ ============================================================================
+*/
+public final class WorkloadGenerator {
+
+    public static final byte READ = 0;
+    public static final byte WRITE = 1;   // set a new quantity
+    public static final byte DELETE = 2;
+    public static final byte RANGE = 3;   // key = lower bound, quantity = span
+
+    private static final String[] BRANDS = {
+        "Logitech", "Dell", "Acer", "HP", "Lenovo", "Samsung", "Corsair", "Razer",
+        "Asus", "Anker", "Sony", "Philips", "Belkin", "Kingston", "Sandisk", "Apple"
+    };
+    private static final String[] PRODUCTS = {
+        "Wireless Mouse", "Bluetooth Mouse", "Mechanical Keyboard", "Monitor 24in",
+        "Monitor 27in", "Laptop 15in", "Laptop 13in", "USB-C Hub", "HDMI Cable",
+        "Webcam 1080p", "Headset", "External SSD 1TB", "USB Flash Drive 64GB",
+        "Docking Station", "Laptop Stand", "Mouse Pad", "Power Bank", "Router",
+        "Gaming Keyboard", "Speakers"
+    };
+    private static final String[] VARIANTS = {
+        "", " Black", " White", " Silver", " Pro", " Mini", " (2024)", " Refurbished"
+    };
+    private static final String[] FREE_PREFIXES = {
+        "LOG", "DEL", "ACR", "HPX", "LEN", "SAM", "COR", "RZR", "ASU", "ANK"
+    };
+    private static final String[] FREE_SUFFIXES = { "", "-BLK", "-WHT", "-SLV", "-EU", "-US" };
+
+    private WorkloadGenerator() {}
+
+    /* ============================================================
+       CATALOG
+       ============================================================ */
+
+    public static final class Catalog {
+        public final String[] skus;
+        public final String[] names;
+        public final int[] quantities;
+
+        Catalog(int size) {
+            skus = new String[size];
+            names = new String[size];
+            quantities = new int[size];
+        }
+
+        public int size() {
+            return skus.length;
+        }
+    }
+
+    /**
+     * @param conformantShare fraction of SKUs matching SKU_PATTERN
+     *                        (capped at 26,000 SKUs)
+     */
+    public static Catalog catalog(int size, double conformantShare, long seed) {
+        if (size < 0) throw new IllegalArgumentException("Negative catalog size: " + size);
+        if (conformantShare < 0 || conformantShare > 1) {
+            throw new IllegalArgumentException("Conformant share must be in [0, 1]: " + conformantShare);
+        }
+
+        SplittableRandom rnd = new SplittableRandom(seed);
+        Catalog c = new Catalog(size);
+        int conformant = (int) Math.min(Math.round(size * conformantShare), SkuCodec.CARDINALITY);
+
+        // distinct conformant codes: partial Fisher-Yates over all 26,000
+        int[] codes = new int[SkuCodec.CARDINALITY];
+        for (int i = 0; i < codes.length; i++) codes[i] = i;
+        for (int i = 0; i < conformant; i++) {
+            int j = i + rnd.nextInt(codes.length - i);
+            int t = codes[i];
+            codes[i] = codes[j];
+            codes[j] = t;
+        }
+
+        ZipfSampler productPick = new ZipfSampler(PRODUCTS.length, 1.0);
+        for (int i = 0; i < size; i++) {
+            c.skus[i] = i < conformant ? SkuCodec.decode(codes[i]) : freeFormSku(i, rnd);
+            c.names[i] = BRANDS[rnd.nextInt(BRANDS.length)] + " " +
+                         PRODUCTS[productPick.sample(rnd) - 1] +
+                         VARIANTS[rnd.nextInt(VARIANTS.length)];
+            c.quantities[i] = stockLevel(rnd);
+        }
+
+        // shuffle rows so conformant and free-form SKUs interleave
+        for (int i = size - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            swap(c.skus, i, j);
+            swap(c.names, i, j);
+            int q = c.quantities[i];
+            c.quantities[i] = c.quantities[j];
+            c.quantities[j] = q;
+        }
+        return c;
+    }
+
+    // Unique by construction: the row index is embedded in base 36.
+    private static String freeFormSku(int i, SplittableRandom rnd) {
+        String id = Integer.toString(i, 36).toUpperCase();
+        String prefix = FREE_PREFIXES[rnd.nextInt(FREE_PREFIXES.length)];
+        if (rnd.nextInt(4) == 0) {
+            return prefix + "XPS" + (10 + rnd.nextInt(90)) + "-" + id;
+        }
+        return prefix + "-" + "00000".substring(Math.min(5, id.length())) + id +
+               FREE_SUFFIXES[rnd.nextInt(FREE_SUFFIXES.length)];
+    }
+
+    // Pareto(alpha = 1.16) ≈ 80/20 stock levels, with ~5% out of stock.
+    private static int stockLevel(SplittableRandom rnd) {
+        if (rnd.nextInt(20) == 0) return 0;
+        double u = 1.0 - rnd.nextDouble();   // (0, 1]
+        return (int) Math.min(100_000, 5 / Math.pow(u, 1 / 1.16));
+    }
+
+    private static void swap(String[] a, int i, int j) {
+        String t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /* ============================================================
+       QUERY WORKLOAD
+       ============================================================ */
+
+    public static final class Workload {
+        public final byte[] ops;
+        public final String[] keys;
+        public final int[] quantities;   // new quantity (WRITE) or span (RANGE)
+
+        Workload(int count) {
+            ops = new byte[count];
+            keys = new String[count];
+            quantities = new int[count];
+        }
+
+        public int size() {
+            return ops.length;
+        }
+    }
+
+    /**
+     * Fractions are normalised, so (90, 9, 1) and (0.9, 0.09, 0.01) are the
+     * same mix. missRatio applies to reads only.
+     */
+    public static Workload workload(Catalog catalog, int count, double zipfExponent,
+                                    double reads, double writes, double deletes,
+                                    double missRatio, long seed) {
+        return workload(catalog, count, zipfExponent, reads, writes, deletes, 0, 0, missRatio, seed);
+    }
+
+    /** As above, plus range queries spanning up to maxSpan products. */
+    public static Workload workload(Catalog catalog, int count, double zipfExponent,
+                                    double reads, double writes, double deletes,
+                                    double ranges, int maxSpan,
+                                    double missRatio, long seed) {
+        double total = reads + writes + deletes + ranges;
+        if (catalog.size() == 0 || total <= 0 || reads < 0 || writes < 0 || deletes < 0 || ranges < 0) {
+            throw new IllegalArgumentException("Need a non-empty catalog and a positive op mix");
+        }
+        if (ranges > 0 && maxSpan < 1) {
+            throw new IllegalArgumentException("Range queries need maxSpan >= 1");
+        }
+
+        SplittableRandom rnd = new SplittableRandom(seed);
+        Workload w = new Workload(count);
+        int n = catalog.size();
+        ZipfSampler zipf = zipfExponent > 0 ? new ZipfSampler(n, zipfExponent) : null;
+        long stride = coprimeStride(n);
+
+        for (int i = 0; i < count; i++) {
+            double r = rnd.nextDouble() * total;
+            byte op = r < reads ? READ
+                    : r < reads + writes ? WRITE
+                    : r < reads + writes + deletes ? DELETE
+                    : RANGE;
+
+            // rank 1 is the hottest key; the stride scatters ranks over the catalog
+            int rank = zipf != null ? zipf.sample(rnd) - 1 : rnd.nextInt(n);
+            int index = (int) (rank * stride % n);
+
+            w.ops[i] = op;
+            w.keys[i] = op == READ && rnd.nextDouble() < missRatio
+                ? "MISS-" + Integer.toString(i, 36)
+                : catalog.skus[index];
+            w.quantities[i] = op == WRITE ? stockLevel(rnd)
+                            : op == RANGE ? 1 + rnd.nextInt(maxSpan)
+                            : 0;
+        }
+        return w;
+    }
+
+    // A prime that does not divide n is coprime to it, so rank -> index is a
+    // bijection. Both primes cannot divide an int (their product > 2^31).
+    private static long coprimeStride(int n) {
+        if (n == 1) return 1;
+        return n % 1_000_003 != 0 ? 1_000_003 : 1_000_033;
+    }
+
+    /* ============================================================
+       ZIPF SAMPLER (rejection-inversion, Hörmann & Derflinger 1996)
+       Returns ranks in [1, n] with P(k) ∝ k^-s.
+       ============================================================ */
+    static final class ZipfSampler {
+        private final int n;
+        private final double s;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double sConst;
+
+        ZipfSampler(int n, double s) {
+            if (n < 1 || s <= 0) throw new IllegalArgumentException("Zipf needs n >= 1, s > 0");
+            this.n = n;
+            this.s = s;
+            hIntegralX1 = hIntegral(1.5) - 1.0;
+            hIntegralN = hIntegral(n + 0.5);
+            sConst = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+
+        int sample(SplittableRandom rnd) {
+            while (true) {
+                double u = hIntegralN + rnd.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                int k = (int) (x + 0.5);
+                if (k < 1) k = 1;
+                else if (k > n) k = n;
+
+                if (k - x <= sConst || u >= hIntegral(k + 0.5) - h(k)) return k;
+            }
+        }
+
+        private double h(double x) {
+            return Math.exp(-s * Math.log(x));
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1.0 - s) * logX) * logX;
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = x * (1.0 - s);
+            if (t < -1.0) t = -1.0;
+            return Math.exp(helper1(t) * x);
+        }
+
+        // log1p(x) / x, stable near 0
+        private static double helper1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+        }
+
+        // expm1(x) / x, stable near 0
+        private static double helper2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+        }
+    }
+
+    /* ============================================================
+       CLI: write a catalog as CSV (sku,name,quantity)
+       ============================================================ */
+
+    /** Usage: WorkloadGenerator <size> [conformantShare=0.5] [seed=42] [out.csv|-] */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: WorkloadGenerator <size> [conformantShare] [seed] [out.csv|-]");
+            System.exit(2);
+        }
+        int size = Integer.parseInt(args[0]);
+        double share = args.length > 1 ? Double.parseDouble(args[1]) : 0.5;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        String out = args.length > 3 ? args[3] : "-";
+
+        Catalog c = catalog(size, share, seed);
+        try (PrintWriter pw = out.equals("-")
+                 ? new PrintWriter(System.out)
+                 : new PrintWriter(new BufferedWriter(
+                       Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8), 1 << 16))) {
+            pw.println("sku,name,quantity");
+            for (int i = 0; i < c.size(); i++) {
+                pw.print(c.skus[i]);
+                pw.print(',');
+                pw.print(c.names[i]);
+                pw.print(',');
+                pw.println(c.quantities[i]);
+            }
+        }
+    }
+}
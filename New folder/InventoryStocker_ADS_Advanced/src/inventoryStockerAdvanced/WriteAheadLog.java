@@ -0,0 +1,552 @@
+package inventoryStockerAdvanced;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/*
+ ============================================================================
+ WRITE-AHEAD LOG (GROUP COMMIT)
+ Every inventory mutation is appended here before it is applied in
+ memory; replaying the log at startup rebuilds the inventory.
+
+ Frame: [int length][int crc32 of payload][payload]
+ Payload: [long lsn][byte type][fields], strings as [int bytes][UTF-8]
+
+   PUT     sku, name, quantity   (insert or update)
+   DELETE  sku
+   ADJUST  sku, delta            (quantity += delta)
+   CLEAR                         (catalog replaced; PUTs follow)
+
+ Group commit: append() only encodes the record into the pending buffer
+ and returns its LSN; commit(lsn) blocks until that LSN is on disk. A
+ single writer thread swaps the pending buffer out, writes it and calls
+ force() once for everything that accumulated meanwhile, so N
+ concurrent writers share one fsync instead of paying N. (Doing the I/O
+ on a dedicated thread also keeps an interrupted caller, e.g. a
+ cancelled background task, from closing the channel under everyone.)
+
+ Recovery reads frames until the first torn or corrupt one (a crash
+ mid-write), truncates the file there, and continues appending after
+ the last good record. Records at or below afterLsn (already in a
+ snapshot) are skipped, and numbering resumes above it.
+
+ Segments: the log is the base file followed by "<base>.<firstLsn>"
+ files. roll() asks the writer to start a new segment after the batch
+ in flight (appenders never wait for it); once a checkpoint covers an
+ LSN, truncateThrough(lsn) deletes the closed segments that hold only
+ records at or below it, so replay length stays bounded. Only the
+ newest segment may have a torn tail; damage in an older one is an
+ error, not something to truncate past.
+ ============================================================================
+*/
+final class WriteAheadLog implements Closeable {
+
+    /** FSYNC: durable across power loss. WRITE: reaches the OS only (survives a process crash). */
+    enum Sync { FSYNC, WRITE }
+
+    private static final int MAX_FRAME = 1 << 20;
+    private static final int MAX_PENDING = 4 << 20;   // appenders wait beyond this
+
+    /* ============================================================
+       RECORDS
+       ============================================================ */
+
+    static final class Entry {
+        static final byte PUT = 1;
+        static final byte DELETE = 2;
+        static final byte ADJUST = 3;
+        static final byte CLEAR = 4;
+
+        final long lsn;
+        final byte type;
+        final String sku;      // null for CLEAR
+        final String name;     // PUT only
+        final int quantity;    // PUT: quantity, ADJUST: delta
+
+        Entry(long lsn, byte type, String sku, String name, int quantity) {
+            this.lsn = lsn;
+            this.type = type;
+            this.sku = sku;
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+
+    /** What open() found on disk. */
+    static final class Recovery {
+        final long records;          // applied
+        final long lastLsn;
+        final long validBytes;
+        final long truncatedBytes;   // torn / corrupt tail dropped
+        final int segments;
+
+        Recovery(long records, long lastLsn, long validBytes, long truncatedBytes, int segments) {
+            this.records = records;
+            this.lastLsn = lastLsn;
+            this.validBytes = validBytes;
+            this.truncatedBytes = truncatedBytes;
+            this.segments = segments;
+        }
+
+        @Override
+        public String toString() {
+            return records + " records replayed from " + segments + " segment(s) (last LSN " + lastLsn + ", " +
+                validBytes + " bytes)" +
+                (truncatedBytes > 0 ? ", " + truncatedBytes + " bytes of torn tail discarded" : "");
+        }
+    }
+
+    private final Path file;
+    private FileChannel channel;   // the newest segment; writer thread only once started
+    private final Sync sync;
+    private final Recovery recovery;
+    private final Thread writer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasWork = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    // guarded by lock
+    private ByteBuffer pending = ByteBuffer.allocate(64 << 10);
+    private ByteBuffer spare = ByteBuffer.allocate(64 << 10);
+    private long nextLsn;
+    private long durableLsn;
+    private long syncs;
+    private long synced;           // records made durable
+    private IOException failure;   // sticky: the log is unusable after a failed write
+    private boolean closed;
+    private boolean rollRequested;
+    private Path segment;          // file of the newest segment
+
+    private WriteAheadLog(Path file, Path segment, FileChannel channel, Sync sync, Recovery recovery) {
+        this.file = file;
+        this.segment = segment;
+        this.channel = channel;
+        this.sync = sync;
+        this.recovery = recovery;
+        this.nextLsn = recovery.lastLsn;
+        this.durableLsn = recovery.lastLsn;
+        this.writer = new Thread(this::writeLoop, "wal-writer");
+        writer.setDaemon(true);
+    }
+
+    static WriteAheadLog open(Path file, Sync sync, Consumer<Entry> apply) throws IOException {
+        return open(file, sync, 0, apply);
+    }
+
+    /**
+     * Replays the records after afterLsn from every segment through apply
+     * (on the calling thread), then opens the newest segment for appending.
+     */
+    static WriteAheadLog open(Path file, Sync sync, long afterLsn, Consumer<Entry> apply) throws IOException {
+        List<Path> segments = segments(file);
+        if (segments.isEmpty()) segments.add(file);
+
+        long records = 0;
+        long lastLsn = 0;
+        long bytes = 0;
+        for (Path closed : segments.subList(0, segments.size() - 1)) {
+            try (FileChannel ch = FileChannel.open(closed, StandardOpenOption.READ)) {
+                Recovery r = replay(ch, afterLsn, lastLsn, apply);
+                if (r.truncatedBytes > 0) {
+                    throw new IOException("WAL segment " + closed + " is damaged at byte " + r.validBytes +
+                        " and newer segments follow it");
+                }
+                records += r.records;
+                lastLsn = r.lastLsn;
+                bytes += r.validBytes;
+            }
+        }
+
+        Path newest = segments.get(segments.size() - 1);
+        FileChannel ch = FileChannel.open(newest, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Recovery r = replay(ch, afterLsn, lastLsn, apply);
+            if (r.truncatedBytes > 0) {
+                ch.truncate(r.validBytes);
+                ch.force(true);
+            }
+            ch.position(r.validBytes);
+            // numbering resumes above the snapshot even when the log holds nothing newer
+            r = new Recovery(records + r.records, Math.max(r.lastLsn, afterLsn), bytes + r.validBytes,
+                r.truncatedBytes, segments.size());
+            WriteAheadLog log = new WriteAheadLog(file, newest, ch, sync, r);
+            log.writer.start();
+            return log;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    Recovery recovery() {
+        return recovery;
+    }
+
+    /** LSN of the last appended record (committed or not). */
+    long lastLsn() {
+        lock.lock();
+        try {
+            return nextLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ============================================================
+       SEGMENTS
+       ============================================================ */
+
+    /** Asks the writer to continue in a new segment; returns at once. */
+    void roll() {
+        lock.lock();
+        try {
+            if (closed || failure != null) return;
+            rollRequested = true;
+            hasWork.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the closed segments whose records are all at or below lsn
+     * (covered by a checkpoint); returns how many. The newest segment is
+     * never deleted.
+     */
+    int truncateThrough(long lsn) throws IOException {
+        Path newest;
+        lock.lock();
+        try {
+            newest = segment;
+        } finally {
+            lock.unlock();
+        }
+        List<Path> segments = segments(file);
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            Path s = segments.get(i);
+            if (s.equals(newest) || firstLsn(file, segments.get(i + 1)) - 1 > lsn) break;
+            Files.deleteIfExists(s);
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /** Segment files of the log at base, oldest first. */
+    static List<Path> segments(Path base) throws IOException {
+        List<Path> found = new ArrayList<>();
+        if (Files.exists(base)) found.add(base);
+        List<Path> numbered = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(
+                 base.toAbsolutePath().getParent(), p -> firstLsn(base, p) > 0)) {
+            for (Path p : ds) numbered.add(base.resolveSibling(p.getFileName()));
+        }
+        numbered.sort((a, b) -> Long.compare(firstLsn(base, a), firstLsn(base, b)));
+        found.addAll(numbered);
+        return found;
+    }
+
+    /** The first LSN a numbered segment may hold; 0 for the base file, -1 if not a segment. */
+    private static long firstLsn(Path base, Path segment) {
+        String name = segment.getFileName().toString();
+        String prefix = base.getFileName() + ".";
+        if (name.equals(base.getFileName().toString())) return 0;
+        if (!name.startsWith(prefix)) return -1;
+        try {
+            return Long.parseLong(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;   // e.g. a ".tmp" sibling
+        }
+    }
+
+    /* ============================================================
+       APPEND + GROUP COMMIT
+       ============================================================ */
+
+    long put(String sku, String name, int quantity) throws IOException {
+        return append(Entry.PUT, sku, name, quantity);
+    }
+
+    long delete(String sku) throws IOException {
+        return append(Entry.DELETE, sku, null, 0);
+    }
+
+    long adjust(String sku, int delta) throws IOException {
+        return append(Entry.ADJUST, sku, null, delta);
+    }
+
+    long clear() throws IOException {
+        return append(Entry.CLEAR, null, null, 0);
+    }
+
+    private long append(byte type, String sku, String name, int quantity) throws IOException {
+        byte[] skuBytes = sku == null ? null : sku.getBytes(StandardCharsets.UTF_8);
+        byte[] nameBytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+        int payload = 8 + 1
+            + (skuBytes == null ? 0 : 4 + skuBytes.length)
+            + (nameBytes == null ? 0 : 4 + nameBytes.length)
+            + (type == Entry.PUT || type == Entry.ADJUST ? 4 : 0);
+        if (payload > MAX_FRAME) throw new IOException("WAL record too large: " + payload + " bytes");
+
+        lock.lock();
+        try {
+            while (pending.position() > MAX_PENDING && failure == null && !closed) {
+                flushed.awaitUninterruptibly();
+            }
+            checkUsable();
+            long lsn = ++nextLsn;
+            ensure(8 + payload);
+
+            int start = pending.position() + 8;
+            pending.position(start);
+            pending.putLong(lsn).put(type);
+            if (skuBytes != null) pending.putInt(skuBytes.length).put(skuBytes);
+            if (nameBytes != null) pending.putInt(nameBytes.length).put(nameBytes);
+            if (type == Entry.PUT || type == Entry.ADJUST) pending.putInt(quantity);
+
+            CRC32 crc = new CRC32();
+            crc.update(pending.array(), start, payload);
+            pending.putInt(start - 8, payload).putInt(start - 4, (int) crc.getValue());
+
+            hasWork.signal();
+            return lsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Blocks until every record up to lsn is on disk (per the Sync mode). */
+    void commit(long lsn) throws IOException {
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                checkUsable();
+                flushed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for WAL commit of LSN " + lsn);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (pending.remaining() >= bytes) return;
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+        pending.flip();
+        grown.put(pending);
+        pending = grown;
+    }
+
+    private void checkUsable() throws IOException {
+        if (failure != null) throw new IOException("WAL unusable after write failure", failure);
+        if (closed) throw new IOException("WAL closed");
+    }
+
+    /* ============================================================
+       WRITER THREAD
+       ============================================================ */
+
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long upTo;
+            boolean roll;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !rollRequested && !closed) hasWork.awaitUninterruptibly();
+                if (pending.position() == 0 && closed) return;   // closed and drained
+                batch = pending;
+                pending = spare;
+                spare = null;
+                upTo = nextLsn;
+                roll = rollRequested && !closed;
+                rollRequested = false;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            Path rolled = null;
+            try {
+                batch.flip();
+                boolean wrote = batch.hasRemaining();
+                while (batch.hasRemaining()) channel.write(batch);
+                // data only: the size change is flushed with it on Linux (fdatasync)
+                if (wrote && sync == Sync.FSYNC) channel.force(false);
+                if (roll && channel.size() > 0) rolled = rollTo(upTo + 1);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                batch.clear();
+                spare = batch;
+                if (rolled != null) segment = rolled;
+                if (error != null) {
+                    failure = error;
+                } else if (upTo > durableLsn) {
+                    synced += upTo - durableLsn;
+                    durableLsn = upTo;
+                    syncs++;
+                }
+                flushed.signalAll();
+                if (failure != null) return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Writer thread: the next records go to a new "<base>.<firstLsn>" segment. */
+    private Path rollTo(long firstLsn) throws IOException {
+        Path next = file.resolveSibling(file.getFileName() + "." + firstLsn);
+        FileChannel ch = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        if (sync == Sync.FSYNC) channel.force(true);
+        channel.close();
+        channel = ch;
+        return next;
+    }
+
+    /* ============================================================
+       STATS + CLOSE
+       ============================================================ */
+
+    /** Records made durable per write+force round; > 1 means commits were grouped. */
+    double recordsPerSync() {
+        lock.lock();
+        try {
+            return syncs == 0 ? 0 : synced / (double) syncs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long syncs() {
+        lock.lock();
+        try {
+            return syncs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Flushes what is pending, stops the writer and closes the file. */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            hasWork.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+        if (failure != null) throw new IOException("WAL write failed", failure);
+    }
+
+    /* ============================================================
+       REPLAY
+       ============================================================ */
+
+    private static Recovery replay(FileChannel ch, long afterLsn, long lastLsn, Consumer<Entry> apply) throws IOException {
+        long size = ch.size();
+        long valid = 0;
+        long records = 0;
+
+        ch.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch), 1 << 16));
+        CRC32 crc = new CRC32();
+        byte[] buf = new byte[256];
+        while (valid < size) {
+            int length;
+            int expected;
+            try {
+                length = in.readInt();
+                expected = in.readInt();
+                if (length < 9 || length > MAX_FRAME) break;
+                if (buf.length < length) buf = new byte[Math.max(length, buf.length * 2)];
+                in.readFully(buf, 0, length);
+            } catch (EOFException torn) {
+                break;
+            }
+            crc.reset();
+            crc.update(buf, 0, length);
+            if ((int) crc.getValue() != expected) break;
+
+            Entry e = decode(ByteBuffer.wrap(buf, 0, length));
+            if (e == null || e.lsn <= lastLsn) break;
+            if (e.lsn > afterLsn) {
+                apply.accept(e);
+                records++;
+            }
+            lastLsn = e.lsn;
+            valid += 8 + length;
+        }
+        // the stream wraps the channel: do not close it, only the position matters.
+        // lastLsn is the last record read (not raised to afterLsn): the next segment chains on it
+        return new Recovery(records, lastLsn, valid, size - valid, 1);
+    }
+
+    private static Entry decode(ByteBuffer b) {
+        try {
+            long lsn = b.getLong();
+            byte type = b.get();
+            switch (type) {
+                case Entry.PUT:
+                    return new Entry(lsn, type, string(b), string(b), b.getInt());
+                case Entry.DELETE:
+                    return new Entry(lsn, type, string(b), null, 0);
+                case Entry.ADJUST:
+                    return new Entry(lsn, type, string(b), null, b.getInt());
+                case Entry.CLEAR:
+                    return new Entry(lsn, type, null, null, 0);
+                default:
+                    return null;
+            }
+        } catch (RuntimeException malformed) {   // BufferUnderflow, bad length
+            return null;
+        }
+    }
+
+    private static String string(ByteBuffer b) {
+        int n = b.getInt();
+        String s = new String(b.array(), b.arrayOffset() + b.position(), n, StandardCharsets.UTF_8);
+        b.position(b.position() + n);
+        return s;
+    }
+}
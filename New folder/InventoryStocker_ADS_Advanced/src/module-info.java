@@ -1,4 +1,6 @@
 module InventoryStocker_ADS_Advanced {
     requires java.desktop;
+    requires jdk.management;
+    requires jdk.jfr;
     requires org.jfree.jfreechart;
 }
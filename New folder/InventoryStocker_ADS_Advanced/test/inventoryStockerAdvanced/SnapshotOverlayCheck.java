@@ -0,0 +1,97 @@
+package inventoryStockerAdvanced;
+
+import inventoryStockerAdvanced.InventoryStocker.Product;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ ============================================================================
+ SNAPSHOT OVERLAY CHECK
+ Drives a SnapshotOverlay the way InventoryStocker does, with a HashMap
+ as the structures: lookups that miss the map fall through to promote(),
+ hydration copies next() into the map, deletes remove from the map.
+
+   javac -d <check classes> -cp <app classes> test/inventoryStockerAdvanced/*.java
+   java -cp <check classes>:<app classes> inventoryStockerAdvanced.SnapshotOverlayCheck
+
+ 1. delete after a partial (cancelled) hydrate: a copied SKU stays
+    deleted, through a lookup and through the rest of the hydration
+ 2. delete after a promote: the promoted SKU stays deleted
+ 3. hydration resumed after a promote copies every other entry once
+
+ Prints one line per case; exits 1 if any fails.
+ ============================================================================
+*/
+final class SnapshotOverlayCheck {
+
+    private static final int PRODUCTS = 10;
+
+    private SnapshotOverlayCheck() {}
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("overlay-check");
+        Path file = dir.resolve("inventory.snapshot.1");
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) products.add(new Product("CHK-" + i, "Check " + i, i));
+        int failures = 0;
+        try {
+            ProductSnapshot.write(file, products, 1);
+
+            try (SnapshotOverlay overlay = new SnapshotOverlay(ProductSnapshot.open(file))) {
+                Map<String, Product> map = new HashMap<>();
+                hydrate(overlay, map, 4);        // cancelled after 4 entries: CHK-0 .. CHK-3
+                map.remove("CHK-2");             // performDelete
+                String problem = lookup(overlay, map, "CHK-2") != null ? "lookup brought CHK-2 back" : null;
+                hydrate(overlay, map, PRODUCTS);
+                if (problem == null && map.containsKey("CHK-2")) problem = "resumed hydration brought CHK-2 back";
+                if (problem == null && map.size() != PRODUCTS - 1) problem = map.size() + " products after hydration";
+                failures += report("delete after a partial hydrate", problem);
+            }
+
+            try (SnapshotOverlay overlay = new SnapshotOverlay(ProductSnapshot.open(file))) {
+                Map<String, Product> map = new HashMap<>();
+                String problem = lookup(overlay, map, "CHK-7") == null ? "CHK-7 not promoted" : null;
+                map.remove("CHK-7");
+                if (problem == null && lookup(overlay, map, "CHK-7") != null) problem = "lookup brought CHK-7 back";
+                failures += report("delete after a promote", problem);
+
+                hydrate(overlay, map, PRODUCTS);
+                problem = map.containsKey("CHK-7") ? "hydration brought CHK-7 back"
+                    : map.size() != PRODUCTS - 1 ? map.size() + " products after hydration" : null;
+                failures += report("hydration after a promote", problem);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+        System.out.println(failures == 0 ? "Snapshot overlay: all checks passed"
+            : "Snapshot overlay: " + failures + " failed");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /** InventoryStocker.hashLookup: the structures first, then the snapshot. */
+    private static Product lookup(SnapshotOverlay overlay, Map<String, Product> map, String sku) {
+        Product p = map.get(sku);
+        if (p != null) return p;
+        p = overlay.promote(sku);
+        if (p != null) map.put(p.sku, p);
+        return p;
+    }
+
+    /** InventoryStocker.hydrate, stopping once `upTo` entries are copied (a cancel). */
+    private static void hydrate(SnapshotOverlay overlay, Map<String, Product> map, int upTo) {
+        Product p;
+        while (overlay.hydrated() < upTo && (p = overlay.next()) != null) map.put(p.sku, p);
+    }
+
+    private static int report(String name, String problem) {
+        System.out.println((problem == null ? "ok    " : "FAIL  ") + name + (problem == null ? "" : ": " + problem));
+        return problem == null ? 0 : 1;
+    }
+}
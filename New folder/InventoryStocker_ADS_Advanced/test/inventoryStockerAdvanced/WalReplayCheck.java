@@ -0,0 +1,98 @@
+package inventoryStockerAdvanced;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/*
+ ============================================================================
+ WAL REPLAY CHECK
+ Rebuilds, in a temp directory, the segment layouts a crash between
+ ProductSnapshot.write and WriteAheadLog.truncateThrough leaves behind,
+ and checks that open() replays them. Lives in test/, outside the app
+ module; compile it against the app's classes and run it directly:
+
+   javac -d <check classes> -cp <app classes> test/inventoryStockerAdvanced/*.java
+   java -cp <check classes>:<app classes> inventoryStockerAdvanced.WalReplayCheck
+
+ 1. inv.wal (1..50), inv.wal.51 (51..100), empty inv.wal.101, snapshot
+    at 100: opens, replays nothing, numbering resumes at 101
+ 2. inv.wal (1..50), inv.wal.51 (51..105) newest, snapshot at 100:
+    replays 101..105 and truncates nothing
+ 3. no snapshot: every record of both segments is replayed in order
+
+ Prints one line per case; exits 1 if any fails.
+ ============================================================================
+*/
+final class WalReplayCheck {
+
+    private WalReplayCheck() {}
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("wal-check");
+        int failures = 0;
+        try {
+            failures += check("empty newest segment above the snapshot", dir.resolve("a"), 100, true, 100, 0);
+            failures += check("newest segment straddles the snapshot", dir.resolve("b"), 100, false, 105, 5);
+            failures += check("full replay, no snapshot", dir.resolve("c"), 0, false, 105, 105);
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+        System.out.println(failures == 0 ? "WAL replay: all checks passed" : "WAL replay: " + failures + " failed");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Writes inv.wal with 1..50 and inv.wal.51 with 51..100 (or 51..105
+     * when there is no trailing empty segment), reopens with afterLsn and
+     * compares what was replayed and where numbering resumes.
+     */
+    private static int check(String name, Path dir, long afterLsn, boolean emptyTail,
+                             long expectLast, int expectReplayed) throws IOException {
+        Files.createDirectories(dir);
+        Path base = dir.resolve("inv.wal");
+        long secondLast = emptyTail ? 100 : 105;
+        writeSegment(base, 0, 50);
+        writeSegment(dir.resolve("inv.wal.51"), 50, secondLast);
+        if (emptyTail) Files.createFile(dir.resolve("inv.wal.101"));
+
+        List<Long> replayed = new ArrayList<>();
+        String problem = null;
+        try (WriteAheadLog log = WriteAheadLog.open(base, WriteAheadLog.Sync.WRITE, afterLsn,
+                 e -> replayed.add(e.lsn))) {
+            WriteAheadLog.Recovery r = log.recovery();
+            long next = log.put("CHK-NEXT", "Check", 1);
+            log.commit(next);
+            if (replayed.size() != expectReplayed) {
+                problem = "replayed " + replayed.size() + " records, expected " + expectReplayed;
+            } else if (!replayed.isEmpty() && replayed.get(0) != expectLast - expectReplayed + 1) {
+                problem = "replay started at LSN " + replayed.get(0);
+            } else if (r.truncatedBytes > 0) {
+                problem = "discarded " + r.truncatedBytes + " bytes as torn";
+            } else if (r.lastLsn != expectLast || next != expectLast + 1) {
+                problem = "resumed at LSN " + next + ", expected " + (expectLast + 1);
+            }
+        } catch (IOException e) {
+            problem = e.getMessage();
+        }
+        System.out.println((problem == null ? "ok    " : "FAIL  ") + name + (problem == null ? "" : ": " + problem));
+        return problem == null ? 0 : 1;
+    }
+
+    /** A single-segment log holding PUTs after..last, renamed to file. */
+    private static void writeSegment(Path file, long after, long last) throws IOException {
+        Path scratch = file.resolveSibling("scratch.wal");
+        try (WriteAheadLog log = WriteAheadLog.open(scratch, WriteAheadLog.Sync.WRITE, after, e -> { })) {
+            long lsn = 0;
+            for (long i = after + 1; i <= last; i++) lsn = log.put("CHK-" + i, "Check " + i, (int) i);
+            log.commit(lsn);
+        }
+        Files.move(scratch, file);
+    }
+}